@@ -0,0 +1,145 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.cloud;
+
+import org.platformlambda.cloud.services.ServiceRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free destination selection for the outbound event producer.
+ * <p>
+ * Each route holds a precomputed array of reachable destinations together with their dispatch
+ * counters. The array is rebuilt only when the service registry reports a membership change and is
+ * swapped atomically, so selecting a destination for an event is a constant-time "power of two
+ * choices" pick without allocation or locking.
+ * <p>
+ * A peer acknowledges nothing back through the cloud connector, so the balancer cannot track the
+ * events in flight. Instead, each origin has one monotonic counter of the events dispatched to it,
+ * shared by all routes and kept across rebuilds. A newly joined peer starts at the lowest count of
+ * the known peers, so it takes its share without being flooded while it catches up.
+ */
+final class DestinationBalancer {
+    private static final ConcurrentMap<String, RouteTargets> routeTargets = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AtomicLong> dispatchCounters = new ConcurrentHashMap<>();
+    private static final AtomicLong pruned = new AtomicLong(-1);
+    private static final RouteTargets NONE = new RouteTargets(-1, new String[0], new AtomicLong[0]);
+
+    private DestinationBalancer() {
+        // static utility
+    }
+
+    /**
+     * Select the less loaded of two randomly sampled destinations for a route
+     *
+     * @param route of the target service
+     * @return origin of the selected destination or null if none is available
+     */
+    static String select(String route) {
+        RouteTargets current = getTargets(route);
+        String[] targets = current.targets;
+        int n = targets.length;
+        if (n == 0) {
+            return null;
+        }
+        if (n == 1) {
+            current.dispatched[0].incrementAndGet();
+            return targets[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(n);
+        int second = random.nextInt(n - 1);
+        if (second >= first) {
+            second++;
+        }
+        int selected = current.dispatched[second].get() < current.dispatched[first].get()? second : first;
+        current.dispatched[selected].incrementAndGet();
+        return targets[selected];
+    }
+
+    private static RouteTargets getTargets(String route) {
+        long version = ServiceRegistry.getMembershipVersion();
+        RouteTargets current = routeTargets.get(route);
+        if (current != null && current.version == version) {
+            return current;
+        }
+        RouteTargets updated = build(route, version);
+        if (updated.targets.length > 0) {
+            routeTargets.put(route, updated);
+        } else {
+            routeTargets.remove(route);
+        }
+        return updated;
+    }
+
+    private static RouteTargets build(String route, long version) {
+        pruneDepartedPeers(version);
+        Map<String, String> destinations = ServiceRegistry.getDestinations(route);
+        if (destinations == null || destinations.isEmpty()) {
+            return NONE;
+        }
+        String[] candidates = destinations.keySet().toArray(new String[0]);
+        int n = 0;
+        for (String target: candidates) {
+            if (ServiceRegistry.destinationExists(target)) {
+                candidates[n++] = target;
+            }
+        }
+        String[] targets = new String[n];
+        AtomicLong[] dispatched = new AtomicLong[n];
+        for (int i=0; i < n; i++) {
+            targets[i] = candidates[i];
+            dispatched[i] = dispatchCounters.computeIfAbsent(targets[i], k -> new AtomicLong(lowestCount()));
+        }
+        return new RouteTargets(version, targets, dispatched);
+    }
+
+    private static long lowestCount() {
+        long lowest = Long.MAX_VALUE;
+        for (AtomicLong counter: dispatchCounters.values()) {
+            lowest = Math.min(lowest, counter.get());
+        }
+        return lowest == Long.MAX_VALUE? 0 : lowest;
+    }
+
+    /**
+     * Visible for testing
+     *
+     * @param origin of a peer
+     * @return number of events dispatched to the peer
+     */
+    static long getDispatchCount(String origin) {
+        AtomicLong counter = dispatchCounters.get(origin);
+        return counter == null? 0 : counter.get();
+    }
+
+    private static void pruneDepartedPeers(long version) {
+        long previous = pruned.get();
+        if (previous != version && pruned.compareAndSet(previous, version)) {
+            dispatchCounters.keySet().removeIf(origin -> !ServiceRegistry.destinationExists(origin));
+            routeTargets.values().removeIf(entry -> entry.version != version);
+        }
+    }
+
+    private record RouteTargets(long version, String[] targets, AtomicLong[] dispatched) { }
+}
@@ -50,9 +50,7 @@ public class EventProducer implements LambdaFunction {
     public static final String MAP_DATA = "map";
     public static final String LIST_DATA = "list";
     private static final long ONE_MINUTE = 60 * 1000L;
-    private static final long TEN_MINUTES = 10 * ONE_MINUTE;
     private static final SimpleCache stickyDest = SimpleCache.createCache("sticky.destinations", ONE_MINUTE);
-    private static final SimpleCache workLoad = SimpleCache.createCache("service.load.balancer", TEN_MINUTES);
     private static final String ID = MultipartPayload.ID;
     private static final String COUNT = MultipartPayload.COUNT;
     private static final String TOTAL = MultipartPayload.TOTAL;
@@ -139,21 +137,19 @@ public class EventProducer implements LambdaFunction {
             // use local routing
             return Collections.singletonList(platform.getOrigin());
         }
-        Map<String, String> targets = ServiceRegistry.getDestinations(to);
-        if (targets == null) {
-            return Collections.emptyList();
-        }
-        List<String> available = new ArrayList<>(targets.keySet());
-        if (available.isEmpty()) {
-            return Collections.emptyList();
-        }
         if (broadcast) {
+            Map<String, String> targets = ServiceRegistry.getDestinations(to);
+            if (targets == null || targets.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<String> available = new ArrayList<>(targets.keySet());
             if (isSegmented) {
                 stickyDest.put(id, available);
             }
             return available;
         }
-        String target = getNextAvailable(available);
+        // pick the less loaded of two sampled peers from the precomputed destination array
+        String target = DestinationBalancer.select(to);
         if (target == null) {
             return Collections.emptyList();
         }
@@ -163,53 +159,4 @@ public class EventProducer implements LambdaFunction {
         }
         return result;
     }
-
-    private String getNextAvailable(List<String> targetList) {
-        List<String> available = new ArrayList<>();
-        for (String target: targetList) {
-            if (ServiceRegistry.destinationExists(target)) {
-                available.add(target);
-            }
-        }
-        if (available.isEmpty()) {
-            return null;
-        }
-        if (available.size() == 1) {
-            return available.getFirst();
-        }
-        return selectByRoundRobin(available);
-    }
-
-    // pick the least-loaded target and increment its load counter (round-robin load balancing)
-    private String selectByRoundRobin(List<String> available) {
-        Map<String, Long> load = new HashMap<>();
-        for (String target: available) {
-            Object o = workLoad.get(target);
-            if (o instanceof Long n) {
-                load.put(target, n);
-            }
-        }
-        // if new member(s) discovered, reset counts
-        if (load.size() < available.size()) {
-            for (String target: available) {
-                load.put(target, 0L);
-            }
-        }
-        String selected = available.getFirst();
-        long lowest = load.get(selected);
-        // find the lowest load
-        for (Map.Entry<String, Long> target: load.entrySet()) {
-            if (target.getValue() < lowest) {
-                lowest = target.getValue();
-                selected = target.getKey();
-            }
-        }
-        for (String target: available) {
-            long v = load.get(target);
-            // increment count for the selected target
-            workLoad.put(target, target.equals(selected)? v + 1 : v);
-        }
-        return selected;
-    }
-
 }
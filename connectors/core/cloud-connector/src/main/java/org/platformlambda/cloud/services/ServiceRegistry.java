@@ -33,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is reserved for system use.
@@ -80,6 +81,7 @@ public class ServiceRegistry implements LambdaFunction {
     private static final ConcurrentMap<String, String> originAppVersion = new ConcurrentHashMap<>();
     private static final ConcurrentMap<String, Boolean> lifeCycleSubscribers = new ConcurrentHashMap<>();
     private static final ConcurrentMap<String, Boolean> pmSubscribers = new ConcurrentHashMap<>();
+    private static final AtomicLong membership = new AtomicLong();
     private static final ManagedCache cache = ManagedCache.createCache("member.life.cycle.events", 5000);
     private long lastBroadcastAdd = 0;
     private static final String MONITOR_TOPIC = AppConfigReader.getInstance()
@@ -137,6 +139,17 @@ public class ServiceRegistry implements LambdaFunction {
         }
     }
 
+    /**
+     * The membership version changes whenever a route is added to or removed from a peer,
+     * or when a peer joins or leaves. This allows the load balancer to cache its destination
+     * arrays and rebuild them only when the routing table changes.
+     *
+     * @return membership version
+     */
+    public static long getMembershipVersion() {
+        return membership.get();
+    }
+
     public static String getTopic(String dest) {
         return dest.startsWith(MONITOR)? MONITOR_TOPIC +"-"+dest.substring(MONITOR.length()) : originTopic.get(dest);
     }
@@ -211,7 +224,7 @@ public class ServiceRegistry implements LambdaFunction {
         }
         String origin = headers.get(ORIGIN);
         String topic = headers.get(TOPIC);
-        cloudOrigins.put(origin, System.currentTimeMillis());
+        touchOrigin(origin);
         originTopic.put(origin, topic);
         if (presenceMonitor) {
             return;
@@ -248,7 +261,7 @@ public class ServiceRegistry implements LambdaFunction {
                         new Kv(ORIGIN, origin), new Kv(TOPIC, topic));
             }
         }
-        cloudOrigins.put(origin, System.currentTimeMillis());
+        touchOrigin(origin);
         originTopic.put(origin, topic);
         if (!originAppVersion.containsKey(origin) && !myOrigin.equals(origin)) {
             log.info("Peer {} active ({} {})", origin, name, version);
@@ -266,7 +279,7 @@ public class ServiceRegistry implements LambdaFunction {
         originTopic.remove(origin);
         originAppVersion.remove(origin);
         if (presenceMonitor) {
-            cloudOrigins.remove(origin);
+            dropOrigin(origin);
             return;
         }
         // remove corresponding entries from routing table
@@ -404,7 +417,8 @@ public class ServiceRegistry implements LambdaFunction {
             return false;
         } else {
             originMap.put(origin, personality);
-            cloudOrigins.put(origin, System.currentTimeMillis());
+            membership.incrementAndGet();
+            touchOrigin(origin);
             log.info("{} ({}.{}) registered", route, personality, origin);
             return true;
         }
@@ -416,6 +430,7 @@ public class ServiceRegistry implements LambdaFunction {
             ConcurrentMap<String, String> originMap = cloudRoutes.get(route);
             if (originMap.containsKey(origin)) {
                 originMap.remove(origin);
+                membership.incrementAndGet();
                 deleted = true;
             }
             if (originMap.isEmpty()) {
@@ -432,10 +447,22 @@ public class ServiceRegistry implements LambdaFunction {
         for (String r: routeList) {
             removeRoute(origin, r);
         }
-        cloudOrigins.remove(origin);
+        dropOrigin(origin);
         originTopic.remove(origin);
     }
 
+    private static void touchOrigin(String origin) {
+        if (cloudOrigins.put(origin, System.currentTimeMillis()) == null) {
+            membership.incrementAndGet();
+        }
+    }
+
+    private static void dropOrigin(String origin) {
+        if (cloudOrigins.remove(origin) != null) {
+            membership.incrementAndGet();
+        }
+    }
+
     private void registerMyRoutes() {
         Platform platform = Platform.getInstance();
         String personality = platform.getName() + ", " + ServerPersonality.getInstance().getType().name();
@@ -104,6 +104,48 @@ class EventProducerTest extends TestBase {
         }
     }
 
+    @Test
+    void powerOfTwoChoicesSpreadsLoad() {
+        int peer1 = 0;
+        int peer2 = 0;
+        for (int i = 0; i < 1000; i++) {
+            String target = DestinationBalancer.select(ROUTE);
+            if (PEER_1.equals(target)) {
+                peer1++;
+            } else if (PEER_2.equals(target)) {
+                peer2++;
+            } else {
+                fail("Unexpected destination " + target);
+            }
+        }
+        // with two peers both are sampled on every pick, so the dispatch counts stay close
+        assertTrue(peer1 >= 400 && peer2 >= 400, "Unbalanced selection " + peer1 + " vs " + peer2);
+        // an unknown route has no destinations
+        assertNull(DestinationBalancer.select("no.such.route"));
+    }
+
+    @Test
+    void dispatchCountsSurviveMembershipChange() {
+        String otherRoute = "ep.other.route";
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(DestinationBalancer.select(ROUTE));
+        }
+        long before = DestinationBalancer.getDispatchCount(PEER_1) + DestinationBalancer.getDispatchCount(PEER_2);
+        assertTrue(before >= 10);
+        // a route added to one peer changes the membership version and rebuilds the destinations
+        EventEmitter.getInstance().send(ServiceDiscovery.SERVICE_REGISTRY, new Kv("type", "add"),
+                new Kv("origin", PEER_2), new Kv("route", otherRoute), new Kv("personality", "APP"));
+        long deadline = System.currentTimeMillis() + 8000;
+        while (System.currentTimeMillis() < deadline && ServiceRegistry.getInstances(otherRoute).isEmpty()) {
+            Utility.getInstance().sleep(200);
+        }
+        assertEquals(PEER_2, DestinationBalancer.select(otherRoute));
+        assertNotNull(DestinationBalancer.select(ROUTE));
+        // the counters are shared by the routes of a peer and are not reset by the rebuild
+        assertEquals(before + 2,
+                DestinationBalancer.getDispatchCount(PEER_1) + DestinationBalancer.getDispatchCount(PEER_2));
+    }
+
     @Test
     void broadcastReachesAllInstances() throws InterruptedException {
         EventEnvelope event = new EventEnvelope().setTo(EventEmitter.CLOUD_CONNECTOR)
@@ -0,0 +1,78 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.postgres.models;
+
+/**
+ * A query whose result set is delivered as an event stream in chunks of rows
+ * instead of a single list
+ */
+public class PgStreamQueryStatement extends PgQueryStatement {
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+    public static final long DEFAULT_STREAM_TTL = 60000;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private long streamTtl = DEFAULT_STREAM_TTL;
+
+    public PgStreamQueryStatement() {
+        super();
+    }
+
+    public PgStreamQueryStatement(String sql, int chunkSize) {
+        super(sql);
+        setChunkSize(chunkSize);
+    }
+
+    public PgStreamQueryStatement(String sql, int chunkSize, long streamTtl) {
+        this(sql, chunkSize);
+        setStreamTtl(streamTtl);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getStreamTtl() {
+        return streamTtl;
+    }
+
+    /**
+     * Set the time-to-live of the event stream. The stream is closed when the consumer
+     * has not read all the chunks within this time.
+     *
+     * @param streamTtl in milliseconds, must be positive
+     */
+    public void setStreamTtl(long streamTtl) {
+        if (streamTtl < 1) {
+            throw new IllegalArgumentException("Stream TTL must be positive");
+        }
+        this.streamTtl = streamTtl;
+    }
+
+    /**
+     * Set the number of rows in each chunk. It is also the number of rows requested
+     * from the database at a time.
+     *
+     * @param chunkSize must be positive
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+}
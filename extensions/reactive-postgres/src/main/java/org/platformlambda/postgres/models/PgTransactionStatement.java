@@ -24,6 +24,7 @@ import java.util.List;
 public class PgTransactionStatement {
 
     private final List<PgUpdateStatement> updateStatements = new ArrayList<>();
+    private boolean pipelined = false;
 
     public void addStatement(PgUpdateStatement statement) {
         updateStatements.add(statement);
@@ -32,4 +33,17 @@ public class PgTransactionStatement {
     public List<PgUpdateStatement> getStatements() {
         return updateStatements;
     }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Send the statements of the transaction without waiting for each one to complete
+     *
+     * @param pipelined true to pipeline the statements
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
 }
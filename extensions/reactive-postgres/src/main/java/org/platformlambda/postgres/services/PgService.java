@@ -1,159 +1,252 @@
-/*
-
-    Copyright 2018-2026 Accenture Technology
-
-    Licensed under the Apache License, Version 2.0 (the "License");
-    you may not use this file except in compliance with the License.
-    You may obtain a copy of the License at
-
-        http://www.apache.org/licenses/LICENSE-2.0
-
-    Unless required by applicable law or agreed to in writing, software
-    distributed under the License is distributed on an "AS IS" BASIS,
-    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
-    See the License for the specific language governing permissions and
-    limitations under the License.
-
- */
-
-package org.platformlambda.postgres.services;
-
-import org.platformlambda.postgres.models.PgQueryStatement;
-import org.platformlambda.postgres.models.PgTransactionStatement;
-import org.platformlambda.postgres.models.PgUpdateStatement;
-import org.platformlambda.db.SqlPreparedStatement;
-import org.platformlambda.postgres.support.RowParser;
-import io.r2dbc.spi.Row;
-import org.platformlambda.core.annotations.PreLoad;
-import org.platformlambda.core.models.EventEnvelope;
-import org.platformlambda.core.models.TypedLambdaFunction;
-import org.platformlambda.core.util.AppConfigReader;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.r2dbc.connection.R2dbcTransactionManager;
-import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.transaction.reactive.TransactionalOperator;
-import reactor.core.publisher.Mono;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
-
-@PreLoad(route = PgService.ROUTE, instances = 200)
-public class PgService implements TypedLambdaFunction<EventEnvelope, Object> {
-    private static final Logger log = LoggerFactory.getLogger(PgService.class);
-    public static final String ROUTE = "postgres.service";
-    private static final String ROW_UPDATED = "row_updated";
-    private static final String UPDATED = "updated";
-    private static final String PG_QUERY_CLASS = PgQueryStatement.class.getName();
-    private static final String PG_UPDATE_CLASS = PgUpdateStatement.class.getName();
-    private static final String PG_TRANSACTION_CLASS = PgTransactionStatement.class.getName();
-
-    private DatabaseClient client;
-    private R2dbcTransactionManager transactionManager;
-
-    public PgService() {
-        var config = AppConfigReader.getInstance();
-        var debugQuery = "debug".equalsIgnoreCase(config.getProperty("logging.level.io.r2dbc.postgresql.QUERY"));
-        var debugParams = "debug".equalsIgnoreCase(config.getProperty("logging.level.io.r2dbc.postgresql.PARAM"));
-        if (debugQuery) {
-            log.warn("*** logging.level.io.r2dbc.postgresql.QUERY=DEBUG - DO NOT enable this feature in production.");
-        }
-        if (debugParams) {
-            log.warn("*** logging.level.io.r2dbc.postgresql.PARAM=DEBUG - DO NOT enable this feature in production.");
-        }
-    }
-
-    @Autowired
-    public void setDatabaseClient(DatabaseClient client) {
-        this.client = client;
-    }
-
-    @Autowired
-    public void setTransactionManager(R2dbcTransactionManager transactionManager) {
-        this.transactionManager = transactionManager;
-    }
-
-    @Override
-    public Object handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
-        Object clazz = restorePoJo(input);
-        if (clazz instanceof PgQueryStatement query) {
-            var sql = bindParamsToStatement(client.sql(query.getStatement()), query);
-            return sql.map(r -> {
-                if (r instanceof Row row) {
-                    return RowParser.toMap(row);
-                } else {
-                    // this should never happen
-                    throw new IllegalArgumentException("database record object is not a Row");
-                }
-            }).all().collectList();
-        }
-        if (clazz instanceof PgUpdateStatement update) {
-            var sql = bindParamsToStatement(client.sql(update.getStatement()), update);
-            return sql.fetch().rowsUpdated().map(count -> Map.of(ROW_UPDATED, count.intValue()));
-        }
-        if (clazz instanceof PgTransactionStatement transaction) {
-            var statements = transaction.getStatements();
-            if (statements.isEmpty()) {
-                throw new IllegalArgumentException("Missing transaction statements");
-            }
-            final AtomicReference<List<Integer>> counter = new AtomicReference<>();
-            counter.set(new ArrayList<>());
-            var firstOne = statements.getFirst();
-            var sql = bindParamsToStatement(client.sql(firstOne.getStatement()), firstOne)
-                        .fetch().rowsUpdated().map(count -> {
-                            counter.get().add(count.intValue());
-                            return Map.of(UPDATED, counter.get());
-                    });
-            for (int i=1; i<statements.size(); i++) {
-                sql = sql.then(bindParamsToStatement(client.sql(statements.get(i).getStatement()), statements.get(i))
-                        .fetch().rowsUpdated().map(count -> {
-                            counter.get().add(count.intValue());
-                            return Map.of(UPDATED, counter.get());
-                        })
-                );
-            }
-            var action = sql.then(Mono.just(Map.of(UPDATED, counter.get())));
-            return action.as(TransactionalOperator.create(transactionManager)::transactional);
-        }
-        throw new IllegalArgumentException("Unknown statement type");
-    }
-
-    private Object restorePoJo(EventEnvelope input) {
-        var type = input.getType();
-        if (PG_QUERY_CLASS.equals(type)) {
-            return input.getBody(PgQueryStatement.class);
-        }
-        if (PG_UPDATE_CLASS.equals(type)) {
-            return input.getBody(PgUpdateStatement.class);
-        }
-        if (PG_TRANSACTION_CLASS.equals(type)) {
-            return input.getBody(PgTransactionStatement.class);
-        }
-        return Optional.empty();
-    }
-
-    private DatabaseClient.GenericExecuteSpec bindParamsToStatement(DatabaseClient.GenericExecuteSpec sql,
-                                                                    SqlPreparedStatement query) {
-        var namedParms = query.getNamedParams();
-        var namedNulls = query.getNamedNulls();
-        var parameters = query.getParameters();
-        var nullParams = query.getNullParams();
-        for (var entry : namedParms.entrySet()) {
-            sql = sql.bind(entry.getKey(), query.getOriginalParameter(entry.getKey()));
-        }
-        for (var entry : namedNulls.entrySet()) {
-            sql = sql.bindNull(entry.getKey(), query.getNullClass(entry.getKey()));
-        }
-        for (var entry : parameters.entrySet()) {
-            sql = sql.bind(entry.getKey(), query.getOriginalParameter(entry.getKey()));
-        }
-        for (var entry : nullParams.entrySet()) {
-            sql = sql.bindNull(entry.getKey(), query.getNullClass(entry.getKey()));
-        }
-        return sql;
-    }
-}
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.postgres.services;
+
+import org.platformlambda.postgres.models.PgQueryStatement;
+import org.platformlambda.postgres.models.PgStreamQueryStatement;
+import org.platformlambda.postgres.models.PgTransactionStatement;
+import org.platformlambda.postgres.models.PgUpdateStatement;
+import org.platformlambda.db.SqlPreparedStatement;
+import org.platformlambda.postgres.support.RowParser;
+import io.r2dbc.spi.Row;
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.TypedLambdaFunction;
+import org.platformlambda.core.system.FluxPublisher;
+import org.platformlambda.core.util.AppConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@PreLoad(route = PgService.ROUTE, instances = 200)
+public class PgService implements TypedLambdaFunction<EventEnvelope, Object> {
+    private static final Logger log = LoggerFactory.getLogger(PgService.class);
+    public static final String ROUTE = "postgres.service";
+    private static final String ROW_UPDATED = "row_updated";
+    private static final String UPDATED = "updated";
+    private static final String X_STREAM_ID = "x-stream-id";
+    private static final String X_TTL = "x-ttl";
+    private static final String PG_STREAM_QUERY_CLASS = PgStreamQueryStatement.class.getName();
+    private static final String PG_QUERY_CLASS = PgQueryStatement.class.getName();
+    private static final String PG_UPDATE_CLASS = PgUpdateStatement.class.getName();
+    private static final String PG_TRANSACTION_CLASS = PgTransactionStatement.class.getName();
+
+    private DatabaseClient client;
+    private R2dbcTransactionManager transactionManager;
+
+    public PgService() {
+        var config = AppConfigReader.getInstance();
+        var debugQuery = "debug".equalsIgnoreCase(config.getProperty("logging.level.io.r2dbc.postgresql.QUERY"));
+        var debugParams = "debug".equalsIgnoreCase(config.getProperty("logging.level.io.r2dbc.postgresql.PARAM"));
+        if (debugQuery) {
+            log.warn("*** logging.level.io.r2dbc.postgresql.QUERY=DEBUG - DO NOT enable this feature in production.");
+        }
+        if (debugParams) {
+            log.warn("*** logging.level.io.r2dbc.postgresql.PARAM=DEBUG - DO NOT enable this feature in production.");
+        }
+    }
+
+    @Autowired
+    public void setDatabaseClient(DatabaseClient client) {
+        this.client = client;
+    }
+
+    @Autowired
+    public void setTransactionManager(R2dbcTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
+        Object clazz = restorePoJo(input);
+        if (clazz instanceof PgStreamQueryStatement query) {
+            /*
+             * The fetch size makes the driver read the result set in chunks through a portal
+             * and limitRate requests rows from the driver one chunk at a time. The publisher
+             * does not wait for the consumer, so chunks that have not been read yet are held
+             * by the event stream until the consumer takes them or the stream expires.
+             */
+            int chunkSize = query.getChunkSize();
+            var sql = bindParamsToStatement(client.sql(query.getStatement()), query)
+                        .filter(statement -> statement.fetchSize(chunkSize));
+            var flux = sql.map(PgService::toRecord).all().limitRate(chunkSize).buffer(chunkSize);
+            // the stream has its own time-to-live instead of the timeout of the request
+            var publisher = new FluxPublisher<>(flux, query.getStreamTtl());
+            return new EventEnvelope().setHeader(X_TTL, query.getStreamTtl())
+                                        .setHeader(X_STREAM_ID, publisher.publish());
+        }
+        if (clazz instanceof PgQueryStatement query) {
+            var sql = bindParamsToStatement(client.sql(query.getStatement()), query);
+            return sql.map(PgService::toRecord).all().collectList();
+        }
+        if (clazz instanceof PgUpdateStatement update) {
+            var sql = bindParamsToStatement(client.sql(update.getStatement()), update);
+            return sql.fetch().rowsUpdated().map(count -> Map.of(ROW_UPDATED, count.intValue()));
+        }
+        if (clazz instanceof PgTransactionStatement transaction) {
+            var statements = transaction.getStatements();
+            if (statements.isEmpty()) {
+                throw new IllegalArgumentException("Missing transaction statements");
+            }
+            final Mono<List<Integer>> counts;
+            if (isBatch(statements)) {
+                counts = executeBatch(statements);
+            } else if (transaction.isPipelined()) {
+                counts = executePipelined(statements);
+            } else {
+                counts = executeSequential(statements);
+            }
+            var action = counts.map(list -> Map.of(UPDATED, list));
+            return action.as(TransactionalOperator.create(transactionManager)::transactional);
+        }
+        throw new IllegalArgumentException("Unknown statement type");
+    }
+
+    /**
+     * Same SQL with positional parameters at the same positions for every statement,
+     * e.g. from PgRequest.batch. It can run as one prepared statement with one binding per row.
+     */
+    private boolean isBatch(List<PgUpdateStatement> statements) {
+        if (statements.size() < 2) {
+            return false;
+        }
+        var first = statements.getFirst();
+        var positions = getPositions(first);
+        if (positions.isEmpty()) {
+            return false;
+        }
+        for (var statement : statements) {
+            if (!first.getStatement().equals(statement.getStatement()) ||
+                    !statement.getNamedParams().isEmpty() || !statement.getNamedNulls().isEmpty() ||
+                    !positions.equals(getPositions(statement))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<Integer> getPositions(SqlPreparedStatement statement) {
+        var positions = new HashSet<>(statement.getParameters().keySet());
+        positions.addAll(statement.getNullParams().keySet());
+        return positions;
+    }
+
+    /**
+     * Execute the rows with R2DBC Statement.add() so that the whole batch is a single prepared
+     * statement on the transaction's connection. The driver returns one result per binding.
+     */
+    private Mono<List<Integer>> executeBatch(List<PgUpdateStatement> statements) {
+        var sql = statements.getFirst().getStatement();
+        return client.inConnectionMany(connection -> {
+            var batch = connection.createStatement(sql);
+            for (int i=0; i < statements.size(); i++) {
+                if (i > 0) {
+                    batch.add();
+                }
+                var statement = statements.get(i);
+                for (var entry : statement.getParameters().entrySet()) {
+                    batch.bind(entry.getKey(), statement.getOriginalParameter(entry.getKey()));
+                }
+                for (var entry : statement.getNullParams().entrySet()) {
+                    batch.bindNull(entry.getKey(), statement.getNullClass(entry.getKey()));
+                }
+            }
+            return Flux.from(batch.execute()).concatMap(result -> Mono.from(result.getRowsUpdated()));
+        }).map(Long::intValue).collectList();
+    }
+
+    /**
+     * Send every statement without waiting for the previous one to complete.
+     * The driver writes them to the connection in order and the counts are collected in order.
+     */
+    private Mono<List<Integer>> executePipelined(List<PgUpdateStatement> statements) {
+        var updates = new ArrayList<Mono<Integer>>();
+        for (var statement : statements) {
+            updates.add(bindParamsToStatement(client.sql(statement.getStatement()), statement)
+                    .fetch().rowsUpdated().map(Long::intValue));
+        }
+        return Flux.mergeSequential(updates).collectList();
+    }
+
+    private Mono<List<Integer>> executeSequential(List<PgUpdateStatement> statements) {
+        return Flux.fromIterable(statements)
+                .concatMap(statement -> bindParamsToStatement(client.sql(statement.getStatement()), statement)
+                        .fetch().rowsUpdated().map(Long::intValue))
+                .collectList();
+    }
+
+    private static Map<String, Object> toRecord(Object r) {
+        if (r instanceof Row row) {
+            return RowParser.toMap(row);
+        } else {
+            // this should never happen
+            throw new IllegalArgumentException("database record object is not a Row");
+        }
+    }
+
+    private Object restorePoJo(EventEnvelope input) {
+        var type = input.getType();
+        if (PG_STREAM_QUERY_CLASS.equals(type)) {
+            return input.getBody(PgStreamQueryStatement.class);
+        }
+        if (PG_QUERY_CLASS.equals(type)) {
+            return input.getBody(PgQueryStatement.class);
+        }
+        if (PG_UPDATE_CLASS.equals(type)) {
+            return input.getBody(PgUpdateStatement.class);
+        }
+        if (PG_TRANSACTION_CLASS.equals(type)) {
+            return input.getBody(PgTransactionStatement.class);
+        }
+        return Optional.empty();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindParamsToStatement(DatabaseClient.GenericExecuteSpec sql,
+                                                                    SqlPreparedStatement query) {
+        var namedParms = query.getNamedParams();
+        var namedNulls = query.getNamedNulls();
+        var parameters = query.getParameters();
+        var nullParams = query.getNullParams();
+        for (var entry : namedParms.entrySet()) {
+            sql = sql.bind(entry.getKey(), query.getOriginalParameter(entry.getKey()));
+        }
+        for (var entry : namedNulls.entrySet()) {
+            sql = sql.bindNull(entry.getKey(), query.getNullClass(entry.getKey()));
+        }
+        for (var entry : parameters.entrySet()) {
+            sql = sql.bind(entry.getKey(), query.getOriginalParameter(entry.getKey()));
+        }
+        for (var entry : nullParams.entrySet()) {
+            sql = sql.bindNull(entry.getKey(), query.getNullClass(entry.getKey()));
+        }
+        return sql;
+    }
+}
@@ -1,171 +1,241 @@
-/*
-
-    Copyright 2018-2026 Accenture Technology
-
-    Licensed under the Apache License, Version 2.0 (the "License");
-    you may not use this file except in compliance with the License.
-    You may obtain a copy of the License at
-
-        http://www.apache.org/licenses/LICENSE-2.0
-
-    Unless required by applicable law or agreed to in writing, software
-    distributed under the License is distributed on an "AS IS" BASIS,
-    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
-    See the License for the specific language governing permissions and
-    limitations under the License.
-
- */
-
-package org.platformlambda.postgres.support;
-
-import org.platformlambda.postgres.models.PgQueryStatement;
-import org.platformlambda.postgres.models.PgTransactionStatement;
-import org.platformlambda.postgres.models.PgUpdateStatement;
-import org.platformlambda.postgres.services.PgService;
-import org.platformlambda.core.exception.AppException;
-import org.platformlambda.core.models.EventEnvelope;
-import org.platformlambda.core.system.PostOffice;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ExecutionException;
-
-public class PgRequest {
-    private static final String ROW_UPDATED = "row_updated";
-    private static final String UPDATED = "updated";
-    private final long timeout;
-
-    public PgRequest(long timeout) {
-        this.timeout = timeout;
-    }
-
-    /**
-     * Perform a SQL query
-     *
-     * @param po PostOffice
-     * @param sql statement
-     * @param parameters if any
-     * @return list of records. Empty if not found.
-     * @throws ExecutionException in case of error
-     * @throws InterruptedException in case of error
-     */
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> query(PostOffice po, String sql, Object... parameters)
-                                                    throws ExecutionException, InterruptedException {
-        if (po == null) {
-            throw new AppException(400, "Missing PostOffice");
-        }
-        if (sql == null) {
-            throw new AppException(400, "Missing SQL statement");
-        }
-        var req = new PgQueryStatement(sql);
-        req.bindParameters(parameters);
-        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(req), timeout).get();
-        if (!result.hasError() && result.getBody() instanceof List) {
-            return (List<Map<String, Object>>) result.getBody();
-        }
-        // in case of database exception
-        var status = result.getStatus() == 200? 400 : result.getStatus();
-        throw new AppException(status, String.valueOf(result.getBody()));
-    }
-
-    /**
-     * Perform an insert, update or delete
-     *
-     * @param po PostOffice
-     * @param sql statement
-     * @param parameters if any
-     * @return number of rows updated
-     * @throws ExecutionException in case of error
-     * @throws InterruptedException in case of error
-     */
-    public int update(PostOffice po, String sql, Object... parameters) throws ExecutionException, InterruptedException {
-        if (po == null) {
-            throw new AppException(400, "Missing PostOffice");
-        }
-        if (sql == null) {
-            throw new AppException(400, "Missing SQL statement");
-        }
-        var req = new PgUpdateStatement(sql);
-        req.bindParameters(parameters);
-        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(req), timeout).get();
-        if (!result.hasError() && result.getBody() instanceof Map<?, ?> map &&
-                map.get(ROW_UPDATED) instanceof Integer count) {
-            return count;
-        }
-        // in case of database exception
-        var status = result.getStatus() == 200? 400 : result.getStatus();
-        throw new AppException(status, String.valueOf(result.getBody()));
-    }
-
-    /**
-     * A convenient method to allow execution of the same SQL statement for multiple insert, update or delete
-     *
-     * @param po PostOffice
-     * @param sql SQL statement for multiple execution
-     * @param parameterList, optional list if parameters for each statement.
-     *                       null element to indicate no parameters for the specific statement.
-     * @return list of numbers of row updated for each SQL statement in the list
-     * @throws ExecutionException in case of error
-     * @throws InterruptedException in case of error
-     */
-    public List<Integer> batch(PostOffice po, String sql, List<List<Object>> parameterList)
-            throws ExecutionException, InterruptedException {
-        if (po == null) {
-            throw new AppException(400, "Missing PostOffice");
-        }
-        if (sql == null) {
-            throw new AppException(400, "Missing SQL statement");
-        }
-        var pList = parameterList == null? List.of() : parameterList;
-        if (pList.isEmpty()) {
-            throw new AppException(400, "Missing list of lists of parameters");
-        }
-        var sqlList = new ArrayList<String>();
-        for (int i=0; i < pList.size(); i++) {
-            sqlList.add(sql);
-        }
-        return transaction(po, sqlList, parameterList);
-    }
-
-    /**
-     * Perform a transaction with one or more SQL statement of insert, update or delete
-     *
-     * @param po PostOffice
-     * @param sqlList list of SQL statement
-     * @param parameterList, optional list if parameters for each statement.
-     *                       null element to indicate no parameters for the specific statement.
-     * @return list of numbers of row updated for each SQL statement in the list
-     * @throws ExecutionException in case of error
-     * @throws InterruptedException in case of error
-     */
-    @SuppressWarnings("unchecked")
-    public List<Integer> transaction(PostOffice po, List<String> sqlList, List<List<Object>> parameterList)
-            throws ExecutionException, InterruptedException {
-        if (sqlList == null || sqlList.isEmpty()) {
-            throw new AppException(400, "Missing SQL statements");
-        }
-        var statements = new PgTransactionStatement();
-        int n = 0;
-        for (var sql : sqlList) {
-            var req = new PgUpdateStatement(sql);
-            if (parameterList != null && parameterList.size() > n) {
-                var param = parameterList.get(n);
-                if (param != null) {
-                    req.bindParameters(param.toArray());
-                }
-            }
-            statements.addStatement(req);
-            n++;
-        }
-        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(statements), timeout).get();
-        if (!result.hasError() && result.getBody() instanceof Map<?, ?> map &&
-                map.get(UPDATED) instanceof List<?> countList) {
-            return (List<Integer>) countList;
-        }
-        // in case of database exception
-        var status = result.getStatus() == 200? 400 : result.getStatus();
-        throw new AppException(status, String.valueOf(result.getBody()));
-    }
-}
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.postgres.support;
+
+import org.platformlambda.postgres.models.PgQueryStatement;
+import org.platformlambda.postgres.models.PgStreamQueryStatement;
+import org.platformlambda.postgres.models.PgTransactionStatement;
+import org.platformlambda.postgres.models.PgUpdateStatement;
+import org.platformlambda.postgres.services.PgService;
+import org.platformlambda.core.exception.AppException;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.FluxConsumer;
+import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.util.Utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+public class PgRequest {
+    private static final String ROW_UPDATED = "row_updated";
+    private static final String UPDATED = "updated";
+    private static final String X_STREAM_ID = "x-stream-id";
+    private static final String X_TTL = "x-ttl";
+    private final long timeout;
+
+    public PgRequest(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Perform a SQL query
+     *
+     * @param po PostOffice
+     * @param sql statement
+     * @param parameters if any
+     * @return list of records. Empty if not found.
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> query(PostOffice po, String sql, Object... parameters)
+                                                    throws ExecutionException, InterruptedException {
+        if (po == null) {
+            throw new AppException(400, "Missing PostOffice");
+        }
+        if (sql == null) {
+            throw new AppException(400, "Missing SQL statement");
+        }
+        var req = new PgQueryStatement(sql);
+        req.bindParameters(parameters);
+        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(req), timeout).get();
+        if (!result.hasError() && result.getBody() instanceof List) {
+            return (List<Map<String, Object>>) result.getBody();
+        }
+        // in case of database exception
+        var status = result.getStatus() == 200? 400 : result.getStatus();
+        throw new AppException(status, String.valueOf(result.getBody()));
+    }
+
+    /**
+     * Perform a SQL query and receive the records as an event stream of chunks.
+     * <p>
+     * The rows are requested from the database one chunk at a time and the first chunk
+     * arrives before the query completes. The stream does not slow the query down for a
+     * slow consumer: chunks that have not been read yet are held in memory by the stream.
+     * The timeout of this PgRequest applies to the start of the query. The stream expires
+     * when it has not been consumed within the stream TTL.
+     *
+     * @param po PostOffice
+     * @param chunkSize maximum number of records in each chunk
+     * @param streamTtl time-to-live of the stream in milliseconds
+     * @param sql statement
+     * @param parameters if any
+     * @return stream consumer that delivers each chunk as a list of records
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    public FluxConsumer<List<Map<String, Object>>> queryStream(PostOffice po, int chunkSize, long streamTtl,
+                                                               String sql, Object... parameters)
+                                                    throws ExecutionException, InterruptedException {
+        if (po == null) {
+            throw new AppException(400, "Missing PostOffice");
+        }
+        if (sql == null) {
+            throw new AppException(400, "Missing SQL statement");
+        }
+        if (chunkSize < 1) {
+            throw new AppException(400, "Chunk size must be positive");
+        }
+        if (streamTtl < 1) {
+            throw new AppException(400, "Stream TTL must be positive");
+        }
+        var req = new PgStreamQueryStatement(sql, chunkSize, streamTtl);
+        req.bindParameters(parameters);
+        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(req), timeout).get();
+        var streamId = result.getHeader(X_STREAM_ID);
+        if (!result.hasError() && streamId != null) {
+            return new FluxConsumer<>(streamId, Utility.getInstance().str2long(result.getHeader(X_TTL)));
+        }
+        // in case of database exception
+        var status = result.getStatus() == 200? 400 : result.getStatus();
+        throw new AppException(status, String.valueOf(result.getBody()));
+    }
+
+    /**
+     * Perform an insert, update or delete
+     *
+     * @param po PostOffice
+     * @param sql statement
+     * @param parameters if any
+     * @return number of rows updated
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    public int update(PostOffice po, String sql, Object... parameters) throws ExecutionException, InterruptedException {
+        if (po == null) {
+            throw new AppException(400, "Missing PostOffice");
+        }
+        if (sql == null) {
+            throw new AppException(400, "Missing SQL statement");
+        }
+        var req = new PgUpdateStatement(sql);
+        req.bindParameters(parameters);
+        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(req), timeout).get();
+        if (!result.hasError() && result.getBody() instanceof Map<?, ?> map &&
+                map.get(ROW_UPDATED) instanceof Integer count) {
+            return count;
+        }
+        // in case of database exception
+        var status = result.getStatus() == 200? 400 : result.getStatus();
+        throw new AppException(status, String.valueOf(result.getBody()));
+    }
+
+    /**
+     * A convenient method to allow execution of the same SQL statement for multiple insert, update or delete.
+     * The rows are sent as one prepared statement with a set of bindings per row.
+     *
+     * @param po PostOffice
+     * @param sql SQL statement for multiple execution
+     * @param parameterList, optional list if parameters for each statement.
+     *                       null element to indicate no parameters for the specific statement.
+     * @return list of numbers of row updated for each SQL statement in the list
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    public List<Integer> batch(PostOffice po, String sql, List<List<Object>> parameterList)
+            throws ExecutionException, InterruptedException {
+        if (po == null) {
+            throw new AppException(400, "Missing PostOffice");
+        }
+        if (sql == null) {
+            throw new AppException(400, "Missing SQL statement");
+        }
+        var pList = parameterList == null? List.of() : parameterList;
+        if (pList.isEmpty()) {
+            throw new AppException(400, "Missing list of lists of parameters");
+        }
+        var sqlList = new ArrayList<String>();
+        for (int i=0; i < pList.size(); i++) {
+            sqlList.add(sql);
+        }
+        return transaction(po, sqlList, parameterList);
+    }
+
+    /**
+     * Perform a transaction with one or more SQL statement of insert, update or delete
+     *
+     * @param po PostOffice
+     * @param sqlList list of SQL statement
+     * @param parameterList, optional list if parameters for each statement.
+     *                       null element to indicate no parameters for the specific statement.
+     * @return list of numbers of row updated for each SQL statement in the list
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    public List<Integer> transaction(PostOffice po, List<String> sqlList, List<List<Object>> parameterList)
+            throws ExecutionException, InterruptedException {
+        return transaction(po, sqlList, parameterList, false);
+    }
+
+    /**
+     * Perform a transaction with one or more SQL statement of insert, update or delete
+     *
+     * @param po PostOffice
+     * @param sqlList list of SQL statement
+     * @param parameterList, optional list if parameters for each statement.
+     *                       null element to indicate no parameters for the specific statement.
+     * @param pipelined true to send the statements without waiting for each one to complete.
+     *                  They still run in order in one transaction and a failure rolls back all of them.
+     * @return list of numbers of row updated for each SQL statement in the list
+     * @throws ExecutionException in case of error
+     * @throws InterruptedException in case of error
+     */
+    @SuppressWarnings("unchecked")
+    public List<Integer> transaction(PostOffice po, List<String> sqlList, List<List<Object>> parameterList,
+                                     boolean pipelined) throws ExecutionException, InterruptedException {
+        if (sqlList == null || sqlList.isEmpty()) {
+            throw new AppException(400, "Missing SQL statements");
+        }
+        var statements = new PgTransactionStatement();
+        statements.setPipelined(pipelined);
+        int n = 0;
+        for (var sql : sqlList) {
+            var req = new PgUpdateStatement(sql);
+            if (parameterList != null && parameterList.size() > n) {
+                var param = parameterList.get(n);
+                if (param != null) {
+                    req.bindParameters(param.toArray());
+                }
+            }
+            statements.addStatement(req);
+            n++;
+        }
+        var result = po.request(new EventEnvelope().setTo(PgService.ROUTE).setBody(statements), timeout).get();
+        if (!result.hasError() && result.getBody() instanceof Map<?, ?> map &&
+                map.get(UPDATED) instanceof List<?> countList) {
+            return (List<Integer>) countList;
+        }
+        // in case of database exception
+        var status = result.getStatus() == 200? 400 : result.getStatus();
+        throw new AppException(status, String.valueOf(result.getBody()));
+    }
+}
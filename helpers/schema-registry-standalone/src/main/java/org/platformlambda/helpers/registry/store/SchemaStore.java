@@ -28,11 +28,19 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.Collections;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Minimalist in-memory schema store mimicking Confluent Schema Registry, persisted as <b>one file per schema
@@ -47,12 +55,22 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p><b>Subjects &amp; versions.</b> A global schema id is content-addressed (identical content = same id, even
  * across subjects, faithful to Confluent). Versions are per-subject and tracked in an in-memory
- * {@code subject → (version → id)} index, rebuilt on boot from the per-id files (each records the subject and
- * version it was first registered under). This backs {@code GET /subjects/{subject}/versions/{version}} and
- * {@code .../latest}. <b>Mock limitation:</b> a single {@code <id>.json} records one subject/version, so the
- * uncommon case of the same content registered under multiple subjects only round-trips the first across a
- * restart (all subjects still resolve within a running session). A file dropped in after boot is id-resolvable
- * on demand, but subject-resolvable only after a restart (or re-registration).</p>
+ * {@link SubjectVersions} index per subject - {@code version → id}, the reverse {@code id → version} and a
+ * latest-version pointer - so registration, idempotency checks and {@code .../latest} are O(1). The index is
+ * rebuilt on boot from the per-id files (each records the subject and version it was first registered under).
+ * This backs {@code GET /subjects/{subject}/versions/{version}} and {@code .../latest}. <b>Mock limitation:</b>
+ * a single {@code <id>.json} records one subject/version, so the uncommon case of the same content registered
+ * under multiple subjects only round-trips the first across a restart (all subjects still resolve within a
+ * running session). A file dropped in after boot is id-resolvable on demand, but subject-resolvable only after
+ * a restart (or re-registration).</p>
+ *
+ * <p><b>Journal mode.</b> With {@code schema.registry.journal=true}, a registration is not written to its own
+ * file. It is queued and appended by a background flush to {@code journal.log} (one JSON line per schema or
+ * subject version), which is compacted into {@code snapshot.json} on boot and every {@value #COMPACT_THRESHOLD}
+ * records. Registration therefore never waits for the disk, boot reads two files instead of thousands, and every
+ * subject/version round-trips. Seed and drop-in {@code <id>.json} files are still honoured. An unreadable
+ * snapshot fails startup instead of being compacted over, because the ids it holds would otherwise be
+ * reassigned to other schemas.</p>
  *
  * <p>The default lives under {@code /tmp} (cleared by the OS on reboot); override to a durable directory
  * ({@code -Dschema.registry.data.store=$HOME/schema-registry}) to survive reboots.</p>
@@ -67,36 +85,75 @@ public class SchemaStore {
     // 'schema.registry.data.store' or the JVM flag -Dschema.registry.data.store=<dir>.
     private static final String STORE_DIR_KEY = "schema.registry.data.store";
     private static final String DEFAULT_STORE_DIR = "/tmp/schema-registry";
+    private static final String JOURNAL_KEY = "schema.registry.journal";
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String SNAPSHOT_FILE = "snapshot.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int COMPACT_THRESHOLD = 1000;
     private static final String JSON_SUFFIX = ".json";
+    private static final String ID = "id";
     private static final String SCHEMA = "schema";
     private static final String SCHEMA_TYPE = "schemaType";
     private static final String LEGACY_SCHEMA_TYPE = "schema_type";
     private static final String SUBJECT = "subject";
     private static final String VERSION = "version";
+    private static final String SCHEMAS = "schemas";
+    private static final String SUBJECTS = "subjects";
+
+    private static final SchemaStore instance = new SchemaStore(
+            AppConfigReader.getInstance().getProperty(STORE_DIR_KEY, DEFAULT_STORE_DIR),
+            "true".equalsIgnoreCase(AppConfigReader.getInstance().getProperty(JOURNAL_KEY, "false")));
 
-    private static final SchemaStore instance = new SchemaStore();
+    static {
+        if (instance.journal) {
+            // flush what is still queued when the server stops
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::flushJournal));
+        }
+    }
 
     public static final String AVRO_TYPE = "AVRO";
     public static final String PROTOBUF_TYPE = "PROTOBUF";
 
     private final ConcurrentMap<Integer, SchemaEntry> idToSchema = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Integer> hashToId = new ConcurrentHashMap<>();
-    // subject -> (version -> global schema id); versions are per-subject, ids are global/content-addressed.
-    private final ConcurrentMap<String, ConcurrentMap<Integer, Integer>> subjectVersions = new ConcurrentHashMap<>();
+    // versions are per-subject, ids are global/content-addressed.
+    private final ConcurrentMap<String, SubjectVersions> subjectVersions = new ConcurrentHashMap<>();
     private final AtomicInteger idGenerator = new AtomicInteger(1);
+    // write-behind journal (journal mode only)
+    private final ConcurrentLinkedQueue<Map<String, Object>> pendingRecords = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private int journalRecords;
 
     private final String storeDir;
+    private final boolean journal;
     private final Utility util = Utility.getInstance();
     private final CryptoApi crypto = new CryptoApi();
 
     /** A stored schema: the opaque schema string, its type, and the subject/version it was registered under. */
     public record SchemaEntry(String schema, String schemaType, String subject, int version) {}
 
-    private SchemaStore() {
-        this.storeDir = AppConfigReader.getInstance().getProperty(STORE_DIR_KEY, DEFAULT_STORE_DIR);
-        log.info("Schema data store at {} (one <id>{} per schema; override with -D{}=<dir>)",
-                storeDir, JSON_SUFFIX, STORE_DIR_KEY);
+    /**
+     * Visible for testing
+     *
+     * @param storeDir the data store directory
+     * @param journal true to persist through the write-behind journal instead of per-id files
+     * @throws IllegalStateException if the snapshot or the journal cannot be read in journal mode
+     */
+    SchemaStore(String storeDir, boolean journal) {
+        this.storeDir = storeDir;
+        this.journal = journal;
+        if (journal) {
+            log.info("Schema data store at {} ({} + {}; drop-in <id>{} files are honoured)",
+                    storeDir, SNAPSHOT_FILE, JOURNAL_FILE, JSON_SUFFIX);
+        } else {
+            log.info("Schema data store at {} (one <id>{} per schema; override with -D{}=<dir>)",
+                    storeDir, JSON_SUFFIX, STORE_DIR_KEY);
+        }
         loadAllFromDisk();
+        if (journal) {
+            loadJournal();
+        }
     }
 
     public static SchemaStore getInstance() {
@@ -119,32 +176,28 @@ public class SchemaStore {
         boolean firstTime = !hashToId.containsKey(hashKey);
         // content-addressed id: reuse the existing one, or assign (and store) a new one on first sight
         int id = hashToId.computeIfAbsent(hashKey, k -> nextFreeId());
-        int version = assignVersion(subject, id);
+        boolean hasSubject = subject != null && !subject.isEmpty();
+        SubjectVersions versions = hasSubject ? subjectVersions.computeIfAbsent(subject, k -> new SubjectVersions()) : null;
+        Integer known = versions == null ? null : versions.versionOf(id);
+        int version = versions == null ? 0 : (known != null ? known : versions.assign(id));
         if (firstTime) {
             // First time this content is seen: store + persist with the registering subject/version.
             SchemaEntry entry = new SchemaEntry(schema, type, subject, version);
             idToSchema.put(id, entry);
-            saveEntry(id, entry);
-        }
-        return id;
-    }
-
-    /** Assign (or find, if idempotent) the per-subject version for {@code id}. Returns 0 when no subject. */
-    private int assignVersion(String subject, int id) {
-        if (subject == null || subject.isEmpty()) {
-            return 0;
-        }
-        ConcurrentMap<Integer, Integer> versions = subjectVersions.computeIfAbsent(subject, k -> new ConcurrentHashMap<>());
-        synchronized (versions) {
-            for (Map.Entry<Integer, Integer> e : versions.entrySet()) {
-                if (e.getValue().equals(id)) {
-                    return e.getKey();
-                }
+            if (journal) {
+                appendRecord(toRecord(id, entry));
+            } else {
+                saveEntry(id, entry);
             }
-            int version = versions.isEmpty() ? 1 : Collections.max(versions.keySet()) + 1;
-            versions.put(version, id);
-            return version;
+        } else if (journal && hasSubject && known == null) {
+            // known content under a new subject version: journal the version only
+            Map<String, Object> record = new HashMap<>();
+            record.put(ID, id);
+            record.put(SUBJECT, subject);
+            record.put(VERSION, version);
+            appendRecord(record);
         }
+        return id;
     }
 
     /**
@@ -162,25 +215,21 @@ public class SchemaStore {
 
     /** @return true if the subject has at least one registered version. */
     public boolean hasSubject(String subject) {
-        ConcurrentMap<Integer, Integer> versions = subjectVersions.get(subject);
-        return versions != null && !versions.isEmpty();
+        SubjectVersions versions = subjectVersions.get(subject);
+        return versions != null && versions.latest() > 0;
     }
 
     /** @return the newest version number for the subject, or {@code null} if the subject is unknown/empty. */
     public Integer latestVersion(String subject) {
-        ConcurrentMap<Integer, Integer> versions = subjectVersions.get(subject);
-        if (versions == null || versions.isEmpty()) {
-            return null;
-        }
-        synchronized (versions) {
-            return Collections.max(versions.keySet());
-        }
+        SubjectVersions versions = subjectVersions.get(subject);
+        int latest = versions == null ? 0 : versions.latest();
+        return latest > 0 ? latest : null;
     }
 
     /** @return the global schema id for {@code subject} at {@code version}, or {@code null} if not found. */
     public Integer idForVersion(String subject, int version) {
-        ConcurrentMap<Integer, Integer> versions = subjectVersions.get(subject);
-        return versions == null ? null : versions.get(version);
+        SubjectVersions versions = subjectVersions.get(subject);
+        return versions == null ? null : versions.idOf(version);
     }
 
     private String getHash(String typeAndSchema) {
@@ -234,30 +283,42 @@ public class SchemaStore {
         try {
             Map<String, Object> map = SimpleMapper.getInstance().getMapper()
                     .readValue(Files.readString(file.toPath()), Map.class);
-            Object schemaValue = map.get(SCHEMA);
-            if (!(schemaValue instanceof String schema) || schema.isEmpty()) {
-                return null;
-            }
-            // accept either "schemaType" (canonical) or a legacy "schema_type"; default to AVRO.
-            Object typeValue = map.containsKey(LEGACY_SCHEMA_TYPE) ? map.get(LEGACY_SCHEMA_TYPE)
-                    : map.getOrDefault(SCHEMA_TYPE, AVRO_TYPE);
-            String type = typeValue == null ? AVRO_TYPE : String.valueOf(typeValue);
-            String subject = map.get(SUBJECT) == null ? null : String.valueOf(map.get(SUBJECT));
-            int version = map.get(VERSION) == null ? 0 : util.str2int(String.valueOf(map.get(VERSION)));
-            SchemaEntry entry = new SchemaEntry(schema, type, subject, version);
-            idToSchema.put(id, entry);
-            hashToId.put(getHash(type + ":" + schema), id);
-            if (subject != null && !subject.isEmpty() && version > 0) {
-                subjectVersions.computeIfAbsent(subject, k -> new ConcurrentHashMap<>()).put(version, id);
-            }
-            idGenerator.accumulateAndGet(id + 1, Math::max);
-            return entry;
+            return indexEntry(id, map);
         } catch (IOException | RuntimeException e) {
             log.warn("Ignoring unreadable schema file {}: {}", file, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Index a stored schema (from a per-id file, the snapshot or the journal). Returns {@code null} when the
+     * map has no schema string.
+     */
+    private SchemaEntry indexEntry(int id, Map<String, Object> map) {
+        Object schemaValue = map.get(SCHEMA);
+        if (!(schemaValue instanceof String schema) || schema.isEmpty()) {
+            return null;
+        }
+        // accept either "schemaType" (canonical) or a legacy "schema_type"; default to AVRO.
+        Object typeValue = map.containsKey(LEGACY_SCHEMA_TYPE) ? map.get(LEGACY_SCHEMA_TYPE)
+                : map.getOrDefault(SCHEMA_TYPE, AVRO_TYPE);
+        String type = typeValue == null ? AVRO_TYPE : String.valueOf(typeValue);
+        String subject = map.get(SUBJECT) == null ? null : String.valueOf(map.get(SUBJECT));
+        int version = map.get(VERSION) == null ? 0 : util.str2int(String.valueOf(map.get(VERSION)));
+        SchemaEntry entry = new SchemaEntry(schema, type, subject, version);
+        idToSchema.put(id, entry);
+        hashToId.put(getHash(type + ":" + schema), id);
+        indexVersion(subject, version, id);
+        idGenerator.accumulateAndGet(id + 1, Math::max);
+        return entry;
+    }
+
+    private void indexVersion(String subject, int version, int id) {
+        if (subject != null && !subject.isEmpty() && version > 0) {
+            subjectVersions.computeIfAbsent(subject, k -> new SubjectVersions()).put(version, id);
+        }
+    }
+
     private void saveEntry(int id, SchemaEntry entry) {
         try {
             Files.writeString(fileFor(id).toPath(),
@@ -266,4 +327,216 @@ public class SchemaStore {
             log.warn("Failed to save schema {}: {}", id, e.getMessage());
         }
     }
+
+    private Map<String, Object> toRecord(int id, SchemaEntry entry) {
+        Map<String, Object> record = new HashMap<>();
+        record.put(ID, id);
+        record.put(SCHEMA, entry.schema());
+        record.put(SCHEMA_TYPE, entry.schemaType());
+        if (entry.subject() != null && !entry.subject().isEmpty()) {
+            record.put(SUBJECT, entry.subject());
+            record.put(VERSION, entry.version());
+        }
+        return record;
+    }
+
+    private void appendRecord(Map<String, Object> record) {
+        pendingRecords.add(record);
+        if (flushScheduled.compareAndSet(false, true)) {
+            Thread.startVirtualThread(this::flushJournal);
+        }
+    }
+
+    /**
+     * Append the queued records to the journal, compacting it into the snapshot when it grows past the
+     * threshold. Visible for testing.
+     */
+    void flushJournal() {
+        journalLock.lock();
+        try {
+            // reset the flag before draining so that a record added afterward schedules another flush
+            flushScheduled.set(false);
+            StringBuilder sb = new StringBuilder();
+            int n = 0;
+            Map<String, Object> record;
+            while ((record = pendingRecords.poll()) != null) {
+                sb.append(SimpleMapper.getInstance().getCompactGson().toJson(record)).append('\n');
+                n++;
+            }
+            if (n > 0) {
+                Files.writeString(Path.of(storeDir, JOURNAL_FILE), sb,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                journalRecords += n;
+            }
+            if (journalRecords >= COMPACT_THRESHOLD) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write schema journal: {}", e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Write the in-memory state as the snapshot and start an empty journal. Every journaled record is already
+     * in memory, and a record still queued is appended to the new journal afterward, so nothing is lost.
+     * The caller holds the journal lock.
+     */
+    private void compact() throws IOException {
+        List<Map<String, Object>> schemas = new ArrayList<>();
+        idToSchema.forEach((id, entry) -> schemas.add(toRecord(id, entry)));
+        Map<String, Map<String, Integer>> subjects = new HashMap<>();
+        subjectVersions.forEach((subject, versions) -> subjects.put(subject, versions.toMap()));
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put(SCHEMAS, schemas);
+        snapshot.put(SUBJECTS, subjects);
+        Path target = Path.of(storeDir, SNAPSHOT_FILE);
+        Path temp = Path.of(storeDir, SNAPSHOT_FILE + TEMP_SUFFIX);
+        Files.writeString(temp, SimpleMapper.getInstance().getCompactGson().toJson(snapshot));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(Path.of(storeDir, JOURNAL_FILE));
+        journalRecords = 0;
+    }
+
+    /**
+     * Load the snapshot, replay the journal on top of it, and compact the two.
+     * <p>
+     * A snapshot or journal that cannot be read stops the boot. Compacting without it would replace the
+     * snapshot with a partial one, and the id generator would hand out the ids it holds again.
+     */
+    @SuppressWarnings("unchecked")
+    private void loadJournal() {
+        Path snapshotPath = Path.of(storeDir, SNAPSHOT_FILE);
+        Path journalPath = Path.of(storeDir, JOURNAL_FILE);
+        int replayed = 0;
+        try {
+            if (Files.exists(snapshotPath)) {
+                Map<String, Object> snapshot = SimpleMapper.getInstance().getMapper()
+                        .readValue(Files.readString(snapshotPath), Map.class);
+                if (!(snapshot.get(SCHEMAS) instanceof List<?> schemas)) {
+                    throw new IOException("missing " + SCHEMAS + " list");
+                }
+                for (Object item : schemas) {
+                    if (item instanceof Map<?, ?> map) {
+                        replay((Map<String, Object>) map);
+                    }
+                }
+                if (snapshot.get(SUBJECTS) instanceof Map<?, ?> subjects) {
+                    subjects.forEach((subject, versions) -> {
+                        if (versions instanceof Map<?, ?> m) {
+                            m.forEach((v, id) -> indexVersion(String.valueOf(subject),
+                                    util.str2int(String.valueOf(v)), util.str2int(String.valueOf(id))));
+                        }
+                    });
+                }
+            }
+            if (Files.exists(journalPath)) {
+                for (String line : Files.readAllLines(journalPath)) {
+                    if (!line.isBlank() && replayLine(line)) {
+                        replayed++;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to load schema journal from {}: {}", storeDir, e.getMessage());
+            throw new IllegalStateException("Unable to load " + SNAPSHOT_FILE + " or " + JOURNAL_FILE +
+                    " from " + storeDir + " - repair or remove the file to start", e);
+        }
+        journalLock.lock();
+        try {
+            compact();
+        } catch (IOException e) {
+            // the snapshot and the journal on disk are intact, so the next boot compacts them
+            log.warn("Unable to compact schema journal in {}: {}", storeDir, e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+        log.info("Loaded {} schemas ({} subjects) with {} journal records. Next ID will be {}",
+                idToSchema.size(), subjectVersions.size(), replayed, idGenerator.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean replayLine(String line) {
+        try {
+            replay(SimpleMapper.getInstance().getMapper().readValue(line, Map.class));
+            return true;
+        } catch (RuntimeException e) {
+            // a partially written last line after a crash
+            log.warn("Ignoring unreadable journal record: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void replay(Map<String, Object> record) {
+        int id = util.str2int(String.valueOf(record.get(ID)));
+        if (id < 1) {
+            return;
+        }
+        if (record.containsKey(SCHEMA)) {
+            indexEntry(id, record);
+        } else {
+            String subject = record.get(SUBJECT) == null ? null : String.valueOf(record.get(SUBJECT));
+            indexVersion(subject, util.str2int(String.valueOf(record.get(VERSION))), id);
+        }
+    }
+
+    /**
+     * Version index of one subject: version to id, the reverse id to version and the latest version, so that
+     * an idempotent registration and a latest lookup never scan the versions.
+     */
+    private static final class SubjectVersions {
+        private final ConcurrentMap<Integer, Integer> versionToId = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, Integer> idToVersion = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile int latest;
+
+        Integer versionOf(int id) {
+            return idToVersion.get(id);
+        }
+
+        Integer idOf(int version) {
+            return versionToId.get(version);
+        }
+
+        int latest() {
+            return latest;
+        }
+
+        /** Assign the next version to {@code id}, or return its version if a concurrent call did it first. */
+        int assign(int id) {
+            lock.lock();
+            try {
+                Integer known = idToVersion.get(id);
+                if (known != null) {
+                    return known;
+                }
+                int version = latest + 1;
+                put(version, id);
+                return version;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Index a known version (boot or replay); the earliest version of an id answers idempotent checks. */
+        void put(int version, int id) {
+            lock.lock();
+            try {
+                versionToId.put(version, id);
+                idToVersion.merge(id, version, Math::min);
+                if (version > latest) {
+                    latest = version;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<String, Integer> toMap() {
+            Map<String, Integer> result = new HashMap<>();
+            versionToId.forEach((v, id) -> result.put(String.valueOf(v), id));
+            return result;
+        }
+    }
 }
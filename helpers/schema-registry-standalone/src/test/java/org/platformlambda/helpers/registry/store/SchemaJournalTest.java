@@ -0,0 +1,114 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.helpers.registry.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SchemaStore}'s journal mode: registrations are queued and appended to
+ * {@code journal.log}, compacted into {@code snapshot.json} on boot, and every subject/version
+ * round-trips a restart - including identical content under several subjects.
+ */
+class SchemaJournalTest {
+
+    private File dir;
+
+    @BeforeEach
+    void createDir() {
+        dir = new File("/tmp/schema-journal-test-" + Utility.getInstance().getUuid());
+        assertTrue(dir.mkdirs());
+    }
+
+    @AfterEach
+    void removeDir() {
+        Utility.getInstance().cleanupDir(dir);
+    }
+
+    @Test
+    void journaledRegistrationsSurviveRestart() {
+        SchemaStore store = new SchemaStore(dir.getPath(), true);
+        String shared = schema("shared");
+        int id1 = store.register("orders-value", shared, "JSON");
+        int id2 = store.register("orders-value", schema("orders-v2"), "JSON");
+        assertEquals(id1, store.register("audit-value", shared, "JSON"));
+        store.flushJournal();
+        // no per-id files in journal mode
+        assertFalse(new File(dir, id1 + ".json").exists());
+        assertTrue(new File(dir, "journal.log").exists());
+
+        SchemaStore restarted = new SchemaStore(dir.getPath(), true);
+        assertEquals(2, restarted.latestVersion("orders-value"));
+        assertEquals(id1, restarted.idForVersion("orders-value", 1));
+        assertEquals(id2, restarted.idForVersion("orders-value", 2));
+        assertEquals(id1, restarted.idForVersion("audit-value", 1));
+        assertEquals("JSON", restarted.get(id2).schemaType());
+        // the journal was compacted into the snapshot on boot
+        assertTrue(new File(dir, "snapshot.json").exists());
+        assertFalse(new File(dir, "journal.log").exists());
+        // ids keep counting from the restored state, and a known schema is still idempotent
+        assertEquals(id2, restarted.register("orders-value", schema("orders-v2"), "JSON"));
+        assertTrue(restarted.register("orders-value", schema("orders-v3"), "JSON") > id2);
+        assertEquals(3, restarted.latestVersion("orders-value"));
+    }
+
+    @Test
+    void unreadableJournalLineIsSkipped() throws Exception {
+        SchemaStore store = new SchemaStore(dir.getPath(), true);
+        int id = store.register("orders-value", schema("torn"), "AVRO");
+        store.flushJournal();
+        // simulate a crash in the middle of an append
+        Files.writeString(new File(dir, "journal.log").toPath(), "{\"id\": 9",
+                StandardOpenOption.APPEND);
+        SchemaStore restarted = new SchemaStore(dir.getPath(), true);
+        assertEquals(id, restarted.idForVersion("orders-value", 1));
+    }
+
+    @Test
+    void unreadableSnapshotStopsBootAndIsNotCompactedOver() throws Exception {
+        SchemaStore store = new SchemaStore(dir.getPath(), true);
+        store.register("orders-value", schema("kept"), "AVRO");
+        store.flushJournal();
+        new SchemaStore(dir.getPath(), true);
+        File snapshot = new File(dir, "snapshot.json");
+        String torn = Files.readString(snapshot.toPath());
+        torn = torn.substring(0, torn.length() / 2);
+        Files.writeString(snapshot.toPath(), torn);
+        assertThrows(IllegalStateException.class, () -> new SchemaStore(dir.getPath(), true));
+        // the damaged snapshot is left for repair instead of being replaced by an empty one
+        assertEquals(torn, Files.readString(snapshot.toPath()));
+    }
+
+    private static String schema(String tag) {
+        return SimpleMapper.getInstance().getCompactGson().toJson(Map.of("type", "record", "name", tag));
+    }
+}
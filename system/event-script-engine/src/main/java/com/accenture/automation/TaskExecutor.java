@@ -20,6 +20,7 @@ package com.accenture.automation;
 
 import com.accenture.models.*;
 import com.accenture.util.DataMappingHelper;
+import com.accenture.util.MappingContentCache;
 import com.accenture.models.SimpleFileDescriptor;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.annotations.PreLoad;
@@ -57,6 +58,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
     private static final String FIRST_TASK = "first_task";
     private static final String FLOW_ID = "flow_id";
     private static final String INSTANCE_ID = "instance_id";
+    private static final String ERROR_TASKS = "error_tasks";
     private static final String PARENT = "parent";
     private static final String ROOT = "root";
     private static final String STATE_MACHINE = "state_machine";
@@ -121,6 +123,22 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         maxModelArraySize = util.str2int(config.getProperty("max.model.array.size", "1000"));
     }
 
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @param correlationId of a task event that is in flight
+     * @return flow instance ID or null if the task is not in flight
+     */
+    public static String getFlowInstanceId(String correlationId) {
+        if (correlationId == null) {
+            return null;
+        }
+        int sep = correlationId.indexOf('#');
+        var ref = taskRefs.get(sep > 0? correlationId.substring(0, sep) : correlationId);
+        return ref == null? null : ref.flowInstanceId;
+    }
+
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope event, int instance) {
         String compositeInternalCorrelationId = event.getCorrelationId();
@@ -155,6 +173,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         String flowName = flowInstance.getFlow().id;
         if (headers.containsKey(TIMEOUT) && event.getBody() instanceof List) {
             log.warn("Flow {}:{} expired", flowName, flowInstance.id);
+            flowInstance.setReference(ERROR_TASKS, getPendingTasks(flowInstance));
             abortFlow(flowInstance, 408, "Flow timeout for "+ flowInstance.getTtl()+" ms",
                     flowInstance.getParentSpanId());
             return null;
@@ -247,6 +266,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
             executeTask(flowInstance, handler, parentSpanId, getTaskErrorMap(task.service, statusCode, event));
         } else {
             // when there are no task or flow exception handlers
+            flowInstance.setReference(ERROR_TASKS, addTaskNames(new ArrayList<>(), task));
             abortFlow(flowInstance, statusCode, event.getError(), parentSpanId);
         }
     }
@@ -388,6 +408,10 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
                             .setCorrelationId(flowInstance.internalCorrelationId);
                     var error = flowInstance.getReference(ERROR);
                     advice.setBody(error instanceof Map ? error : Map.of(TYPE, END));
+                    // the tasks whose failure or timeout ended the flow, if any
+                    if (flowInstance.getReference(ERROR_TASKS) instanceof List<?> tasks && !tasks.isEmpty()) {
+                        advice.setHeader(ERROR_TASKS, String.join(",", tasks.stream().map(String::valueOf).toList()));
+                    }
                     po.send(advice);
                 } else {
                     log.error("Unable to deliver end-of-flow advice because route '{}' does not exist", route);
@@ -396,6 +420,26 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         }
     }
 
+    private List<String> getPendingTasks(FlowInstance flowInstance) {
+        List<String> result = new ArrayList<>();
+        for (String uuid : flowInstance.metrics.keySet()) {
+            var ref = taskRefs.get(uuid);
+            var task = ref == null? null : flowInstance.getFlow().tasks.get(ref.processId());
+            if (task != null) {
+                addTaskNames(result, task);
+            }
+        }
+        return result;
+    }
+
+    private List<String> addTaskNames(List<String> names, Task task) {
+        names.add(task.service);
+        if (task.getFunctionRoute() != null && !task.service.equals(task.getFunctionRoute())) {
+            names.add(task.getFunctionRoute());
+        }
+        return names;
+    }
+
     private void handleCallback(String parentSpanId, TaskReference ref, String from, FlowInstance flowInstance, Task task, EventEnvelope event, int seq) {
         Map<String, Object> combined = new HashMap<>();
         combined.put(INPUT, flowInstance.dataset.get(INPUT));
@@ -452,13 +496,16 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         /*
          * Java virtual thread system is backed by multiple kernel threads.
          * Therefore, to ensure the state machine is updated in a thread safe manner,
-         * this block applies a thread-safety lock per flow instance.
+         * this block applies a thread-safety lock per flow instance. The lock is striped
+         * by the top-level model keys of the mapping so that parallel tasks updating
+         * different keys do not wait for each other.
          */
         var ancestor = flowInstance.resolveAncestor();
         var useParentModel = task.hasOutputParentRef() && !ancestor.id.equals(flowInstance.id);
-        flowInstance.modelSafety.lock();
+        var stripes = task.getOutputStripes();
+        flowInstance.modelSafety.lock(stripes);
         if (useParentModel) {
-            ancestor.modelSafety.lock();
+            ancestor.modelSafety.lock(ModelLock.EXCLUSIVE);
         }
         try {
             List<String> mapping = task.output;
@@ -470,9 +517,9 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
             }
         } finally {
             if (useParentModel) {
-                ancestor.modelSafety.unlock();
+                ancestor.modelSafety.unlock(ModelLock.EXCLUSIVE);
             }
-            flowInstance.modelSafety.unlock();
+            flowInstance.modelSafety.unlock(stripes);
         }
         // has output data mapping monitor?
         var monitor = task.getMonitorAfterTask();
@@ -623,6 +670,8 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
                         util.str2file(f, SimpleMapper.getInstance().getMapper().writeValueAsString(map), append);
                 default -> util.str2file(f, String.valueOf(value), append);
             }
+            // do not serve the previous content of the file to the next input data mapping
+            MappingContentCache.invalidateFile(f);
         }
     }
 
@@ -1067,13 +1116,16 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         /*
          * Java virtual thread system is backed by multiple kernel threads.
          * Therefore, to ensure the state machine is updated in a thread safe manner,
-         * this block applies a thread-safety lock per flow instance.
+         * this block applies a thread-safety lock per flow instance. The lock is striped
+         * by the top-level model keys of the mapping so that parallel tasks updating
+         * different keys do not wait for each other.
          */
         var ancestor = flowInstance.resolveAncestor();
         var useParentModel = task.hasInputParentRef() && !ancestor.id.equals(flowInstance.id);
-        flowInstance.modelSafety.lock();
+        var stripes = task.getInputStripes();
+        flowInstance.modelSafety.lock(stripes);
         if (useParentModel) {
-            ancestor.modelSafety.lock();
+            ancestor.modelSafety.lock(ModelLock.EXCLUSIVE);
         }
         try {
             List<String> mapping = task.input;
@@ -1085,9 +1137,9 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
             }
         } finally {
             if (useParentModel) {
-                ancestor.modelSafety.unlock();
+                ancestor.modelSafety.unlock(ModelLock.EXCLUSIVE);
             }
-            flowInstance.modelSafety.unlock();
+            flowInstance.modelSafety.unlock(stripes);
         }
         // has input data mapping monitor?
         var monitor = task.getMonitorBeforeTask();
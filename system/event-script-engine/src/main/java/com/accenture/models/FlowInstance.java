@@ -31,7 +31,6 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class FlowInstance {
     private static final Logger log = LoggerFactory.getLogger(FlowInstance.class);
@@ -57,7 +56,7 @@ public class FlowInstance {
     private final ConcurrentMap<String, Object> shared = new ConcurrentHashMap<>();
     private final long start = System.currentTimeMillis();
     private final ConcurrentMap<String, Object> references = new ConcurrentHashMap<>();
-    public final ReentrantLock modelSafety = new ReentrantLock();
+    public final ModelLock modelSafety = new ModelLock();
     private final AtomicBoolean topLevelException = new AtomicBoolean(false);
     private final AtomicBoolean responded = new AtomicBoolean(false);
     private final AtomicBoolean running = new AtomicBoolean(true);
@@ -95,8 +94,8 @@ public class FlowInstance {
         this.internalCorrelationId = internalCorrelationId;
         this.businessCorrelationId = businessCorrelationId;
         this.replyTo = replyTo;
-        // initialize the state machine
-        Map<String, Object> model = new HashMap<>();
+        // initialize the state machine - parallel tasks may add top-level keys concurrently
+        Map<String, Object> model = Collections.synchronizedMap(new HashMap<>());
         model.put(INSTANCE, id);
         model.put(CID_TAG, businessCorrelationId);
         model.put(TTL_TAG, ttl);
@@ -180,6 +179,22 @@ public class FlowInstance {
         setReference(END_FLOW_HOOK, new ArrayList<>(new HashSet<>(Arrays.asList(route))));
     }
 
+    /**
+     * Add a route to the end of flow listeners
+     *
+     * @param route - a composable function to be triggered
+     */
+    @SuppressWarnings("unchecked")
+    public void addEndFlowListener(String route) {
+        references.compute(END_FLOW_HOOK, (k, v) -> {
+            List<String> routes = v instanceof List? new ArrayList<>((List<String>) v) : new ArrayList<>();
+            if (!routes.contains(route)) {
+                routes.add(route);
+            }
+            return routes;
+        });
+    }
+
     @SuppressWarnings("unchecked")
     public List<String> getEndFlowListeners() {
         var routes = getReference(END_FLOW_HOOK);
@@ -0,0 +1,121 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.models;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Path-striped lock for the state machine of a flow instance.
+ * <p>
+ * A data mapping block that refers to the model only through "model.{key}" paths locks the stripes
+ * of its top-level keys, so parallel and fork-n-join branches that update disjoint keys do not
+ * contend with each other. A block that reads or writes the model as a whole, uses dynamic
+ * "{...}" substitution or refers to the parent model holds the lock exclusively. Each block is
+ * therefore atomic with respect to any other block that touches the same top-level key.
+ */
+public class ModelLock {
+    private static final int STRIPES = 64;
+    private static final String PARENT = "parent";
+    private static final String ROOT = "root";
+    // a key ends at a type suffix such as "model.x:int" and at an unspaced "->"
+    private static final Pattern MODEL_PATH =
+            Pattern.compile("\\bmodel\\b(\\.((?:[^.\\[\\]\\s,():>-]|-(?!>))+))?");
+    public static final int[] EXCLUSIVE = new int[0];
+    private final ReentrantReadWriteLock modelSafety = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public ModelLock() {
+        for (int i=0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Get the lock stripes for a list of data mapping entries
+     *
+     * @param entries of data mapping
+     * @param extraKeys optional model keys used by the task outside the entries
+     * @return sorted stripe numbers or EXCLUSIVE
+     */
+    public static int[] getStripes(List<String> entries, String... extraKeys) {
+        TreeSet<Integer> result = new TreeSet<>();
+        for (String entry : entries) {
+            if (!addStripes(entry, result)) {
+                return EXCLUSIVE;
+            }
+        }
+        for (String key : extraKeys) {
+            if (key != null && !addStripes(key, result)) {
+                return EXCLUSIVE;
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean addStripes(String text, TreeSet<Integer> result) {
+        if (text.contains("{")) {
+            return false;
+        }
+        Matcher matcher = MODEL_PATH.matcher(text);
+        while (matcher.find()) {
+            String key = matcher.group(2);
+            if (key == null || PARENT.equals(key) || ROOT.equals(key)) {
+                return false;
+            }
+            result.add(Math.floorMod(key.hashCode(), STRIPES));
+        }
+        return true;
+    }
+
+    /**
+     * Lock the model for a data mapping block
+     *
+     * @param keys stripe numbers from getStripes or EXCLUSIVE
+     */
+    public void lock(int[] keys) {
+        if (keys == EXCLUSIVE) {
+            modelSafety.writeLock().lock();
+        } else {
+            modelSafety.readLock().lock();
+            // stripes are sorted so that two blocks always acquire them in the same order
+            for (int k : keys) {
+                stripes[k].lock();
+            }
+        }
+    }
+
+    public void unlock(int[] keys) {
+        if (keys == EXCLUSIVE) {
+            modelSafety.writeLock().unlock();
+        } else {
+            for (int i=keys.length-1; i >= 0; i--) {
+                stripes[keys[i]].unlock();
+            }
+            modelSafety.readLock().unlock();
+        }
+    }
+}
@@ -49,6 +49,8 @@ public class Task {
     private String sourceModelKey = null;
     private String monitorBeforeTask = null;
     private String monitorAfterTask = null;
+    private volatile int[] inputStripes = null;
+    private volatile int[] outputStripes = null;
 
     /**
      * This is reserved for system use.
@@ -80,6 +82,32 @@ public class Task {
         this.outputParentRef = true;
     }
 
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @return model lock stripes for input data mapping
+     */
+    public int[] getInputStripes() {
+        if (inputStripes == null) {
+            inputStripes = inputParentRef? ModelLock.EXCLUSIVE : ModelLock.getStripes(input, sourceModelKey);
+        }
+        return inputStripes;
+    }
+
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @return model lock stripes for output data mapping
+     */
+    public int[] getOutputStripes() {
+        if (outputStripes == null) {
+            outputStripes = outputParentRef? ModelLock.EXCLUSIVE : ModelLock.getStripes(output);
+        }
+        return outputStripes;
+    }
+
     public String getFunctionRoute() {
         return this.functionRoute;
     }
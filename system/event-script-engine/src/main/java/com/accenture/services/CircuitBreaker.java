@@ -0,0 +1,293 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared circuit breaker for one downstream target of the resilience handler.
+ * <p>
+ * All flow instances in this application instance that name the same target share one breaker,
+ * so a failing dependency sheds load at once instead of being retried by each flow independently.
+ * <p>
+ * The breaker keeps a sliding window of one-second buckets counting admitted calls and failures.
+ * It opens when the failure rate over the window reaches the threshold, rejects calls while open,
+ * and then admits a single probe in the half-open state. A failed probe opens the breaker again.
+ * A probe that succeeds, or is not reported as failed within the open period, closes it.
+ * Permits granted before the breaker opened are dropped, so only the probe can close it.
+ * A flow instance that ends because the task named by the target failed or timed out counts as
+ * a failed call. Failures of other tasks in the flow do not.
+ * <p>
+ * When a maximum concurrency is given, an AIMD limit bounds the number of flow instances holding a
+ * permit. The limit grows by 1/limit on each success and halves on each failure. A permit is held
+ * from admission until the protected task fails or the flow instance ends.
+ * <p>
+ * The number of breakers is bounded. The least recently used breaker is dropped when the limit is reached.
+ */
+final class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final int MAX_BREAKERS = 1000;
+    private static final ReentrantLock registryLock = new ReentrantLock();
+    private static final Map<String, CircuitBreaker> breakers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CircuitBreaker> eldest) {
+            return size() > MAX_BREAKERS;
+        }
+    };
+    private static final double DECREASE_FACTOR = 0.5;
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Long> permits = new HashMap<>();
+    private final String target;
+    private final int failureRate;
+    private final int minimumCalls;
+    private final long openMs;
+    private final int maxConcurrency;
+    private final long[] bucketSecond;
+    private final int[] calls;
+    private final int[] failures;
+    private State state = State.CLOSED;
+    private long openUntil = 0;
+    private long probeUntil = 0;
+    private String probeInstance;
+    private double limit;
+
+    private CircuitBreaker(String target, Settings settings) {
+        this.target = target;
+        this.failureRate = settings.failureRate;
+        this.minimumCalls = settings.minimumCalls;
+        this.openMs = settings.openSeconds * 1000L;
+        this.maxConcurrency = settings.maxConcurrency;
+        this.bucketSecond = new long[settings.windowSeconds];
+        this.calls = new int[settings.windowSeconds];
+        this.failures = new int[settings.windowSeconds];
+        this.limit = settings.maxConcurrency;
+    }
+
+    /**
+     * Get the shared breaker of a target, creating it with the given settings on first use
+     *
+     * @param target name of the downstream service
+     * @param settings used only when the breaker is created
+     * @return circuit breaker
+     */
+    static CircuitBreaker getInstance(String target, Settings settings) {
+        registryLock.lock();
+        try {
+            return breakers.computeIfAbsent(target, k -> new CircuitBreaker(k, settings));
+        } finally {
+            registryLock.unlock();
+        }
+    }
+
+    /**
+     * Release the permits held by a flow instance that has ended
+     *
+     * @param instanceId of the flow instance
+     * @param failedTasks task names and function routes whose failure or timeout ended the flow instance
+     */
+    static void release(String instanceId, Collection<String> failedTasks) {
+        List<CircuitBreaker> current;
+        registryLock.lock();
+        try {
+            current = new ArrayList<>(breakers.values());
+        } finally {
+            registryLock.unlock();
+        }
+        for (CircuitBreaker breaker : current) {
+            breaker.onEnd(instanceId, !failedTasks.contains(breaker.target));
+        }
+    }
+
+    State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ask for permission to call the target
+     *
+     * @param instanceId of the flow instance or null if the call cannot be tracked
+     * @param lease maximum time in milliseconds to hold the permit
+     * @return null if admitted, otherwise the reason for rejection
+     */
+    String tryAcquire(String instanceId, long lease) {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            if (state == State.OPEN) {
+                if (now < openUntil) {
+                    long diff = Math.max(1, (openUntil - now) / 1000);
+                    return "Service " + target + " temporarily not available - please try again in " +
+                            diff + (diff == 1? " second" : " seconds");
+                }
+                state = State.HALF_OPEN;
+                probeUntil = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeUntil == 0) {
+                    probeUntil = now + openMs;
+                    probeInstance = instanceId;
+                    admit(now, instanceId, lease);
+                    return null;
+                }
+                if (now < probeUntil) {
+                    return "Service " + target + " is recovering - please try again later";
+                }
+                // the probe has not been reported as failed within the open period
+                close();
+            }
+            if (maxConcurrency > 0 && instanceId != null && !permits.containsKey(instanceId)) {
+                permits.values().removeIf(expiry -> expiry < now);
+                if (permits.size() >= Math.max(1, (int) limit)) {
+                    return "Service " + target + " is busy - please try again later";
+                }
+            }
+            admit(now, instanceId, lease);
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Report a failed call
+     *
+     * @param instanceId of the flow instance or null if the call is not tracked
+     */
+    void onFailure(String instanceId) {
+        lock.lock();
+        try {
+            if (instanceId != null) {
+                permits.remove(instanceId);
+            }
+            long now = System.currentTimeMillis();
+            if (state == State.HALF_OPEN) {
+                open(now);
+            } else if (state == State.CLOSED) {
+                record(now, false);
+                if (maxConcurrency > 0) {
+                    limit = Math.max(1.0, limit * DECREASE_FACTOR);
+                }
+                int totalCalls = 0;
+                int totalFailures = 0;
+                long second = now / 1000;
+                for (int i=0; i < calls.length; i++) {
+                    if (second - bucketSecond[i] < calls.length) {
+                        totalCalls += calls[i];
+                        totalFailures += failures[i];
+                    }
+                }
+                if (totalCalls >= minimumCalls && totalFailures * 100L >= (long) failureRate * totalCalls) {
+                    open(now);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onEnd(String instanceId, boolean success) {
+        lock.lock();
+        try {
+            if (permits.containsKey(instanceId)) {
+                if (success) {
+                    onSuccess(instanceId);
+                } else {
+                    onFailure(instanceId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(String instanceId) {
+        permits.remove(instanceId);
+        if (state == State.HALF_OPEN) {
+            // only the probe can close the breaker
+            if (instanceId.equals(probeInstance)) {
+                close();
+            }
+        } else if (state == State.CLOSED && maxConcurrency > 0) {
+            limit = Math.min(maxConcurrency, limit + 1.0 / limit);
+        }
+    }
+
+    private void admit(long now, String instanceId, long lease) {
+        record(now, true);
+        if (instanceId != null) {
+            permits.put(instanceId, now + lease);
+        }
+    }
+
+    private void record(long now, boolean call) {
+        long second = now / 1000;
+        int idx = (int) (second % calls.length);
+        if (bucketSecond[idx] != second) {
+            bucketSecond[idx] = second;
+            calls[idx] = 0;
+            failures[idx] = 0;
+        }
+        if (call) {
+            calls[idx]++;
+        } else {
+            failures[idx]++;
+        }
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openUntil = now + openMs;
+        probeUntil = 0;
+        probeInstance = null;
+        // calls admitted before the breaker opened must not be mistaken for the probe
+        permits.clear();
+        log.warn("Circuit breaker for {} is open for {} ms", target, openMs);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeUntil = 0;
+        probeInstance = null;
+        for (int i=0; i < calls.length; i++) {
+            bucketSecond[i] = 0;
+            calls[i] = 0;
+            failures[i] = 0;
+        }
+        log.info("Circuit breaker for {} is closed", target);
+    }
+
+    record Settings(int failureRate, int minimumCalls, int windowSeconds, int openSeconds, int maxConcurrency) { }
+}
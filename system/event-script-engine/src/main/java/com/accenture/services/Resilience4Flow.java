@@ -18,6 +18,8 @@
 
 package com.accenture.services;
 
+import com.accenture.automation.TaskExecutor;
+import com.accenture.models.Flows;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.models.EventEnvelope;
@@ -51,6 +53,18 @@ import static org.platformlambda.core.util.common.PlatformConstants.ENV_INSTANCE
  *                     During this period, It will abort without updating attempt.
  *                     This avoids overwhelming the target service that may result in a recovery storm.
  * <p>
+ * Optional shared circuit breaker:
+ * 'breaker' - name of the downstream target. Flow instances that use the same name share one breaker.
+ * 'failure_rate' - percentage of failed calls in the window that opens the breaker (default 50)
+ * 'minimum_calls' - minimum number of calls in the window before the failure rate is evaluated (default 10)
+ * 'window_seconds' - size of the sliding window (default 10)
+ * 'open_seconds' - how long the breaker stays open before a single probe is admitted (default 5)
+ * 'max_concurrency' - optional upper bound of an adaptive (AIMD) limit on concurrent calls
+ * The settings are taken from the first call that names the target. When the target is the name or
+ * route of the protected task, a flow instance that ends because that task failed or timed out counts
+ * as a failed call.
+ * While the breaker rejects a call, the handler aborts with status 503.
+ * <p>
  * Return value (output data mapping):
  * 'result.attempt' - the handler will clear or increment this counter
  * 'result.cumulative' - the handler will clear or increment this counter.
@@ -89,16 +103,35 @@ public class Resilience4Flow implements TypedLambdaFunction<EventEnvelope, Void>
     private static final String BACKOFF_TRIGGER = "backoff_trigger";
     private static final String BACKOFF_SECONDS = "backoff_seconds";
     private static final String DECISION = "decision";
+    private static final String BREAKER = "breaker";
+    private static final String FAILURE_RATE = "failure_rate";
+    private static final String MINIMUM_CALLS = "minimum_calls";
+    private static final String WINDOW_SECONDS = "window_seconds";
+    private static final String OPEN_SECONDS = "open_seconds";
+    private static final String MAX_CONCURRENCY = "max_concurrency";
+    private static final String TYPE = "type";
+    private static final String END = "end";
+    private static final String ERROR_TASKS = "error_tasks";
+    private static final String INSTANCE_ID = "instance_id";
 
     @SuppressWarnings("unchecked")
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope event, int instance) throws InterruptedException {
+        if (END.equals(headers.get(TYPE)) && headers.containsKey(INSTANCE_ID)) {
+            // end-of-flow advice - the flow instance no longer holds a permit of any circuit breaker.
+            // It counts as a failure only for the breaker named after the task that failed or timed out.
+            var failedTasks = util.split(headers.getOrDefault(ERROR_TASKS, ""), ",");
+            CircuitBreaker.release(headers.get(INSTANCE_ID), failedTasks);
+            return null;
+        }
         if (event.getRawBody() instanceof Map && event.getReplyTo() != null && event.getCorrelationId() != null) {
             PostOffice po = new PostOffice(headers, instance);
             Map<String, Object> input = (Map<String, Object>) event.getRawBody();
             var cumulative = new AtomicInteger(Math.max(0,
                                     util.str2int(String.valueOf(input.getOrDefault(CUMULATIVE, 0)))));
             Map<String, Object> result = new HashMap<>();
+            var breaker = getBreaker(input);
+            var flowInstanceId = breaker == null? null : TaskExecutor.getFlowInstanceId(event.getCorrelationId());
             // Still in the backoff period?
             if (input.containsKey(BACKOFF) && handleBackoff(po, event, input, result, cumulative)) {
                 return null;
@@ -108,11 +141,18 @@ public class Resilience4Flow implements TypedLambdaFunction<EventEnvelope, Void>
             // When backoff feature is used, you must put the resilient handler as a gatekeeper to the user function.
             // If status code is 200, it should execute the user function immediately.
             if (status == 200) {
+                if (breaker != null && rejectedByBreaker(breaker, flowInstanceId, result)) {
+                    sendResult(po, event.getReplyTo(), event.getCorrelationId(), result, 0);
+                    return null;
+                }
                 result.put(DECISION, 1);
                 result.put(CUMULATIVE, cumulative.get());
                 sendResult(po, event.getReplyTo(), event.getCorrelationId(), result, 0);
                 return null;
             }
+            if (breaker != null) {
+                breaker.onFailure(flowInstanceId);
+            }
             // Needs to trigger backoff?
             if (input.containsKey(BACKOFF_TRIGGER) && input.containsKey(BACKOFF_SECONDS) &&
                                                     triggerBackoff(po, event, input, result, cumulative)) {
@@ -128,6 +168,11 @@ public class Resilience4Flow implements TypedLambdaFunction<EventEnvelope, Void>
             result.put(ATTEMPT, attemptCount);
             result.put(CUMULATIVE, cumulative.get());
             updateResult(routing, result, status, input, attemptCount, maxAttempt, delay);
+            // a retry calls the target again so it must be admitted by the breaker
+            if (breaker != null && Integer.valueOf(1).equals(result.get(DECISION)) &&
+                    rejectedByBreaker(breaker, flowInstanceId, result)) {
+                delay.set(0);
+            }
             sendResult(po, event.getReplyTo(), event.getCorrelationId(), result, delay.get());
         }
         return null;
@@ -156,6 +201,42 @@ public class Resilience4Flow implements TypedLambdaFunction<EventEnvelope, Void>
         }
     }
 
+    private CircuitBreaker getBreaker(Map<String, Object> input) {
+        if (input.get(BREAKER) instanceof String target && !target.isEmpty()) {
+            var settings = new CircuitBreaker.Settings(
+                    getSetting(input, FAILURE_RATE, 50, 100),
+                    getSetting(input, MINIMUM_CALLS, 10, Integer.MAX_VALUE),
+                    getSetting(input, WINDOW_SECONDS, 10, 3600),
+                    getSetting(input, OPEN_SECONDS, 5, 3600),
+                    input.containsKey(MAX_CONCURRENCY)?
+                            getSetting(input, MAX_CONCURRENCY, 0, Integer.MAX_VALUE) : 0);
+            return CircuitBreaker.getInstance(target, settings);
+        }
+        return null;
+    }
+
+    private int getSetting(Map<String, Object> input, String key, int defaultValue, int maxValue) {
+        int value = util.str2int(String.valueOf(input.getOrDefault(key, defaultValue)));
+        return Math.min(maxValue, Math.max(1, value));
+    }
+
+    private boolean rejectedByBreaker(CircuitBreaker breaker, String flowInstanceId, Map<String, Object> result) {
+        var flowInstance = flowInstanceId == null? null : Flows.getFlowInstance(flowInstanceId);
+        // a permit is tracked only when the flow instance can tell the handler that it has ended
+        var trackedId = flowInstance == null? null : flowInstanceId;
+        var rejection = breaker.tryAcquire(trackedId, flowInstance == null? 0 : flowInstance.getTtl());
+        if (rejection == null) {
+            if (flowInstance != null) {
+                flowInstance.addEndFlowListener(ROUTE);
+            }
+            return false;
+        }
+        result.put(DECISION, 2);
+        result.put(STATUS, 503);
+        result.put(MESSAGE, rejection);
+        return true;
+    }
+
     private boolean triggerBackoff(PostOffice po, EventEnvelope event, Map<String, Object> input,
                                    Map<String, Object> result, AtomicInteger cumulative) {
         long now = System.currentTimeMillis();
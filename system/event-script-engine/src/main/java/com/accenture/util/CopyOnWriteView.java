@@ -0,0 +1,245 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package com.accenture.util;
+
+import java.util.*;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Mutable view of an unmodifiable map or list snapshot that copies on write.
+ * <p>
+ * Reading a view does not copy anything. The first write to a map or list copies that level only,
+ * together with its parents, so the snapshot is never changed and the other views of the same
+ * snapshot do not see the update. A view is not thread-safe, like the HashMap it replaces.
+ */
+final class CopyOnWriteView {
+
+    private CopyOnWriteView() {
+        // static utility
+    }
+
+    /**
+     * Create a view of a snapshot
+     *
+     * @param snapshot of unmodifiable maps and lists
+     * @return view for a map or list, otherwise the value itself
+     */
+    static Object of(Object snapshot) {
+        return wrap(snapshot, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrap(Object value, Level parent) {
+        return switch (value) {
+            case Map<?, ?> map -> new MapView((Map<String, Object>) map, parent);
+            case List<?> list -> new ListView((List<Object>) list, parent);
+            case null, default -> value;
+        };
+    }
+
+    private static boolean isNested(Object value) {
+        return value instanceof Map || value instanceof List;
+    }
+
+    private interface Level {
+        /**
+         * Replace the snapshot of this level with a private copy before the first write
+         */
+        void materialize();
+    }
+
+    private static final class MapView extends AbstractMap<String, Object> implements Level {
+        private final Map<String, Object> source;
+        private final Level parent;
+        // views of nested snapshots handed out before the first write, so that a later write is kept
+        private Map<String, Object> views;
+        private Map<String, Object> own;
+
+        private MapView(Map<String, Object> source, Level parent) {
+            this.source = source;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return own != null? own.get(key) : viewOf(key, source.get(key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return own != null? own.containsKey(key) : source.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return own != null? own.size() : source.size();
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            materialize();
+            return own.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            materialize();
+            return own.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            materialize();
+            own.clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (own != null) {
+                return own.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return MapView.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<String> keys = source.keySet().iterator();
+                    return new Iterator<>() {
+                        private String last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            last = keys.next();
+                            return new SimpleImmutableEntry<>(last, get(last));
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) {
+                                throw new IllegalStateException();
+                            }
+                            MapView.this.remove(last);
+                            last = null;
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public void materialize() {
+            if (own == null) {
+                Map<String, Object> copy = new LinkedHashMap<>();
+                source.forEach((k, v) -> copy.put(k, viewOf(k, v)));
+                own = copy;
+                views = null;
+                if (parent != null) {
+                    parent.materialize();
+                }
+            }
+        }
+
+        private Object viewOf(Object key, Object value) {
+            if (!isNested(value)) {
+                return value;
+            }
+            if (views == null) {
+                views = new HashMap<>();
+            }
+            return views.computeIfAbsent(String.valueOf(key), k -> wrap(value, this));
+        }
+    }
+
+    private static final class ListView extends AbstractList<Object> implements Level, RandomAccess {
+        private final List<Object> source;
+        private final Level parent;
+        // views of nested snapshots handed out before the first write, so that a later write is kept
+        private Map<Integer, Object> views;
+        private List<Object> own;
+
+        private ListView(List<Object> source, Level parent) {
+            this.source = source;
+            this.parent = parent;
+        }
+
+        @Override
+        public Object get(int index) {
+            return own != null? own.get(index) : viewOf(index, source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return own != null? own.size() : source.size();
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            materialize();
+            return own.set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            materialize();
+            own.add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            materialize();
+            modCount++;
+            return own.remove(index);
+        }
+
+        @Override
+        public void materialize() {
+            if (own == null) {
+                List<Object> copy = new ArrayList<>(source.size());
+                for (int i=0; i < source.size(); i++) {
+                    copy.add(viewOf(i, source.get(i)));
+                }
+                own = copy;
+                views = null;
+                if (parent != null) {
+                    parent.materialize();
+                }
+            }
+        }
+
+        private Object viewOf(int index, Object value) {
+            if (!isNested(value)) {
+                return value;
+            }
+            if (views == null) {
+                views = new HashMap<>();
+            }
+            return views.computeIfAbsent(index, k -> wrap(value, this));
+        }
+    }
+}
@@ -29,8 +29,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Intentional singleton
@@ -84,6 +85,9 @@ public class DataMappingHelper {
     private static final String LENGTH_SUFFIX = "length";
     private static final String NEGATE_SUFFIX = "!";
     private static final String TRUE = "true";
+    private static final String[] FOLDABLE_TYPES = {TEXT_TYPE, INTEGER_TYPE, LONG_TYPE, FLOAT_TYPE, DOUBLE_TYPE,
+                                                    BOOLEAN_TYPE};
+    private static final ConcurrentMap<String, PluginCall> compiledPlugins = new ConcurrentHashMap<>();
     private static final DataMappingHelper INSTANCE = new DataMappingHelper();
 
     private enum OPERATION {
@@ -126,10 +130,11 @@ public class DataMappingHelper {
 
     private boolean isValidPluggableFunction(String lhs) {
         if (lhs.endsWith(")")) {
-            var bracketStart = lhs.indexOf("(");
-            if (bracketStart > 0) {
-                var pluginName = lhs.substring(SIMPLE_PLUGIN_PREFIX.length(), bracketStart).trim();
-                return SimplePluginLoader.containsSimplePlugin(pluginName);
+            try {
+                // compile once when the flow is loaded so that evaluation does not parse the text again
+                return getCompiledPlugin(lhs) != null;
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid SimplePlugin expression '{}' - {}", lhs, e.getMessage());
             }
         }
         return false;
@@ -307,18 +312,22 @@ public class DataMappingHelper {
         SimpleFileDescriptor fd = new SimpleFileDescriptor(lhs);
         File f = new File(fd.fileName);
         if (f.exists() && !f.isDirectory() && f.canRead()) {
-            if (fd.mode == SimpleFileDescriptor.FILE_MODE.TEXT) {
-                return util.file2str(f);
-            } else if (fd.mode == SimpleFileDescriptor.FILE_MODE.JSON) {
-                return getJsonFileContent(lhs, util.file2str(f));
-            } else {
-                return util.file2bytes(f);
-            }
+            return MappingContentCache.getFile(fd.mode.name(), f, b -> decodeContent(lhs, fd.mode, b));
         } else {
             return null;
         }
     }
 
+    private Object decodeContent(String lhs, SimpleFileDescriptor.FILE_MODE mode, byte[] b) {
+        if (mode == SimpleFileDescriptor.FILE_MODE.TEXT) {
+            return util.getUTF(b);
+        } else if (mode == SimpleFileDescriptor.FILE_MODE.JSON) {
+            return getJsonFileContent(lhs, util.getUTF(b));
+        } else {
+            return b;
+        }
+    }
+
     private Object getJsonFileContent(String lhs, String content) {
         var mapper = SimpleMapper.getInstance().getMapper();
         try {
@@ -337,18 +346,7 @@ public class DataMappingHelper {
 
     private Object getConstantClassPathValue(String lhs) {
         SimpleFileDescriptor fd = new SimpleFileDescriptor(lhs);
-        InputStream in = this.getClass().getResourceAsStream(fd.fileName);
-        if (in != null) {
-            if (fd.mode == SimpleFileDescriptor.FILE_MODE.TEXT) {
-                return util.stream2str(in);
-            } else if (fd.mode == SimpleFileDescriptor.FILE_MODE.JSON) {
-                return getJsonFileContent(lhs, util.stream2str(in));
-            } else {
-                return util.stream2bytes(in);
-            }
-        } else {
-            return null;
-        }
+        return MappingContentCache.getClassPath(fd.mode.name(), fd.fileName, b -> decodeContent(lhs, fd.mode, b));
     }
 
     private int getModelTypeIndex(String text) {
@@ -359,27 +357,79 @@ public class DataMappingHelper {
         }
     }
 
-    private Object getValueFromSimplePlugin(String selector, MultiLevelMap source){
-        int prefix = selector.indexOf(SIMPLE_PLUGIN_PREFIX);
-        int startParen = selector.indexOf("(");
-        int endParen = selector.lastIndexOf(")");
-        if (prefix >= 0 && startParen > 0 && endParen > 0) {
-            String pluginName = selector.substring(prefix+2, startParen);
-            String pluginParams = selector.substring(startParen+1, endParen);
-            List<String> params = splitTopLevelArguments(pluginParams);
-            // ignore nested plugin to avoid execution loop
-            Object[] input = params.stream()
-                    .map(String::trim)
-                    .map(lhs -> isPluggableFunction(lhs)? null : getLhsOrConstant(lhs, source))
-                    .toArray();
-            PluginFunction plugin = SimplePluginLoader.getSimplePluginByName(pluginName);
-            if (plugin == null) {
-                log.error("SimplePlugin '{}' not found", pluginName);
-                throw new IllegalArgumentException("Unable to process SimplePlugin: " + selector);
+    private Object getValueFromSimplePlugin(String selector, MultiLevelMap source) {
+        PluginCall call = getCompiledPlugin(selector);
+        return call == null? null : call.evaluate(source);
+    }
+
+    private PluginCall getCompiledPlugin(String selector) {
+        PluginCall call = compiledPlugins.get(selector);
+        if (call == null) {
+            call = compilePlugin(selector);
+            if (call != null) {
+                compiledPlugins.put(selector, call);
             }
-            return plugin.calculate(input);
         }
-        return null;
+        return call;
+    }
+
+    /**
+     * Compile a simple plugin expression into a tree of plugin calls and argument accessors.
+     * <p>
+     * Plugin functions are resolved once, literal constants are evaluated once and
+     * an argument that is itself a plugin expression is compiled recursively.
+     *
+     * @param selector such as "f:add(model.a, f:multiply(model.b, int(2)))"
+     * @return compiled plugin call or null if the expression is not a plugin call
+     * @throws IllegalArgumentException if a plugin is not found
+     */
+    private PluginCall compilePlugin(String selector) {
+        int startParen = selector.indexOf('(');
+        int endParen = selector.lastIndexOf(')');
+        if (!isPluggableFunction(selector) || startParen < 0 || endParen < startParen) {
+            return null;
+        }
+        String pluginName = selector.substring(SIMPLE_PLUGIN_PREFIX.length(), startParen).trim();
+        PluginFunction plugin = SimplePluginLoader.getSimplePluginByName(pluginName);
+        if (plugin == null) {
+            log.error("SimplePlugin '{}' not found", pluginName);
+            throw new IllegalArgumentException("Unable to process SimplePlugin: " + selector);
+        }
+        List<String> params = splitTopLevelArguments(selector.substring(startParen+1, endParen));
+        PluginArgument[] arguments = new PluginArgument[params.size()];
+        for (int i=0; i < arguments.length; i++) {
+            arguments[i] = compileArgument(params.get(i).trim());
+        }
+        return new PluginCall(plugin, arguments);
+    }
+
+    private PluginArgument compileArgument(String lhs) {
+        if (isPluggableFunction(lhs)) {
+            PluginCall nested = compilePlugin(lhs);
+            if (nested == null) {
+                throw new IllegalArgumentException("Invalid nested SimplePlugin: " + lhs);
+            }
+            return nested;
+        }
+        for (String type: FOLDABLE_TYPES) {
+            if (lhs.startsWith(type)) {
+                Object constant = getConstantValue(lhs);
+                if (constant != null) {
+                    return new ConstantArgument(constant);
+                }
+            }
+        }
+        // map, file and classpath constants return mutable or external content, so they are read per call
+        if ((lhs.startsWith(MAP_TYPE) || lhs.startsWith(FILE_TYPE) || lhs.startsWith(CLASSPATH_TYPE)) &&
+                lhs.lastIndexOf(CLOSE_BRACKET) > 0) {
+            return new ConstantReference(lhs);
+        }
+        if (lhs.startsWith(JSON_PATH_TYPE)) {
+            return new ModelArgument(lhs, lhs, null);
+        }
+        int colon = getModelTypeIndex(lhs);
+        return colon == -1? new ModelArgument(lhs, lhs, null) :
+                new ModelArgument(lhs, lhs.substring(0, colon).trim(), lhs.substring(colon+1).trim());
     }
 
     /**
@@ -614,4 +664,41 @@ public class DataMappingHelper {
             this.command = command;
         }
     }
+
+    private sealed interface PluginArgument permits PluginCall, ConstantArgument, ConstantReference, ModelArgument {
+        Object evaluate(MultiLevelMap source);
+    }
+
+    private record PluginCall(PluginFunction plugin, PluginArgument[] arguments) implements PluginArgument {
+        @Override
+        public Object evaluate(MultiLevelMap source) {
+            Object[] input = new Object[arguments.length];
+            for (int i=0; i < input.length; i++) {
+                input[i] = arguments[i].evaluate(source);
+            }
+            return plugin.calculate(input);
+        }
+    }
+
+    private record ConstantArgument(Object value) implements PluginArgument {
+        @Override
+        public Object evaluate(MultiLevelMap source) {
+            return value;
+        }
+    }
+
+    private record ConstantReference(String lhs) implements PluginArgument {
+        @Override
+        public Object evaluate(MultiLevelMap source) {
+            return INSTANCE.getConstantValue(lhs);
+        }
+    }
+
+    private record ModelArgument(String lhs, String selector, String type) implements PluginArgument {
+        @Override
+        public Object evaluate(MultiLevelMap source) {
+            Object value = source.getElement(selector);
+            return type == null? value : INSTANCE.getValueByType(type, value, "LHS '"+lhs+"'", source);
+        }
+    }
 }
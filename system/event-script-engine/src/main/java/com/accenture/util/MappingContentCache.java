@@ -0,0 +1,197 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package com.accenture.util;
+
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Bounded cache for the content of file(...) and classpath(...) constants in data mapping.
+ * <p>
+ * Entries are keyed by source, mode and path. A classpath resource does not change at run time,
+ * so its entry is kept until it is evicted. A file entry records the last modified time and size
+ * of the file and is reloaded when either changes. The event script engine also invalidates the
+ * entry when a task output mapping writes to the file.
+ * <p>
+ * Parsed JSON is kept as an unmodifiable snapshot and each caller receives a copy-on-write view of
+ * it, so a task that updates the mapped value cannot change what the next task reads, and a task
+ * that only reads it copies nothing. Binary content is returned as a copy for the same reason.
+ * <p>
+ * The number of entries is set with "mapping.content.cache.size" (default 200, 0 to disable) and
+ * content larger than "mapping.content.cache.max.bytes" (default 1 MB) is not cached.
+ */
+public class MappingContentCache {
+    private static final int DEFAULT_SIZE = 200;
+    private static final long DEFAULT_MAX_BYTES = 1024 * 1024L;
+    private static final String FILE_PREFIX = "file:";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final int maxEntries;
+    private static final long maxBytes;
+    private static final LinkedHashMap<String, CachedContent> cache;
+
+    static {
+        AppConfigReader config = AppConfigReader.getInstance();
+        Utility util = Utility.getInstance();
+        maxEntries = Math.max(0, util.str2int(config.getProperty("mapping.content.cache.size",
+                                                String.valueOf(DEFAULT_SIZE))));
+        maxBytes = Math.max(0, util.str2long(config.getProperty("mapping.content.cache.max.bytes",
+                                                String.valueOf(DEFAULT_MAX_BYTES))));
+        // access order so that the least recently used entry is evicted first
+        cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private MappingContentCache() {
+        // static utility
+    }
+
+    /**
+     * Get the content of a file, loading it when the file is new or has changed
+     *
+     * @param mode of the file content (text, json or binary)
+     * @param file to read
+     * @param decoder that converts the file content into the mapped value
+     * @return content or null if the file cannot be read
+     */
+    static Object getFile(String mode, File file, Function<byte[], Object> decoder) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        long modified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        long size = attributes.size();
+        String key = FILE_PREFIX + mode + ":" + file.getPath();
+        CachedContent cached = lookup(key);
+        if (cached != null && cached.modified == modified && cached.size == size) {
+            return viewOf(cached.value);
+        }
+        byte[] content = Utility.getInstance().file2bytes(file);
+        Object value = decoder.apply(content);
+        store(key, new CachedContent(snapshotOf(value), modified, size), content.length);
+        return value;
+    }
+
+    /**
+     * Get the content of a classpath resource
+     *
+     * @param mode of the resource content (text, json or binary)
+     * @param path of the resource
+     * @param decoder that converts the resource content into the mapped value
+     * @return content or null if the resource is not found
+     */
+    static Object getClassPath(String mode, String path, Function<byte[], Object> decoder) {
+        String key = CLASSPATH_PREFIX + mode + ":" + path;
+        CachedContent cached = lookup(key);
+        if (cached != null) {
+            return viewOf(cached.value);
+        }
+        InputStream in = MappingContentCache.class.getResourceAsStream(path);
+        if (in == null) {
+            // a missing resource is not cached so that the lookup stays the same as before
+            return null;
+        }
+        byte[] content = Utility.getInstance().stream2bytes(in);
+        Object value = decoder.apply(content);
+        store(key, new CachedContent(snapshotOf(value), -1, -1), content.length);
+        return value;
+    }
+
+    /**
+     * Remove all cached content of a file after it has been updated
+     *
+     * @param file that has been written or deleted
+     */
+    public static void invalidateFile(File file) {
+        if (maxEntries > 0) {
+            String suffix = ":" + file.getPath();
+            lock.lock();
+            try {
+                cache.keySet().removeIf(k -> k.startsWith(FILE_PREFIX) && k.endsWith(suffix));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static CachedContent lookup(String key) {
+        if (maxEntries == 0) {
+            return null;
+        }
+        lock.lock();
+        try {
+            return cache.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void store(String key, CachedContent content, long size) {
+        if (maxEntries == 0 || content.value == null || size > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            cache.put(key, content);
+            Iterator<String> keys = cache.keySet().iterator();
+            while (cache.size() > maxEntries && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Object snapshotOf(Object value) {
+        return switch (value) {
+            case Map<?, ?> map -> {
+                Map<String, Object> result = new LinkedHashMap<>();
+                map.forEach((k, v) -> result.put(String.valueOf(k), snapshotOf(v)));
+                yield Collections.unmodifiableMap(result);
+            }
+            case List<?> list -> {
+                List<Object> result = new ArrayList<>(list.size());
+                list.forEach(v -> result.add(snapshotOf(v)));
+                yield Collections.unmodifiableList(result);
+            }
+            case byte[] b -> b.clone();
+            case null, default -> value;
+        };
+    }
+
+    private static Object viewOf(Object value) {
+        return value instanceof byte[] b? b.clone() : CopyOnWriteView.of(value);
+    }
+
+    private record CachedContent(Object value, long modified, long size) { }
+}
@@ -841,6 +841,47 @@ class FlowTests extends TestBase {
         assertEquals(Map.of("path", "alternative"), output2);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void sharedCircuitBreakerTest() throws ExecutionException, InterruptedException {
+        final long timeout = 8000;
+        final String target = "breaker.test." + Utility.getInstance().getUuid();
+        PostOffice po = new PostOffice("unit.test", "100103", "TEST /resilience/breaker");
+        Map<String, Object> settings = Map.of("breaker", target, "minimum_calls", 2, "open_seconds", 1);
+        // gatekeeper call is admitted
+        Map<String, Object> gatekeeper = new HashMap<>(settings);
+        EventEnvelope result1 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(gatekeeper), timeout).get();
+        assertEquals(1, ((Map<String, Object>) result1.getBody()).get("decision"));
+        // first failure is retried - the breaker does not have enough calls yet
+        Map<String, Object> failure = new HashMap<>(settings);
+        failure.put("status", 500);
+        failure.put("message", "simulated failure");
+        failure.put("max_attempts", 5);
+        EventEnvelope result2 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(failure), timeout).get();
+        assertEquals(1, ((Map<String, Object>) result2.getBody()).get("decision"));
+        // second failure opens the shared breaker so the retry is rejected
+        failure.put("attempt", 1);
+        EventEnvelope result3 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(failure), timeout).get();
+        Map<String, Object> output3 = (Map<String, Object>) result3.getBody();
+        assertEquals(2, output3.get("decision"));
+        assertEquals(503, output3.get("status"));
+        // any other caller of the same target is rejected while the breaker is open
+        EventEnvelope result4 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(gatekeeper), timeout).get();
+        assertEquals(503, ((Map<String, Object>) result4.getBody()).get("status"));
+        // after the open period, a single probe is admitted
+        Thread.sleep(1100);
+        EventEnvelope result5 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(gatekeeper), timeout).get();
+        assertEquals(1, ((Map<String, Object>) result5.getBody()).get("decision"));
+        EventEnvelope result6 = po.request(new EventEnvelope().setTo("resilience.handler")
+                                            .setBody(gatekeeper), timeout).get();
+        assertEquals(503, ((Map<String, Object>) result6.getBody()).get("status"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void greetingTest() throws InterruptedException {
@@ -1977,6 +2018,10 @@ class FlowTests extends TestBase {
         assertEquals(3, result.get("quotient"));
         assertEquals(7, result.get("incremented"));
         assertEquals(5, result.get("decremented"));
+        // (6 + 2) * 3
+        assertEquals(24, result.get("nested"));
+        // 6 + (2 * 5) + 1
+        assertEquals(17, result.get("deeply_nested"));
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,103 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.platformlambda.core.util.MultiLevelMap;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Model lock contention benchmark: 100 parallel branches of a flow apply their output data mapping
+ * to disjoint "model.*" keys of one flow instance. The same workload runs with every block holding
+ * the lock exclusively (the previous single-lock behavior) and with path-striped locking.
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/event-script-engine test -Dtest=ModelLockBenchmarkTest -Dbench.run=true
+ */
+class ModelLockBenchmarkTest {
+    private static final int BRANCHES = 100;
+    private static final int FIELDS = 20;
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void parallelBranchContention() throws InterruptedException {
+        int rounds = Integer.getInteger("bench.iterations", 2000);
+        List<List<String>> mappings = new ArrayList<>();
+        for (int i=0; i < BRANCHES; i++) {
+            List<String> mapping = new ArrayList<>();
+            for (int j=0; j < FIELDS; j++) {
+                mapping.add("result.f" + j + " -> model.branch" + i + ".f" + j);
+            }
+            mappings.add(mapping);
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            run(executor, mappings, rounds / 10, true);
+            run(executor, mappings, rounds / 10, false);
+            System.out.printf("%n=============== Flow model lock, %d parallel branches ===============%n", BRANCHES);
+            System.out.printf("N=%,d flows (microseconds per flow)%n", rounds);
+            System.out.printf("single lock=%.1f  striped=%.1f%n",
+                    run(executor, mappings, rounds, true), run(executor, mappings, rounds, false));
+        }
+    }
+
+    private double run(ExecutorService executor, List<List<String>> mappings, int rounds, boolean exclusive)
+            throws InterruptedException {
+        Map<String, Object> result = new HashMap<>();
+        for (int j=0; j < FIELDS; j++) {
+            result.put("f" + j, "value-" + j);
+        }
+        long start = System.nanoTime();
+        for (int r=0; r < rounds; r++) {
+            ModelLock lock = new ModelLock();
+            Map<String, Object> model = Collections.synchronizedMap(new HashMap<>());
+            CountDownLatch done = new CountDownLatch(BRANCHES);
+            for (List<String> mapping : mappings) {
+                int[] stripes = exclusive? ModelLock.EXCLUSIVE : ModelLock.getStripes(mapping);
+                executor.submit(() -> {
+                    Map<String, Object> combined = new HashMap<>();
+                    combined.put("model", model);
+                    combined.put("result", result);
+                    MultiLevelMap consolidated = new MultiLevelMap(combined);
+                    lock.lock(stripes);
+                    try {
+                        for (String entry : mapping) {
+                            int sep = entry.lastIndexOf("->");
+                            String lhs = entry.substring(0, sep).trim();
+                            String rhs = entry.substring(sep + 2).trim();
+                            consolidated.setElement(rhs, consolidated.getElement(lhs));
+                        }
+                    } finally {
+                        lock.unlock(stripes);
+                    }
+                    done.countDown();
+                });
+            }
+            done.await();
+            assertEquals(BRANCHES, model.size());
+        }
+        return (double) (System.nanoTime() - start) / rounds / 1000;
+    }
+}
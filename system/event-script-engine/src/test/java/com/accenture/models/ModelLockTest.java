@@ -0,0 +1,102 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelLockTest {
+
+    @Test
+    void stripesFollowTopLevelModelKeys() {
+        int[] stripes = ModelLock.getStripes(List.of(
+                "result.name -> model.user.name",
+                "result.id -> model.user.id",
+                "f:concat(model.a, model.b[0]) -> model.c"));
+        assertNotSame(ModelLock.EXCLUSIVE, stripes);
+        assertTrue(stripes.length >= 1 && stripes.length <= 4);
+        for (int i=1; i < stripes.length; i++) {
+            assertTrue(stripes[i-1] < stripes[i], "stripes must be sorted and distinct");
+        }
+        // the same top-level key always maps to the same stripe
+        assertArrayEquals(ModelLock.getStripes(List.of("result -> model.user.profile")),
+                          ModelLock.getStripes(List.of("model.user -> output.body")));
+        // a mapping that does not touch the model needs no stripe
+        assertEquals(0, ModelLock.getStripes(List.of("input.body -> output.body")).length);
+        assertNotSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("input.body -> output.body")));
+    }
+
+    @Test
+    void typeSuffixAndUnspacedArrowDoNotChangeTheKey() {
+        int[] plain = ModelLock.getStripes(List.of("input.x -> model.userid"));
+        assertArrayEquals(plain, ModelLock.getStripes(List.of("input.x -> model.userid:int")));
+        assertArrayEquals(plain, ModelLock.getStripes(List.of("model.userid:boolean(true) -> output.x")));
+        assertArrayEquals(plain, ModelLock.getStripes(List.of("model.userid:concat(input.a) -> output.x")));
+        assertArrayEquals(plain, ModelLock.getStripes(List.of("model.userid->output.x")));
+        assertArrayEquals(plain, ModelLock.getStripes(List.of("input.x->model.userid")));
+        // a hyphen that is not part of an arrow belongs to the key
+        assertArrayEquals(ModelLock.getStripes(List.of("input.x -> model.user-id")),
+                          ModelLock.getStripes(List.of("model.user-id->output.x")));
+    }
+
+    @Test
+    void wholeModelOrDynamicPathIsExclusive() {
+        assertSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("model -> output.body")));
+        assertSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("result -> model.items[{model.n}]")));
+        assertSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("result -> model.parent.x")));
+        assertSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("result -> model.root.x")));
+        assertSame(ModelLock.EXCLUSIVE, ModelLock.getStripes(List.of("result -> model.a"), "model"));
+    }
+
+    @Test
+    void disjointStripesDoNotBlockEachOther() throws InterruptedException {
+        ModelLock lock = new ModelLock();
+        int[] a = ModelLock.getStripes(List.of("result -> model.a"));
+        int[] b = findDisjoint(a);
+        lock.lock(a);
+        Thread t = Thread.ofVirtual().start(() -> {
+            lock.lock(b);
+            lock.unlock(b);
+        });
+        t.join(5000);
+        assertFalse(t.isAlive(), "a different stripe must not wait");
+        Thread exclusive = Thread.ofVirtual().start(() -> {
+            lock.lock(ModelLock.EXCLUSIVE);
+            lock.unlock(ModelLock.EXCLUSIVE);
+        });
+        exclusive.join(200);
+        assertTrue(exclusive.isAlive(), "an exclusive block must wait for striped blocks");
+        lock.unlock(a);
+        exclusive.join(5000);
+        assertFalse(exclusive.isAlive());
+    }
+
+    private int[] findDisjoint(int[] stripes) {
+        for (int i=0; i < 1000; i++) {
+            int[] candidate = ModelLock.getStripes(List.of("result -> model.key" + i));
+            if (candidate[0] != stripes[0]) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No disjoint stripe found");
+    }
+}
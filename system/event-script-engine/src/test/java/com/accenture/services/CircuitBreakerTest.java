@@ -0,0 +1,95 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long LEASE = 60000;
+
+    private static final CircuitBreaker.Settings SETTINGS = new CircuitBreaker.Settings(60, 2, 10, 1, 0);
+
+    private CircuitBreaker openBreaker(String target, String stale) {
+        var breaker = CircuitBreaker.getInstance(target, SETTINGS);
+        // a call admitted before the breaker opens still holds its permit
+        assertNull(breaker.tryAcquire(stale, LEASE));
+        assertNull(breaker.tryAcquire("a", LEASE));
+        breaker.onFailure("a");
+        assertNull(breaker.tryAcquire("b", LEASE));
+        breaker.onFailure("b");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertNotNull(breaker.tryAcquire("c", LEASE));
+        return breaker;
+    }
+
+    @Test
+    void stalePermitDoesNotCloseHalfOpenBreaker() throws InterruptedException {
+        String stale = UUID.randomUUID().toString();
+        String probe = UUID.randomUUID().toString();
+        var breaker = openBreaker("breaker.unit." + UUID.randomUUID(), stale);
+        Thread.sleep(1100);
+        assertNull(breaker.tryAcquire(probe, LEASE));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // the flow that was admitted before the breaker opened ends normally
+        CircuitBreaker.release(stale, List.of());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // only the probe can close the breaker
+        CircuitBreaker.release(probe, List.of());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void failureOfTheGuardedTaskReopensBreaker() throws InterruptedException {
+        String target = "breaker.unit." + UUID.randomUUID();
+        String probe = UUID.randomUUID().toString();
+        var breaker = openBreaker(target, UUID.randomUUID().toString());
+        Thread.sleep(1100);
+        assertNull(breaker.tryAcquire(probe, LEASE));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        CircuitBreaker.release(probe, List.of("some.task", target));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void failureOfAnotherTaskDoesNotCount() throws InterruptedException {
+        String probe = UUID.randomUUID().toString();
+        var breaker = openBreaker("breaker.unit." + UUID.randomUUID(), UUID.randomUUID().toString());
+        Thread.sleep(1100);
+        assertNull(breaker.tryAcquire(probe, LEASE));
+        // the flow ends because an unrelated task failed after the protected call
+        CircuitBreaker.release(probe, List.of("unrelated.task"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void leastRecentlyUsedBreakerIsDropped() {
+        String target = "breaker.unit." + UUID.randomUUID();
+        var breaker = CircuitBreaker.getInstance(target, SETTINGS);
+        assertSame(breaker, CircuitBreaker.getInstance(target, SETTINGS));
+        for (int i=0; i < 1000; i++) {
+            CircuitBreaker.getInstance("breaker.unit.filler." + i, SETTINGS);
+        }
+        assertNotSame(breaker, CircuitBreaker.getInstance(target, SETTINGS));
+    }
+}
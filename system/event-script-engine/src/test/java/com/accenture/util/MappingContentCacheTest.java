@@ -0,0 +1,96 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package com.accenture.util;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.util.MultiLevelMap;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappingContentCacheTest {
+
+    private static final String TEXT = "TEXT";
+    private static final String JSON = "JSON";
+
+    @Test
+    void fileContentIsReloadedWhenChanged() throws IOException {
+        Utility util = Utility.getInstance();
+        File f = File.createTempFile("mapping-cache-", ".txt");
+        f.deleteOnExit();
+        util.str2file(f, "hello");
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("hello", MappingContentCache.getFile(TEXT, f, b -> count(loads, util.getUTF(b))));
+        assertEquals("hello", MappingContentCache.getFile(TEXT, f, b -> count(loads, util.getUTF(b))));
+        assertEquals(1, loads.get());
+        // a different size or modified time is detected
+        util.str2file(f, "hello world");
+        Files.setLastModifiedTime(f.toPath(), FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        assertEquals("hello world", MappingContentCache.getFile(TEXT, f, b -> count(loads, util.getUTF(b))));
+        assertEquals(2, loads.get());
+        // explicit invalidation after a write by an output data mapping
+        MappingContentCache.invalidateFile(f);
+        MappingContentCache.getFile(TEXT, f, b -> count(loads, util.getUTF(b)));
+        assertEquals(3, loads.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void parsedJsonIsNotSharedBetweenCallers() throws IOException {
+        Utility util = Utility.getInstance();
+        File f = File.createTempFile("mapping-cache-", ".json");
+        f.deleteOnExit();
+        util.str2file(f, "{\"a\": 1, \"list\": [\"x\"], \"nested\": {\"b\": true}}");
+        Map<String, Object> first = (Map<String, Object>) MappingContentCache.getFile(JSON, f,
+                                        b -> Map.of("a", 1, "list", List.of("x"), "nested", Map.of("b", true)));
+        Map<String, Object> second = (Map<String, Object>) MappingContentCache.getFile(JSON, f,
+                                        b -> fail("content should come from the cache"));
+        second.put("b", 2);
+        ((List<Object>) second.get("list")).add("y");
+        // a data mapping writes into a nested map of the mapped value
+        new MultiLevelMap(second).setElement("nested.c", "written").setElement("list[1]", "z");
+        assertEquals("written", new MultiLevelMap(second).getElement("nested.c"));
+        assertEquals(List.of("x", "z"), second.get("list"));
+        Map<String, Object> third = (Map<String, Object>) MappingContentCache.getFile(JSON, f,
+                                        b -> fail("content should come from the cache"));
+        assertEquals(first, third);
+        assertFalse(third.containsKey("b"));
+        assertEquals(List.of("x"), third.get("list"));
+        assertEquals(Map.of("b", true), third.get("nested"));
+    }
+
+    @Test
+    void missingClassPathResourceIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        assertNull(MappingContentCache.getClassPath(TEXT, "/no-such-resource.txt", b -> count(loads, b)));
+        assertEquals(0, loads.get());
+    }
+
+    private static Object count(AtomicInteger counter, Object value) {
+        counter.incrementAndGet();
+        return value;
+    }
+}
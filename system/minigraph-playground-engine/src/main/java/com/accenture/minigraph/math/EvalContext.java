@@ -8,6 +8,10 @@ import java.util.Map;
 public final class EvalContext {
     private static final SecureRandom RANDOM = new SecureRandom();
     private final Map<String, Object> root = new HashMap<>();
+    private final EvalContext parent;
+
+    public EvalContext() { this(null); }
+    private EvalContext(EvalContext parent) { this.parent = parent; }
 
     public static EvalContext withDefaults() {
         EvalContext ctx = new EvalContext();
@@ -66,8 +70,20 @@ public final class EvalContext {
         return this;
     }
 
+    /** Define boolean variable. */
+    public EvalContext defineBoolean(String name, boolean value) {
+        root.put(name, value);
+        return this;
+    }
+
+    /** Child context for per-evaluation variables; names not defined in the child resolve from this context. */
+    public EvalContext scope() {
+        return new EvalContext(this);
+    }
+
     public Object lookup(String name) {
-        return root.get(name);
+        Object v = root.get(name);
+        return v == null && parent != null ? parent.lookup(name) : v;
     }
 
     @SuppressWarnings("unchecked")
@@ -2,9 +2,22 @@ package com.accenture.minigraph.math;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 public final class Evaluator {
+    private static final int MAX_CACHED_EXPRESSIONS = 5000;
+    // the cache is striped so that concurrent lookups of different expressions rarely share a lock
+    private static final int SEGMENTS = 16;
+    private static final CacheSegment[] compiled = new CacheSegment[SEGMENTS];
+    static {
+        for (int i = 0; i < SEGMENTS; i++) {
+            compiled[i] = new CacheSegment((MAX_CACHED_EXPRESSIONS + SEGMENTS - 1) / SEGMENTS);
+        }
+    }
+    private static final EvalContext NO_CONTEXT = new EvalContext();
 
     private Evaluator() {}
 
@@ -19,9 +32,80 @@ public final class Evaluator {
     }
 
     public static Value evaluateValue(String expression, EvalContext ctx) {
-        Parser parser = new Parser(expression, true /* strict JS '**' rule */);
-        Expr ast = parser.parse();
-        return eval(ast, ctx);
+        return eval(compile(expression), ctx);
+    }
+
+    /**
+     * Parse an expression once into a syntax tree with its constant subtrees folded into literals.
+     * <p>
+     * Identifiers are resolved at evaluation time so that a compiled expression can be
+     * shared by any EvalContext. The cache is split into segments, each with its own lock,
+     * and the least recently used expression of a segment is evicted when the segment is full.
+     *
+     * @param expression text
+     * @return compiled expression
+     */
+    public static Expr compile(String expression) {
+        CacheSegment segment = segmentOf(expression);
+        Expr ast = segment.get(expression);
+        if (ast == null) {
+            Parser parser = new Parser(expression, true /* strict JS '**' rule */);
+            ast = segment.putIfAbsent(expression, fold(parser.parse()));
+        }
+        return ast;
+    }
+
+    static boolean isCached(String expression) {
+        return segmentOf(expression).contains(expression);
+    }
+
+    private static CacheSegment segmentOf(String expression) {
+        int h = expression.hashCode();
+        return compiled[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static Expr fold(Expr e) {
+        return switch (e) {
+            case Expr.Unary(String op, Expr right) -> foldConstant(new Expr.Unary(op, fold(right)));
+            case Expr.Binary(String op, Expr left, Expr right)
+                    -> foldConstant(new Expr.Binary(op, fold(left), fold(right)));
+            case Expr.Conditional(Expr test, Expr consequent, Expr alternate) -> {
+                Expr t = fold(test);
+                Expr c = fold(consequent);
+                Expr a = fold(alternate);
+                if (isLiteral(t)) {
+                    yield eval(t, NO_CONTEXT).asBoolean() ? c : a;
+                }
+                yield new Expr.Conditional(t, c, a);
+            }
+            case Expr.Call(Expr callee, List<Expr> args) -> new Expr.Call(callee, args.stream().map(Evaluator::fold).toList());
+            default -> e;
+        };
+    }
+
+    private static Expr foldConstant(Expr e) {
+        boolean constant = switch (e) {
+            case Expr.Unary u -> isLiteral(u.right());
+            case Expr.Binary b -> isLiteral(b.left()) && isLiteral(b.right());
+            default -> false;
+        };
+        if (!constant) {
+            return e;
+        }
+        try {
+            return switch (eval(e, NO_CONTEXT)) {
+                case NumberValue(double nv) -> new Expr.NumberLiteral(nv);
+                case StringValue(String sv) -> new Expr.StringLiteral(sv);
+                case BooleanValue(boolean bv) -> new Expr.BooleanLiteral(bv);
+            };
+        } catch (IllegalArgumentException ex) {
+            // keep the subtree so that the error is reported when the expression is evaluated
+            return e;
+        }
+    }
+
+    private static boolean isLiteral(Expr e) {
+        return e instanceof Expr.NumberLiteral || e instanceof Expr.StringLiteral || e instanceof Expr.BooleanLiteral;
     }
 
     private static Value eval(Expr e, EvalContext ctx) {
@@ -46,6 +130,7 @@ public final class Evaluator {
             case null -> throw new IllegalArgumentException("Unknown identifier: " + name);
             case Double vd -> Value.number(vd);
             case String vs -> Value.str(vs);
+            case Boolean vb -> Value.bool(vb);
             case MathFunction ignored -> throw new IllegalArgumentException("Identifier is a function, not a value: " + name);
             default -> throw new IllegalArgumentException("Unsupported variable type for: " + name);
         };
@@ -192,4 +277,46 @@ public final class Evaluator {
         // Render like JS: integral doubles as integer text, otherwise minimal decimal text.
         return BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
     }
+
+    private static final class CacheSegment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Expr> entries;
+
+        CacheSegment(int capacity) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Expr> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        Expr get(String expression) {
+            lock.lock();
+            try {
+                return entries.get(expression);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Expr putIfAbsent(String expression, Expr ast) {
+            lock.lock();
+            try {
+                Expr existing = entries.putIfAbsent(expression, ast);
+                return existing == null ? ast : existing;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean contains(String expression) {
+            lock.lock();
+            try {
+                return entries.containsKey(expression);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
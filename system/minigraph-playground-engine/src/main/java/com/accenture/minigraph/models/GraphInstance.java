@@ -39,6 +39,7 @@ public class GraphInstance {
     public final ConcurrentMap<String, Visits> hits = new ConcurrentHashMap<>();
     public final ConcurrentMap<String, Boolean> nodeSeen = new ConcurrentHashMap<>();
     public final ConcurrentMap<String, Boolean> skillRun = new ConcurrentHashMap<>();
+    public final ConcurrentMap<String, ProviderCache> providerCache = new ConcurrentHashMap<>();
     public final AtomicBoolean complete = new AtomicBoolean(false);
     private final ConcurrentMap<String, Object> metadata = new ConcurrentHashMap<>();
 
@@ -0,0 +1,84 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.minigraph.models;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Hashed index over the cached responses of one data provider in a graph instance.
+ * <p>
+ * The cache list in the state machine remains the source of truth. This index is a projection
+ * that catches up with entries appended to the list since the last lookup, so each entry is
+ * keyed exactly once and a lookup is a hash probe instead of a scan of deep map comparisons.
+ */
+public class ProviderCache {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Object> outputs = new HashMap<>();
+    private int indexed = 0;
+
+    /**
+     * Find a cached output
+     *
+     * @param key of the request parameters
+     * @param entries current cache list of the provider
+     * @param keyOf function to return the key of a cache entry or null if the entry is invalid
+     * @param outputOf function to return the output of a cache entry
+     * @return cached output or null if not found
+     */
+    public Object find(String key, List<?> entries,
+                       Function<Object, String> keyOf, Function<Object, Object> outputOf) {
+        lock.lock();
+        try {
+            if (entries.size() < indexed) {
+                // the list has been cleared or replaced
+                clearIndex();
+            }
+            for (int i = indexed; i < entries.size(); i++) {
+                var entry = entries.get(i);
+                var k = keyOf.apply(entry);
+                if (k != null) {
+                    // the earliest entry wins, as a sequential scan would
+                    outputs.putIfAbsent(k, outputOf.apply(entry));
+                }
+            }
+            indexed = entries.size();
+            return outputs.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            clearIndex();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearIndex() {
+        outputs.clear();
+        indexed = 0;
+    }
+}
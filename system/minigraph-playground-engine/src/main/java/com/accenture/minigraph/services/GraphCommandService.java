@@ -25,6 +25,7 @@ import com.accenture.minigraph.common.GraphModelValidator;
 import com.accenture.minigraph.models.CompiledGraphs;
 import com.accenture.minigraph.models.GraphInstance;
 import com.accenture.minigraph.models.GraphSession;
+import com.accenture.minigraph.models.ProviderCache;
 import com.accenture.models.Flows;
 import com.jayway.jsonpath.InvalidPathException;
 import org.platformlambda.core.annotations.OptionalService;
@@ -1287,6 +1288,7 @@ public class GraphCommandService extends GraphLambdaFunction {
         var graphInstance = getGraphInstance(inRoute);
         if (graphInstance != null) {
             graphInstance.stateMachine.removeElement(CACHE);
+            graphInstance.providerCache.values().forEach(ProviderCache::clear);
             po.send(new EventEnvelope().setTo(outRoute).setBody(CACHE + " cleared"));
         }
     }
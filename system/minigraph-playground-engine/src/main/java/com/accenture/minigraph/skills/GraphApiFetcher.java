@@ -23,18 +23,21 @@ import com.accenture.minigraph.common.FeatureDef;
 import com.accenture.minigraph.common.GraphLambdaFunction;
 import com.accenture.minigraph.models.GraphInstance;
 import com.accenture.minigraph.models.HostUri;
+import com.accenture.minigraph.models.ProviderCache;
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.SimpleNode;
 import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.util.CryptoApi;
+import org.platformlambda.core.util.ManagedCache;
 import org.platformlambda.core.util.MultiLevelMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.*;
 
 @PreLoad(route = GraphApiFetcher.ROUTE, instances=300)
 public class GraphApiFetcher extends GraphLambdaFunction {
@@ -42,6 +45,13 @@ public class GraphApiFetcher extends GraphLambdaFunction {
     public static final String ROUTE = "graph.api.fetcher";
     private static final Map<String, Long> UNSUPPORTED_FEATURES = new HashMap<>();
     private static final long WARNING_INTERVAL = 30000;
+    private static final CryptoApi crypto = new CryptoApi();
+    private static final ConcurrentMap<String, CompletableFuture<byte[]>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final String SHARED_CACHE = "graph.api.fetcher.cache.";
+    // one shared cache per expiry, resolved once instead of through the locked cache registry per fetch
+    private static final ConcurrentMap<Long, ManagedCache> SHARED_CACHES = new ConcurrentHashMap<>();
+    private static final String CACHE_TTL = "cache_ttl";
+    private static final String COALESCE = "coalesce";
 
     @Override
     public Object handleEvent(Map<String, String> headers, EventEnvelope input, int instance)
@@ -126,7 +136,7 @@ public class GraphApiFetcher extends GraphLambdaFunction {
                 var p = graph.findNodeByAlias(providerName);
                 if (p != null) {
                     stateMachine.setElement(nodeName + "." + TARGET, dd.getAlias());
-                    fetchFromEachProvider(po, stateMachine, fetcher, dd, p, timeout);
+                    fetchFromEachProvider(po, graphInstance, fetcher, dd, p, timeout);
                     var mapping = getEntries(dd.getProperty(OUTPUT));
                     performDictionaryOutputMapping(nodeName, stateMachine, dd.getAlias(), mapping, false);
                 } else {
@@ -173,7 +183,7 @@ public class GraphApiFetcher extends GraphLambdaFunction {
                 throw new IllegalArgumentException("Data provider is not configured in dictionary "+dd.getAlias());
             }
             final SimpleNode p = graph.findNodeByAlias(String.valueOf(dd.getProperty(PROVIDER)));
-            var md = new ProviderMetadata(po, fetcher, dd, p, stateMachine, timeout);
+            var md = new ProviderMetadata(po, fetcher, dd, p, graphInstance, timeout);
             if (p != null) {
                 var url = p.getProperty(URL);
                 var method = p.getProperty(METHOD);
@@ -236,44 +246,73 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         stack.add(new HttpEventEnvelope(event, request, parameters.keySet()));
     }
 
+    /**
+     * Run the requests with a sliding window of at most "concurrency" requests in flight.
+     * <p>
+     * A new request starts as soon as any in-flight request completes, so one slow call does not
+     * hold back the rest of the window. Responses are processed on this thread in request order
+     * because the dictionary output mapping appends to the result arrays.
+     */
     private void runConcurrentRequests(int concurrency,
                                        Deque<HttpEventEnvelope> stack, ProviderMetadata md)
-                                        throws ExecutionException, InterruptedException {
+                                        throws InterruptedException {
+        if (stack.isEmpty()) {
+            return;
+        }
         var nodeName = md.fetcher.getAlias();
-        List<HttpEventEnvelope> batch = new ArrayList<>();
-        var n = concurrency;
-        while (!stack.isEmpty()) {
-            n--;
-            batch.add(stack.pop());
-            if (stack.isEmpty() || n == 0) {
-                n = concurrency;
-                var events = new ArrayList<EventEnvelope>();
-                for (var each : batch) {
-                    events.add(each.event);
-                }
-                var parameterNames = batch.getFirst().parameterNames;
-                var firstReq = batch.getFirst().request;
-                var finalUri = firstReq.getFinalizedUrl();
-                var target = firstReq.getTargetHost() + finalUri;
-                log.info("{} {}, for each {}, parallel={}, ttl={}", firstReq.getMethod(), finalUri,
-                            parameterNames, batch.size(), md.timeout);
-                md.po.annotateTrace(FOR_EACH, String.valueOf(parameterNames))
-                        .annotateTrace(URL, firstReq.getMethod()+" "+target);
-                md.stateMachine.setElement(nodeName + "." + TARGET, md.dd.getAlias());
-                var responses = md.po.request(events, md.timeout, false).get();
-                for (int i = 0; i < responses.size(); i++) {
-                    processApiResponses(md, responses, batch, i);
-                }
-                batch.clear();
+        var requests = new ArrayList<>(stack);
+        stack.clear();
+        var total = requests.size();
+        var parameterNames = requests.getFirst().parameterNames;
+        var firstReq = requests.getFirst().request;
+        var finalUri = firstReq.getFinalizedUrl();
+        var target = firstReq.getTargetHost() + finalUri;
+        log.info("{} {}, for each {}, parallel={}, total={}, ttl={}", firstReq.getMethod(), finalUri,
+                    parameterNames, Math.min(concurrency, total), total, md.timeout);
+        md.po.annotateTrace(FOR_EACH, String.valueOf(parameterNames))
+                .annotateTrace(URL, firstReq.getMethod()+" "+target);
+        md.stateMachine.setElement(nodeName + "." + TARGET, md.dd.getAlias());
+        BlockingQueue<CompletedRequest> completions = new LinkedBlockingQueue<>();
+        var responses = new EventEnvelope[total];
+        var latency = new ProviderLatency();
+        int next = 0;
+        int processed = 0;
+        int inFlight = 0;
+        while (processed < total) {
+            while (inFlight < concurrency && next < total) {
+                sendRequest(md, requests.get(next).event, next, completions);
+                next++;
+                inFlight++;
+            }
+            var completed = completions.take();
+            inFlight--;
+            responses[completed.index] = completed.response;
+            latency.add(completed.elapsed);
+            while (processed < total && responses[processed] != null) {
+                processApiResponse(md, requests.get(processed).request, responses[processed]);
+                responses[processed] = null;
+                processed++;
             }
         }
+        var provider = md.provider.getAlias();
+        log.info("{} {}, completed {} in {} ms, latency avg={} ms, max={} ms", firstReq.getMethod(), finalUri,
+                    total, latency.elapsedMs(), latency.averageMs(), latency.maxMs());
+        md.po.annotateTrace("latency", provider + " avg=" + latency.averageMs() + " ms, max=" +
+                    latency.maxMs() + " ms, n=" + total);
     }
 
-    private void processApiResponses(ProviderMetadata md, List<EventEnvelope> responses,
-                                     List<HttpEventEnvelope> batch, int i) {
+    private void sendRequest(ProviderMetadata md, EventEnvelope event, int index,
+                             BlockingQueue<CompletedRequest> completions) {
+        var begin = System.nanoTime();
+        md.po.eRequest(event, md.timeout, false).whenComplete((response, e) -> {
+            var result = e == null? response :
+                            new EventEnvelope().setStatus(500).setBody(util.getRootCause(e).getMessage());
+            completions.add(new CompletedRequest(index, result, System.nanoTime() - begin));
+        });
+    }
+
+    private void processApiResponse(ProviderMetadata md, AsyncHttpRequest request, EventEnvelope response) {
         var nodeName = md.fetcher.getAlias();
-        var request = batch.get(i).request;
-        var response = responses.get(i);
         for (FeatureDef f : md.after) {
             f.feature().execute(request, response, md.stateMachine, nodeName);
         }
@@ -364,14 +403,14 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         }
     }
 
-    private void fetchFromEachProvider(PostOffice po, MultiLevelMap stateMachine, SimpleNode fetcher,
+    private void fetchFromEachProvider(PostOffice po, GraphInstance graphInstance, SimpleNode fetcher,
                                        SimpleNode dd, SimpleNode provider, long timeout)
                                         throws URISyntaxException, ExecutionException, InterruptedException {
         var url = provider.getProperty(URL);
         var method = provider.getProperty(METHOD);
         if (url != null && method != null) {
             var target = new HostUri(String.valueOf(url));
-            var md = new ProviderMetadata(po, fetcher, dd, provider, stateMachine, timeout);
+            var md = new ProviderMetadata(po, fetcher, dd, provider, graphInstance, timeout);
             md.features.addAll(getEntries(provider.getProperty(FEATURE)));
             md.target = target;
             md.method = String.valueOf(method);
@@ -409,7 +448,8 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         // multiple data dictionary items may use the same data provider with the same parameter key-values
         // so we want to cache it to avoid repeated API calls.
         var provider = md.provider.getAlias();
-        var cached = getCachedResult(provider, md.stateMachine, params);
+        var cacheKey = getDigest(params);
+        var cached = getCachedResult(md, cacheKey);
         if (cached != null) {
             md.stateMachine.setElement(nodeName + RESPONSE_DOT, cached);
             return;
@@ -419,8 +459,7 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         log.info("{} {}, with {}, ttl={}", request.getMethod(), target, parameterNames, md.timeout);
         md.po.annotateTrace("parameters", String.valueOf(parameterNames))
                 .annotateTrace(URL, request.getMethod()+" "+target);
-        var event = new EventEnvelope().setTo(ASYNC_HTTP_CLIENT).setBody(request.toMap());
-        var response = md.po.request(event, md.timeout, false).get();
+        var response = fetch(md, request);
         for (FeatureDef f : md.after) {
             f.feature().execute(request, response, md.stateMachine, nodeName);
         }
@@ -459,21 +498,125 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Object getCachedResult(String provider, MultiLevelMap stateMachine, Object params) {
-        var cached = stateMachine.getElement(CACHE_NAMESPACE + provider);
-        if (cached instanceof List<?> list) {
-            for (Object o : list) {
-                if (o instanceof Map) {
-                    var map = (Map<String, Object>) o;
-                    var input = map.get(INPUT);
-                    if (input != null && input.equals(params)) {
-                        return map.get(OUTPUT);
-                    }
+    private Object getCachedResult(ProviderMetadata md, String cacheKey) {
+        var provider = md.provider.getAlias();
+        if (md.stateMachine.getElement(CACHE_NAMESPACE + provider) instanceof List<?> entries) {
+            var index = md.graphInstance.providerCache.computeIfAbsent(provider, k -> new ProviderCache());
+            return index.find(cacheKey, entries,
+                    entry -> entry instanceof Map<?, ?> map && map.get(INPUT) != null?
+                                getDigest(map.get(INPUT)) : null,
+                    entry -> ((Map<?, ?>) entry).get(OUTPUT));
+        }
+        return null;
+    }
+
+    /**
+     * Send the HTTP request through the optional cross-instance cache and in-flight coalescing.
+     * <p>
+     * Both are opt-in per provider node. "cache_ttl" keeps successful responses in a managed cache
+     * shared by all graph instances. "coalesce=true" lets identical requests that arrive while one
+     * is in flight wait for its response instead of calling the provider again. Identical means
+     * the same finalized request, including headers, so callers with different credentials never
+     * share a response.
+     */
+    private EventEnvelope fetch(ProviderMetadata md, AsyncHttpRequest request)
+            throws ExecutionException, InterruptedException {
+        var requestMap = request.toMap();
+        var event = new EventEnvelope().setTo(ASYNC_HTTP_CLIENT).setBody(requestMap);
+        var cacheTtl = md.provider.getProperty(CACHE_TTL);
+        var coalesce = "true".equals(String.valueOf(md.provider.getProperty(COALESCE)));
+        if (cacheTtl == null && !coalesce) {
+            return md.po.request(event, md.timeout, false).get();
+        }
+        var key = getDigest(requestMap);
+        ManagedCache shared = null;
+        if (cacheTtl != null) {
+            var expiry = GraphSuspend.getValidTtlSeconds(cacheTtl, md.provider.getAlias()) * 1000L;
+            shared = SHARED_CACHES.computeIfAbsent(expiry, ms -> ManagedCache.createCache(SHARED_CACHE + ms, ms));
+            if (shared.get(key) instanceof byte[] b) {
+                md.po.annotateTrace(CACHE, "hit");
+                return new EventEnvelope(b);
+            }
+        }
+        if (!coalesce) {
+            var response = md.po.request(event, md.timeout, false).get();
+            if (!response.hasError()) {
+                shared.put(key, response.toBytes());
+            }
+            return response;
+        }
+        var pending = new CompletableFuture<byte[]>();
+        var leader = IN_FLIGHT.putIfAbsent(key, pending);
+        if (leader != null) {
+            md.po.annotateTrace(COALESCE, "true");
+            try {
+                // each follower restores its own copy of the leader's response
+                return new EventEnvelope(leader.get(md.timeout, TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                return new EventEnvelope().setStatus(408).setBody("Timeout for " + md.timeout + " ms");
+            }
+        }
+        try {
+            var response = md.po.request(event, md.timeout, false).get();
+            var b = response.toBytes();
+            if (shared != null && !response.hasError()) {
+                shared.put(key, b);
+            }
+            pending.complete(b);
+            return response;
+        } catch (ExecutionException | InterruptedException | RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, pending);
+        }
+    }
+
+    /**
+     * Compute a canonical digest of the request parameters.
+     * <p>
+     * Map keys are sorted and every value is tagged with its type and length, so two parameter sets
+     * have the same digest exactly when they are equal, regardless of map ordering.
+     */
+    private static String getDigest(Object value) {
+        var sb = new StringBuilder();
+        appendCanonical(sb, value);
+        return util.bytes2hex(crypto.getSHA256(util.getUTF(sb.toString())));
+    }
+
+    private static void appendCanonical(StringBuilder sb, Object value) {
+        switch (value) {
+            case null -> sb.append('~');
+            case Map<?, ?> map -> {
+                var sorted = new TreeMap<String, Object>();
+                map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+                sb.append('{');
+                for (var entry : sorted.entrySet()) {
+                    appendText(sb, entry.getKey());
+                    appendCanonical(sb, entry.getValue());
+                }
+                sb.append('}');
+            }
+            case List<?> list -> {
+                sb.append('[');
+                for (var item : list) {
+                    appendCanonical(sb, item);
                 }
+                sb.append(']');
+            }
+            case byte[] b -> {
+                sb.append("byte[]");
+                appendText(sb, util.bytes2hex(b));
+            }
+            default -> {
+                sb.append(value.getClass().getSimpleName());
+                appendText(sb, String.valueOf(value));
             }
         }
-        return null;
+    }
+
+    private static void appendText(StringBuilder sb, String text) {
+        sb.append(':').append(text.length()).append(':').append(text);
     }
 
     private void lackOfSkillAdvice(String feature) {
@@ -489,6 +632,7 @@ public class GraphApiFetcher extends GraphLambdaFunction {
 
     private static class ProviderMetadata {
         final PostOffice po;
+        final GraphInstance graphInstance;
         final MultiLevelMap stateMachine;
         final SimpleNode fetcher;
         final SimpleNode dd;
@@ -503,16 +647,44 @@ public class GraphApiFetcher extends GraphLambdaFunction {
         List<String> inputs;
 
         public ProviderMetadata(PostOffice po, SimpleNode fetcher, SimpleNode dd,
-                                SimpleNode provider, MultiLevelMap stateMachine, long timeout) {
+                                SimpleNode provider, GraphInstance graphInstance, long timeout) {
             this.po = po;
             this.fetcher = fetcher;
             this.dd = dd;
             this.provider = provider;
-            this.stateMachine = stateMachine;
+            this.graphInstance = graphInstance;
+            this.stateMachine = graphInstance.stateMachine;
             this.timeout = timeout;
             this.breakOnException = fetcher.getProperty(EXCEPTION) == null;
         }
     }
 
     private record HttpEventEnvelope(EventEnvelope event, AsyncHttpRequest request, Set<String> parameterNames) { }
+
+    private record CompletedRequest(int index, EventEnvelope response, long elapsed) { }
+
+    private static class ProviderLatency {
+        final long begin = System.nanoTime();
+        long count;
+        long sum;
+        long max;
+
+        void add(long elapsed) {
+            count++;
+            sum += elapsed;
+            max = Math.max(max, elapsed);
+        }
+
+        long elapsedMs() {
+            return (System.nanoTime() - begin) / 1_000_000;
+        }
+
+        long averageMs() {
+            return count == 0? 0 : sum / count / 1_000_000;
+        }
+
+        long maxMs() {
+            return max / 1_000_000;
+        }
+    }
 }
@@ -20,7 +20,9 @@ package com.accenture.minigraph.skills;
 
 import com.accenture.minigraph.common.GraphLambdaFunction;
 import com.accenture.minigraph.models.GraphInstance;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.platformlambda.core.annotations.KernelThreadRunner;
 import org.platformlambda.core.annotations.PreLoad;
@@ -30,8 +32,14 @@ import org.platformlambda.core.models.SimpleNode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.graalvm.polyglot.Context;
 import org.platformlambda.core.models.EventEnvelope;
@@ -41,17 +49,89 @@ import reactor.core.publisher.Mono;
 
 /**
  * Since JavaScript uses Kernel resources, we must limit it to a small number less than 100
+ * <p>
+ * All contexts share one GraalVM engine so that scripts are parsed once and stay JIT-compiled
+ * across node executions. The built-in objects of a new context are frozen, so a script cannot
+ * change them, e.g. by replacing Math.random or adding a member to Array.prototype. In sloppy
+ * mode such an assignment is ignored, and in strict mode it throws a TypeError. A context is
+ * returned to a bounded pool after use when the global variables declared by the script can be
+ * removed. Otherwise, it is closed and a new context is created for the next execution.
  */
 @KernelThreadRunner
 @PreLoad(route = GraphJs.ROUTE, instances=50)
 public class GraphJs extends GraphLambdaFunction {
     public static final String ROUTE = "graph.js";
     private static final long DEFAULT_SCRIPT_DEADLINE_MS = 5000;
-
-    public GraphJs() {
-        // suppress JavaScript engine warning
-        System.setProperty("polyglot.engine.WarnInterpreterOnly", "false");
-    }
+    private static final int MAX_IDLE_CONTEXTS = 50;
+    private static final int MAX_CACHED_SOURCES = 2000;
+    // suppress JavaScript engine warning
+    private static final Engine engine = Engine.newBuilder(JS)
+                                                .option("engine.WarnInterpreterOnly", "false").build();
+    /*
+     * Run once per context before any user script. It freezes every object reachable from the global
+     * object through properties, accessors and prototypes, plus the intrinsics that are only reachable
+     * from instances, such as the iterator and generator prototypes. The built-in global names become
+     * read-only and cannot be deleted. The global object itself stays extensible for the variables of a
+     * script, so the returned function only checks that its prototype is unchanged.
+     */
+    private static final Source LOCKDOWN = Source.create(JS, """
+            (() => {
+              const ownKeys = Reflect.ownKeys;
+              const describe = Reflect.getOwnPropertyDescriptor;
+              const define = Reflect.defineProperty;
+              const protoOf = Reflect.getPrototypeOf;
+              const freeze = Object.freeze;
+              const isObject = v => (typeof v === 'object' && v !== null) || typeof v === 'function';
+              const seen = new Set([globalThis]);
+              const pending = [];
+              const visit = v => {
+                if (isObject(v) && !seen.has(v)) {
+                  seen.add(v);
+                  pending.push(v);
+                }
+              };
+              const visitProperty = d => {
+                visit(d.value);
+                visit(d.get);
+                visit(d.set);
+              };
+              [function* () {}, async function () {}, async function* () {}, [][Symbol.iterator](),
+               new Map()[Symbol.iterator](), new Set()[Symbol.iterator](), ''[Symbol.iterator](),
+               /x/[Symbol.matchAll]('x')].forEach(v => visit(protoOf(v)));
+              const globalProto = protoOf(globalThis);
+              visit(globalProto);
+              const names = ownKeys(globalThis);
+              for (let i = 0; i < names.length; i++) {
+                const d = describe(globalThis, names[i]);
+                if (d.configurable) {
+                  define(globalThis, names[i], 'value' in d
+                      ? {value: d.value, writable: false, enumerable: d.enumerable, configurable: false}
+                      : {get: d.get, set: d.set, enumerable: d.enumerable, configurable: false});
+                }
+                visitProperty(d);
+              }
+              while (pending.length > 0) {
+                const target = pending.pop();
+                freeze(target);
+                const keys = ownKeys(target);
+                for (let j = 0; j < keys.length; j++) {
+                  visitProperty(describe(target, keys[j]));
+                }
+                visit(protoOf(target));
+              }
+              return () => protoOf(globalThis) === globalProto;
+            })()
+            """);
+    private static final ReentrantLock sourceLock = new ReentrantLock();
+    // statements with resolved variables may be unique per request, so the least recently used is evicted
+    private static final Map<String, Source> sources = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+            return size() > MAX_CACHED_SOURCES;
+        }
+    };
+    private static final ConcurrentLinkedQueue<PooledContext> idleContexts = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleCount = new AtomicInteger(0);
 
     @Override
     public Object handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
@@ -89,7 +169,8 @@ public class GraphJs extends GraphLambdaFunction {
         // meant for very simple computation or IF-THEN-ELSE - never more than a couple
         // of seconds - so the default is a tight 5s rather than the (typically much
         // longer) propagated model.ttl; a node ttl overrides it. The context is
-        // per-execution, so the cancellation has no blast radius beyond this node's run.
+        // borrowed exclusively for this run and a cancelled context is never returned to
+        // the pool, so the cancellation has no blast radius beyond this node's run.
         //
         // Two deliberate choices: (1) close(true) - a STICKY cancellation - not
         // interrupt(), which is non-destructive and only affects an eval in flight: a
@@ -102,30 +183,86 @@ public class GraphJs extends GraphLambdaFunction {
         var deadline = nodeTtl != null
                 ? GraphSuspend.getValidTtlSeconds(nodeTtl, nodeName) * 1000L
                 : DEFAULT_SCRIPT_DEADLINE_MS;
-        try (Context context = Context.create(JS)) {
-            var vertx = Platform.getInstance().getVertx();
-            var watchdog = vertx.setTimer(deadline, t ->
-                Thread.ofVirtual().name("graph.js.deadline." + nodeName).start(() -> {
-                    try {
-                        context.close(true);
-                    } catch (RuntimeException e) {
-                        // racing a normal completion's close - nothing to cancel
-                    }
-                }));
-            try {
-                var result = executeNode(context, nodeName, graphInstance, forEach, statements);
-                // save the decision so it can be reported in unit test or used in another evaluation node
-                graphInstance.stateMachine.setElement(nodeName+DOT_DECISION, result);
-                return result;
-            } catch (PolyglotException e) {
-                if (e.isInterrupted() || e.isCancelled()) {
-                    throw new AppException(408, NODE_NAME + nodeName +
-                            " - script exceeded the " + deadline + " ms execution deadline");
+        var pooled = acquire();
+        var context = pooled.context();
+        var vertx = Platform.getInstance().getVertx();
+        var watchdog = vertx.setTimer(deadline, t ->
+            Thread.ofVirtual().name("graph.js.deadline." + nodeName).start(() -> {
+                try {
+                    context.close(true);
+                } catch (RuntimeException e) {
+                    // racing a normal completion's close - nothing to cancel
+                }
+            }));
+        try {
+            var result = executeNode(context, nodeName, graphInstance, forEach, statements);
+            // save the decision so it can be reported in unit test or used in another evaluation node
+            graphInstance.stateMachine.setElement(nodeName+DOT_DECISION, result);
+            return result;
+        } catch (PolyglotException e) {
+            if (e.isInterrupted() || e.isCancelled()) {
+                throw new AppException(408, NODE_NAME + nodeName +
+                        " - script exceeded the " + deadline + " ms execution deadline");
+            }
+            throw e;
+        } finally {
+            // when the deadline has fired, the watchdog owns the context and closes it
+            if (vertx.cancelTimer(watchdog)) {
+                release(pooled);
+            }
+        }
+    }
+
+    private PooledContext acquire() {
+        var pooled = idleContexts.poll();
+        if (pooled != null) {
+            idleCount.decrementAndGet();
+            return pooled;
+        }
+        var context = Context.newBuilder(JS).engine(engine).build();
+        var unchanged = context.eval(LOCKDOWN);
+        return new PooledContext(context, new HashSet<>(context.getBindings(JS).getMemberKeys()), unchanged);
+    }
+
+    private void release(PooledContext pooled) {
+        if (reset(pooled)) {
+            if (idleCount.incrementAndGet() <= MAX_IDLE_CONTEXTS) {
+                idleContexts.offer(pooled);
+                return;
+            }
+            idleCount.decrementAndGet();
+        }
+        pooled.context().close();
+    }
+
+    /**
+     * Remove global variables declared by the last execution so that the context can be reused
+     *
+     * @param pooled context with its original global names and prototype check
+     * @return true if the context is back to its original globals
+     */
+    private boolean reset(PooledContext pooled) {
+        try {
+            var bindings = pooled.context().getBindings(JS);
+            for (String key : new ArrayList<>(bindings.getMemberKeys())) {
+                if (!pooled.globals().contains(key) && !bindings.removeMember(key)) {
+                    // e.g. "var", "let" and "const" declarations cannot be deleted
+                    return false;
                 }
-                throw e;
-            } finally {
-                vertx.cancelTimer(watchdog);
             }
+            // the built-in objects are frozen, but the global object can still get another prototype
+            return pooled.unchanged().execute().asBoolean();
+        } catch (UnsupportedOperationException | PolyglotException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private Source getSource(String text) {
+        sourceLock.lock();
+        try {
+            return sources.computeIfAbsent(text, k -> Source.create(JS, k));
+        } finally {
+            sourceLock.unlock();
         }
     }
 
@@ -229,7 +366,7 @@ public class GraphJs extends GraphLambdaFunction {
                 throw new IllegalArgumentException(NODE_NAME + nodeName + " has invalid statement '"+command+"'");
             }
             var text = substituteVarIfAny(rhs, graphInstance.stateMachine);
-            Object result = toJavaObject(context.eval(JS, text));
+            Object result = toJavaObject(context.eval(getSource(text)));
             graphInstance.stateMachine.setElement(nodeName + ".result." + lhs, result);
         } else {
             throw new IllegalArgumentException(NODE_NAME + nodeName + " does not have '->' in '"+command+"'");
@@ -285,7 +422,7 @@ public class GraphJs extends GraphLambdaFunction {
             throw new IllegalArgumentException(NODE_NAME + nodeName + " then and else statements cannot be the same");
         }
         var text = substituteVarIfAny(ifStatement, stateMachine);
-        Object result = toJavaObject(context.eval(JS, text));
+        Object result = toJavaObject(context.eval(getSource(text)));
         return getNext(graphInstance.graph, isTrue(result)? thenStatement : elseStatement);
     }
 
@@ -299,4 +436,6 @@ public class GraphJs extends GraphLambdaFunction {
             return number >= 0;
         }
     }
+
+    private record PooledContext(Context context, Set<String> globals, Value unchanged) { }
 }
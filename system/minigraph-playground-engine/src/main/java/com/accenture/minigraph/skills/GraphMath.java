@@ -19,22 +19,29 @@
 package com.accenture.minigraph.skills;
 
 import com.accenture.minigraph.common.GraphLambdaFunction;
+import com.accenture.minigraph.math.EvalContext;
+import com.accenture.minigraph.math.Evaluator;
 import com.accenture.minigraph.math.ExpressionEngine;
 import com.accenture.minigraph.models.GraphInstance;
 
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.util.MultiLevelMap;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @PreLoad(route = GraphMath.ROUTE, instances=300)
 public class GraphMath extends GraphLambdaFunction {
     public static final String ROUTE = "graph.math";
     private static final ExpressionEngine engine = new ExpressionEngine();
+    private static final String BOUND_VAR = "__v";
+    private static final Pattern DECIMAL = Pattern.compile("-?\\d+(\\.\\d+)?");
 
     @Override
     public Object handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
@@ -167,8 +174,10 @@ public class GraphMath extends GraphLambdaFunction {
             if (lhs.isEmpty() || rhs.isEmpty()) {
                 throw new IllegalArgumentException(NODE_NAME + nodeName + " has invalid statement '"+command+"'");
             }
-            var text = substituteVarIfAny(rhs, graphInstance.stateMachine);
-            var result = hasBooleanOperator(text)? engine.evalBoolean(text) : engine.evalNumber(text);
+            var scope = engine.context().scope();
+            var text = bindVariables(rhs, graphInstance.stateMachine, scope);
+            var result = hasBooleanOperator(text)?
+                    Evaluator.evaluateBoolean(text, scope) : Evaluator.evaluateNumber(text, scope);
             graphInstance.stateMachine.setElement(nodeName + ".result." + lhs, result);
         } else {
             throw new IllegalArgumentException(NODE_NAME + nodeName + " does not have '->' in '"+command+"'");
@@ -185,7 +194,76 @@ public class GraphMath extends GraphLambdaFunction {
         if (ifStatement.isEmpty() || thenStatement.isEmpty() || elseStatement.isEmpty()) {
             throw new IllegalArgumentException(NODE_NAME + nodeName + " does not have if:, then: or else:");
         }
-        var text = substituteVarIfAny(ifStatement, stateMachine);
-        return getNext(graphInstance.graph, engine.evalBoolean(text)? thenStatement : elseStatement);
+        var scope = engine.context().scope();
+        var text = bindVariables(ifStatement, stateMachine, scope);
+        return getNext(graphInstance.graph, Evaluator.evaluateBoolean(text, scope)? thenStatement : elseStatement);
+    }
+
+    /**
+     * Replace each '{key}' with a positional identifier bound to the value of the key in the scope,
+     * so that the expression text is the same for every graph instance and compiles once.
+     * <p>
+     * A text value next to a dot is part of a member name, and a non-numeric text value in an
+     * arithmetic expression is an expression fragment, so both are inserted as is.
+     * A null, map or list value is inserted as text as before.
+     *
+     * @param text of the expression
+     * @param stateMachine of the graph instance
+     * @param scope to hold the variables
+     * @return expression text
+     */
+    private String bindVariables(String text, MultiLevelMap stateMachine, EvalContext scope) {
+        if (text.indexOf('{') == -1) {
+            return text;
+        }
+        var logical = hasBooleanOperator(text);
+        var sb = new StringBuilder();
+        var start = 0;
+        var n = 0;
+        for (var segment : util.extractSegments(text, "{", "}")) {
+            sb.append(text, start, segment.start());
+            start = segment.end();
+            var key = text.substring(segment.start() + 1, segment.end() - 1);
+            if (key.contains("\r") || key.contains("\n") || key.contains("\t") || key.contains(":")) {
+                sb.append(text, segment.start(), segment.end());
+                continue;
+            }
+            var name = BOUND_VAR + n;
+            var parameter = helper.getLhsOrConstant(key, stateMachine);
+            switch (parameter) {
+                case null -> sb.append("null");
+                case Number v -> {
+                    scope.defineVariable(name, v.doubleValue());
+                    sb.append(name);
+                    n++;
+                }
+                case Boolean v -> {
+                    scope.defineBoolean(name, v);
+                    sb.append(name);
+                    n++;
+                }
+                case Map<?, ?> v -> sb.append(SimpleMapper.getInstance().getCompactGson().toJson(v));
+                case List<?> v -> sb.append(SimpleMapper.getInstance().getCompactGson().toJson(v));
+                default -> {
+                    var value = String.valueOf(parameter);
+                    var dot = text.substring(0, segment.start()).endsWith(".") ||
+                            (text.length() > segment.end() && text.charAt(segment.end()) == '.');
+                    if (dot) {
+                        sb.append(value);
+                    } else if (logical) {
+                        scope.defineString(name, value);
+                        sb.append(name);
+                        n++;
+                    } else if (DECIMAL.matcher(value).matches()) {
+                        scope.defineVariable(name, Double.parseDouble(value));
+                        sb.append(name);
+                        n++;
+                    } else {
+                        sb.append(value);
+                    }
+                }
+            }
+        }
+        return sb.append(text.substring(start)).toString();
     }
 }
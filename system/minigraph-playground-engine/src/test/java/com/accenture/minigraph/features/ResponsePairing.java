@@ -0,0 +1,60 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.minigraph.features;
+
+import com.accenture.minigraph.annotations.FetchFeature;
+import com.accenture.minigraph.common.FeatureRunner;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.util.MultiLevelMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Test feature that records which request each response is processed with, in processing order,
+ * as "request-id:response-id" or "request-id:status" for a failed call.
+ */
+@FetchFeature("response-pairing")
+public class ResponsePairing implements FeatureRunner {
+    private static final ConcurrentLinkedQueue<String> pairs = new ConcurrentLinkedQueue<>();
+
+    public static void clear() {
+        pairs.clear();
+    }
+
+    public static List<String> getPairs() {
+        return new ArrayList<>(pairs);
+    }
+
+    @Override
+    public boolean runBefore() {
+        return false;
+    }
+
+    @Override
+    public void execute(AsyncHttpRequest request, EventEnvelope response, MultiLevelMap stateMachine,
+                        String nodeName) {
+        var result = response.getBody() instanceof Map<?, ?> map && !response.hasError()?
+                        map.get("id") : response.getStatus();
+        pairs.add(request.getPathParameter("id") + ":" + result);
+    }
+}
@@ -165,4 +165,70 @@ class ExpressionEngineFullTest {
         // type mismatch in equality
         assertThrows(IllegalArgumentException.class, () -> engine.evalBoolean("'1' == 1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void compiled_expressions_are_cached_and_constant_folded() {
+        Expr folded = Evaluator.compile("(1 + 2 + 3) * 100 / 8 < 150 * 2.4");
+        assertEquals(new Expr.BooleanLiteral(true), folded);
+        assertSame(folded, Evaluator.compile("(1 + 2 + 3) * 100 / 8 < 150 * 2.4"));
+        assertEquals(new Expr.StringLiteral("a1"), Evaluator.compile("'a' + 1"));
+        assertEquals(new Expr.NumberLiteral(42.0), Evaluator.compile("2 > 1 ? 6 * 7 : 0"));
+
+        // identifiers are resolved at evaluation time
+        Expr partial = Evaluator.compile("PI * (2 + 3)");
+        assertEquals(new Expr.Binary("*", new Expr.Variable("PI"), new Expr.NumberLiteral(5.0)), partial);
+        ExpressionEngine engine = new ExpressionEngine(EvalContext.withDefaults().defineVariable("PI", 2.0));
+        assertEquals(10.0, engine.evalNumber("PI * (2 + 3)"), 0.0);
+
+        // a constant subtree that cannot be evaluated is kept and fails at evaluation time
+        assertInstanceOf(Expr.Binary.class, Evaluator.compile("'1' == 1"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionEngine().evalBoolean("'1' == 1"));
+    }
+
+    @Test
+    void scoped_variables_share_one_compiled_expression() {
+        EvalContext base = EvalContext.withDefaults();
+        EvalContext first = base.scope().defineVariable("__v0", 3.0).defineString("__v1", "ok");
+        EvalContext second = base.scope().defineVariable("__v0", 4.0).defineString("__v1", "no");
+        assertTrue(Evaluator.evaluateBoolean("__v0 * PI > 9 && __v1 == 'ok'", first));
+        Expr ast = Evaluator.compile("__v0 * PI > 9 && __v1 == 'ok'");
+        assertFalse(Evaluator.evaluateBoolean("__v0 * PI > 9 && __v1 == 'ok'", second));
+        assertSame(ast, Evaluator.compile("__v0 * PI > 9 && __v1 == 'ok'"));
+        assertTrue(Evaluator.evaluateBoolean("__v2", base.scope().defineBoolean("__v2", true)));
+        // variables in a scope are not visible to its parent
+        assertNull(base.lookup("__v0"));
+    }
+
+    @Test
+    void least_recently_used_expressions_are_evicted() {
+        Evaluator.compile("1 + lru_a");
+        // twice the capacity, so that every segment of the cache overflows
+        for (int i = 0; i < 10000; i++) {
+            Evaluator.compile("lru_b + " + i);
+        }
+        assertFalse(Evaluator.isCached("1 + lru_a"));
+        assertTrue(Evaluator.isCached("lru_b + 9999"));
+    }
+
+    @Test
+    void concurrent_compiles_share_one_expression() throws InterruptedException {
+        int threads = 8;
+        Expr[] results = new Expr[threads];
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int n = i;
+            workers[i] = Thread.ofVirtual().start(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    Evaluator.compile("shared_x * " + j);
+                }
+                results[n] = Evaluator.compile("shared_x * 7");
+            });
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (Expr result : results) {
+            assertSame(results[0], result);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.minigraph.mock;
+
+import org.platformlambda.core.annotations.OptionalService;
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.TypedLambdaFunction;
+import org.platformlambda.core.util.Utility;
+
+import java.util.Map;
+
+/**
+ * Mock provider that echoes the "id" path parameter after the delay given in the "delay" query
+ * parameter, so a test can control the order in which the replies of an iterative API fetch arrive.
+ */
+@OptionalService("app.env=dev")
+@PreLoad(route = "mock.delayed.echo", instances = 20)
+public class DelayedEcho implements TypedLambdaFunction<AsyncHttpRequest, Object> {
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance)
+            throws InterruptedException {
+        var delay = Utility.getInstance().str2long(input.getQueryParameter("delay"));
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return Map.of("id", input.getPathParameter("id"));
+    }
+}
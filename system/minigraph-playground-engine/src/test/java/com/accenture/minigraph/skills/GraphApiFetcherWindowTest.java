@@ -0,0 +1,96 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.minigraph.skills;
+
+import com.accenture.minigraph.features.ResponsePairing;
+import com.accenture.minigraph.start.PlaygroundLoader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.util.AppConfigReader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An iterative API fetch keeps up to "concurrency" requests in flight and refills the window as
+ * each reply arrives. Replies must still be processed in request order, each with its own request,
+ * including when some of the requests time out.
+ */
+class GraphApiFetcherWindowTest {
+    private static final String ASYNC_HTTP_CLIENT = "async.http.request";
+    private static final String GRAPH = "unit-test-fetch-window";
+    private static final long TIMEOUT = 10000;
+    private static String target;
+
+    @BeforeAll
+    static void beforeAll() {
+        PlaygroundLoader.main(new String[0]);
+        var config = AppConfigReader.getInstance();
+        var port = config.getProperty("rest.server.port");
+        target = "http://localhost:" + port;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void outOfOrderRepliesKeepRequestOrder() throws TimeoutException {
+        ResponsePairing.clear();
+        // the replies arrive in the order of b, e, d, c, a
+        var response = runGraph(Map.of("ids", List.of("a", "b", "c", "d", "e"),
+                                       "delays", List.of(400, 10, 250, 100, 0)));
+        assertEquals(200, response.getStatus(), String.valueOf(response.getBody()));
+        assertInstanceOf(Map.class, response.getBody());
+        var body = (Map<String, Object>) response.getBody();
+        assertEquals(List.of("a", "b", "c", "d", "e"), body.get("ids"));
+        assertEquals(List.of("a:a", "b:b", "c:c", "d:d", "e:e"), ResponsePairing.getPairs());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void timedOutRequestKeepsItsIndex() throws TimeoutException {
+        ResponsePairing.clear();
+        // "b" exceeds the fetcher's ttl of 1 second while the others reply
+        var response = runGraph(Map.of("ids", List.of("a", "b", "c", "d", "e"),
+                                       "delays", List.of(10, 3000, 10, 200, 0)));
+        assertEquals(200, response.getStatus(), String.valueOf(response.getBody()));
+        assertInstanceOf(Map.class, response.getBody());
+        var body = (Map<String, Object>) response.getBody();
+        assertEquals("handled", body.get("stage"));
+        assertEquals(List.of("a", "c", "d", "e"), body.get("ids"));
+        // the timeout is paired with its own request and the later replies are not shifted
+        assertEquals(List.of("a:a", "b:408", "c:c", "d:d", "e:e"), ResponsePairing.getPairs());
+    }
+
+    private EventEnvelope runGraph(Map<String, Object> input) throws TimeoutException {
+        var request = new AsyncHttpRequest().setMethod("POST").setTargetHost(target)
+                .setBody(input).setHeader("Content-Type", "application/json")
+                .setHeader("Accept", "application/json")
+                .setUrl("/api/graph/" + GRAPH);
+        var event = new EventEnvelope().setTo(ASYNC_HTTP_CLIENT).setBody(request);
+        var po = PostOffice.trackable("unit.test", String.format("%032x", Math.abs(GRAPH.hashCode())),
+                "TEST /graph/" + GRAPH);
+        return po.asyncRequest(event, TIMEOUT).await(TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+}
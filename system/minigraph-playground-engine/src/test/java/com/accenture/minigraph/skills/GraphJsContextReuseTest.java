@@ -0,0 +1,80 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package com.accenture.minigraph.skills;
+
+import com.accenture.minigraph.start.PlaygroundLoader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.util.AppConfigReader;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * graph.js reuses pooled GraalVM contexts across node executions. Global variables that a
+ * script creates must not be visible to the next execution, whether the context is reset
+ * and returned to the pool or discarded because its declarations cannot be removed. The
+ * built-in objects are frozen, so a change to a built-in, its members or their property
+ * descriptors has no effect.
+ */
+class GraphJsContextReuseTest {
+    private static final String ASYNC_HTTP_CLIENT = "async.http.request";
+    private static final long TIMEOUT = 10000;
+    private static String target;
+
+    @BeforeAll
+    static void beforeAll() {
+        PlaygroundLoader.main(new String[0]);
+        var config = AppConfigReader.getInstance();
+        var port = config.getProperty("rest.server.port");
+        target = "http://localhost:" + port;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void globalsDoNotLeakAcrossExecutions() throws TimeoutException {
+        // enough runs to cycle through every idle context that an earlier run could have returned
+        for (int i=0; i < 20; i++) {
+            var response = runGraph("unit-test-js-reuse");
+            assertEquals(200, response.getStatus(), "run " + i + ": " + response.getBody());
+            assertInstanceOf(Map.class, response.getBody());
+            var body = (Map<String, Object>) response.getBody();
+            assertEquals(1, ((Number) body.get("marker")).intValue(), "run " + i + ": " + body);
+            assertEquals(42, ((Number) body.get("answer")).intValue(), "run " + i + ": " + body);
+            assertEquals(1, ((Number) body.get("visits")).intValue(), "run " + i + ": " + body);
+            assertEquals(true, body.get("pristine"), "run " + i + ": " + body);
+        }
+    }
+
+    private EventEnvelope runGraph(String graphId) throws TimeoutException {
+        var request = new AsyncHttpRequest().setMethod("GET").setTargetHost(target);
+        request.setHeader("Accept", "application/json");
+        request.setUrl("/api/graph/" + graphId);
+        var event = new EventEnvelope().setTo(ASYNC_HTTP_CLIENT).setBody(request);
+        var po = PostOffice.trackable("unit.test", String.format("%032x", Math.abs(graphId.hashCode())),
+                "TEST /graph/" + graphId);
+        return po.asyncRequest(event, TIMEOUT).await(TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+}
@@ -372,6 +372,23 @@ class GraphTests {
         log.info("Fetcher cache key is scoped to dictionary-declared inputs");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void providerCacheTtlIsSharedAcrossGraphRuns() throws TimeoutException {
+        // The provider node sets cache_ttl, so the second run of the graph with the same
+        // parameters must be served from the cross-instance cache without a provider call.
+        long before = com.accenture.minigraph.mock.CacheCounter.current();
+        var first = runGraph("unit-test-shared-cache", Map.of("person_id", 300));
+        var second = runGraph("unit-test-shared-cache", Map.of("person_id", 300));
+        assertInstanceOf(Map.class, first);
+        assertInstanceOf(Map.class, second);
+        long after = com.accenture.minigraph.mock.CacheCounter.current();
+        assertEquals(1, after - before, "the provider must be called once for both graph runs");
+        assertEquals(new MultiLevelMap((Map<String, Object>) first).getElement("count"),
+                new MultiLevelMap((Map<String, Object>) second).getElement("count"));
+        log.info("Provider response is shared across graph runs within cache_ttl");
+    }
+
     private Object runGraph(String graphId, Map<String, Object> input) throws TimeoutException {
         var request = new AsyncHttpRequest().setMethod("POST").setTargetHost(target)
                 .setBody(input).setHeader("Content-Type", "application/json")
@@ -18,6 +18,8 @@
 
 package org.platformlambda.mini.kafka;
 
+import java.util.List;
+
 /**
  * One validated {@code consumer[]} entry from {@code kafka-flow-adapter.yaml}, resolved by
  * {@code KafkaFlowAdapter.buildConsumer} and handed to {@link KafkaFlowConsumer}. Built via
@@ -42,6 +44,8 @@ public final class KafkaConsumerBinding {
     private final String traceIdHeader;
     private final String correlationIdHeader;
     private final String traceparentHeader;
+    private final List<RetryTier> retryTiers;
+    private final int retryLevel;
 
     private KafkaConsumerBinding(Builder b) {
         this.topicOrPattern = b.topicOrPattern;
@@ -59,6 +63,8 @@ public final class KafkaConsumerBinding {
         this.traceIdHeader = b.traceIdHeader;
         this.correlationIdHeader = b.correlationIdHeader;
         this.traceparentHeader = b.traceparentHeader;
+        this.retryTiers = b.retryTiers;
+        this.retryLevel = b.retryLevel;
     }
 
     /** Literal topic name, or the regex pattern text when {@link #isPattern()} is true. */
@@ -157,6 +163,22 @@ public final class KafkaConsumerBinding {
         return traceparentHeader;
     }
 
+    /**
+     * The binding's non-blocking retry tiers ({@code retry-topics}) in order, or an empty list when failed
+     * messages are retried inline on the poll thread per the {@link RetryPolicy}.
+     */
+    public List<RetryTier> retryTiers() {
+        return retryTiers;
+    }
+
+    /**
+     * 0 for the main binding; {@code k} for the tier consumer that replays {@link #retryTiers()} entry
+     * {@code k-1}. A tier consumer honors each message's not-before timestamp before delivering it.
+     */
+    public int retryLevel() {
+        return retryLevel;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -178,6 +200,8 @@ public final class KafkaConsumerBinding {
         private String traceIdHeader;
         private String correlationIdHeader;
         private String traceparentHeader;
+        private List<RetryTier> retryTiers = List.of();
+        private int retryLevel;
 
         private Builder() {
         }
@@ -259,6 +283,16 @@ public final class KafkaConsumerBinding {
             return this;
         }
 
+        public Builder retryTiers(List<RetryTier> retryTiers) {
+            this.retryTiers = retryTiers == null ? List.of() : List.copyOf(retryTiers);
+            return this;
+        }
+
+        public Builder retryLevel(int retryLevel) {
+            this.retryLevel = retryLevel;
+            return this;
+        }
+
         public KafkaConsumerBinding build() {
             return new KafkaConsumerBinding(this);
         }
@@ -30,9 +30,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -48,6 +50,11 @@ import java.util.regex.PatternSyntaxException;
  *     flow: 'system-of-record'
  *     group: 'sales-order-group'   # optional; supports ${ENV_VAR:default}
  *     dlq-topic: 'topic-1-poison'  # optional; no DLQ if omitted (failed messages are dropped w/ ERROR)
+ *     retry-topics:                # optional; non-blocking retry tiers instead of inline retries
+ *       - topic: 'topic-1-retry-5s'
+ *         delay: '5s'
+ *       - topic: 'topic-1-retry-1m'
+ *         delay: '1m'
  *   - topic: 'topic-2'
  *     flow: 'soa-reply'
  *     partition: 0                 # optional; pins this partition (manual assign)
@@ -119,6 +126,16 @@ import java.util.regex.PatternSyntaxException;
  * re-consumed by the same binding and fail forever. When omitted, a message that exhausts retries is
  * dropped with a logged {@code ERROR} instead of being dead-lettered.</p>
  *
+ * <p>{@code retry-topics} is optional and replaces the inline retry loop (which sleeps on the poll thread
+ * and so holds up the whole partition) with non-blocking retry tiers - see {@link RetryTier}. Each entry
+ * names a pre-provisioned {@code topic} and a {@code delay} (duration syntax). A failed message is
+ * republished to the first tier and its offset committed at once; the adapter starts one extra consumer
+ * per tier, in the same consumer group, that replays a message into the same target once its delay has
+ * passed, moving it on to the next tier if it fails again. A message failing on the last tier goes to the
+ * {@code dlq-topic}. The application-wide retry count and backoff do not apply to a tiered binding. A tier
+ * topic must be distinct and must not equal the source {@code topic} or the {@code dlq-topic}, nor match
+ * {@code topic-pattern}.</p>
+ *
  * <p>{@code auto-commit: true} (default {@code false}) trades the default at-least-once, commit-after-
  * process contract for Kafka-native periodic auto-commit - higher throughput, but a message being processed
  * when a pod dies may already be considered committed and is not redelivered. Retry/DLQ handling on flow
@@ -148,6 +165,8 @@ public class KafkaFlowAdapter implements AutoCloseable {
     private static final String CORRELATION_ID_HEADER_FLAT = "correlation.id.header";
     private static final String TRACEPARENT_HEADER_FLAT = "traceparent.header";
     private static final String DLQ_TOPIC = "dlq-topic";
+    private static final String RETRY_TOPICS = "retry-topics";
+    private static final String DELAY = "delay";
     private static final String AUTO_COMMIT = "auto-commit";
     private static final String MAX_POLL_RECORDS = "max-poll-records";
     private static final String DEFAULT_GROUP_PREFIX = "kafka-flow-adapter";
@@ -180,13 +199,16 @@ public class KafkaFlowAdapter implements AutoCloseable {
         // Validate the whole config before opening any consumer, so a malformed entry fails fast and
         // loud (the old behavior silently skipped it) without leaking half-created consumers.
         for (int i = 0; i < list.size(); i++) {
-            consumers.add(buildConsumer(i, list.get(i), dlqTimeout, retryPolicy, schemaCodec));
+            consumers.addAll(buildConsumers(i, list.get(i), dlqTimeout, retryPolicy, schemaCodec));
         }
     }
 
-    /** Validate one consumer-binding entry and build its {@link KafkaFlowConsumer} (fail-fast on any error). */
-    private KafkaFlowConsumer buildConsumer(int i, Object item, long dlqTimeout, RetryPolicy retryPolicy,
-                                            SchemaCodec schemaCodec) {
+    /**
+     * Validate one consumer-binding entry and build its {@link KafkaFlowConsumer} - plus one tier consumer per
+     * configured {@code retry-topics} entry (fail-fast on any error).
+     */
+    private List<KafkaFlowConsumer> buildConsumers(int i, Object item, long dlqTimeout, RetryPolicy retryPolicy,
+                                                   SchemaCodec schemaCodec) {
         if (!(item instanceof Map<?, ?> entry)) {
             throw new IllegalArgumentException("consumer[" + i + "] must be a map with 'topic' and 'flow'");
         }
@@ -205,6 +227,7 @@ public class KafkaFlowAdapter implements AutoCloseable {
         }
         String groupId = resolveGroupId(entry, topic, topicPattern != null);
         String dlqTopic = resolveDlqTopic(entry, i, label, topic, topicPattern);
+        List<RetryTier> retryTiers = resolveRetryTiers(entry, i, label, topic, topicPattern, dlqTopic);
         boolean autoCommit = isAutoCommit(entry);
         Integer maxPollRecords = parseMaxPollRecords(entry.get(MAX_POLL_RECORDS));
         // Cross-reference checks last: they depend on external wiring (compiled flows, the platform
@@ -228,12 +251,26 @@ public class KafkaFlowAdapter implements AutoCloseable {
                 .dlqTopic(dlqTopic).autoCommit(autoCommit).maxPollRecords(maxPollRecords)
                 .traceIdHeader(nestedText(entry, TRACE_ID_HEADER_FLAT))
                 .correlationIdHeader(nestedText(entry, CORRELATION_ID_HEADER_FLAT))
-                .traceparentHeader(nestedText(entry, TRACEPARENT_HEADER_FLAT));
+                .traceparentHeader(nestedText(entry, TRACEPARENT_HEADER_FLAT))
+                .retryTiers(retryTiers);
         KafkaConsumerBinding binding = (topicPattern != null ? builder.topicPattern(topicPattern)
                 : builder.topic(topic)).build();
         logBinding(label, binding);
-        return new KafkaFlowConsumer(newConsumer(binding, retryPolicy), binding, dlqTimeout, retryPolicy,
-                schemaEnabled ? schemaCodec : null);
+        SchemaCodec codec = schemaEnabled ? schemaCodec : null;
+        List<KafkaFlowConsumer> result = new ArrayList<>();
+        result.add(new KafkaFlowConsumer(newConsumer(binding, retryPolicy), binding, dlqTimeout, retryPolicy,
+                codec));
+        // A tier consumer is the same binding pointed at its tier topic: same target(s), group, decoding
+        // and dlq-topic, always group-managed (a pinned partition applies to the source topic only).
+        for (int k = 1; k <= retryTiers.size(); k++) {
+            RetryTier tier = retryTiers.get(k - 1);
+            KafkaConsumerBinding tierBinding = builder.topic(tier.topic()).partition(null).retryLevel(k).build();
+            logBinding("retry tier " + k + " topic '" + tier.topic() + "' (delay " + tier.delayMs() / 1000
+                    + "s) of " + label, tierBinding);
+            result.add(new KafkaFlowConsumer(newConsumer(tierBinding, retryPolicy), tierBinding, dlqTimeout,
+                    retryPolicy, codec));
+        }
+        return result;
     }
 
     /**
@@ -422,7 +459,7 @@ public class KafkaFlowAdapter implements AutoCloseable {
 
     /** Log a one-line summary of a resolved consumer binding. */
     private void logBinding(String label, KafkaConsumerBinding binding) {
-        log.info("Kafka flow adapter binding: {} -> {} (consumer group '{}'{}{}{}{}{}{}{}{}{})",
+        log.info("Kafka flow adapter binding: {} -> {} (consumer group '{}'{}{}{}{}{}{}{}{}{}{})",
                 label,
                 binding.routingRules() != null
                         ? "second-level routing (" + binding.routingRules().size() + " rules + default)"
@@ -433,6 +470,8 @@ public class KafkaFlowAdapter implements AutoCloseable {
                 binding.jsonSerializer() ? ", serializer 'json'" : "",
                 binding.taskTtlMs() != null ? ", task ttl " + (binding.taskTtlMs() / 1000) + "s" : "",
                 binding.dlqTopic() != null ? ", dlq-topic '" + binding.dlqTopic() + "'" : "",
+                binding.retryLevel() == 0 && !binding.retryTiers().isEmpty()
+                        ? ", " + binding.retryTiers().size() + " retry tier(s)" : "",
                 binding.autoCommit() ? ", auto-commit on" : "",
                 binding.traceIdHeader() != null ? ", trace-id header '" + binding.traceIdHeader() + "'" : "",
                 binding.correlationIdHeader() != null
@@ -462,6 +501,50 @@ public class KafkaFlowAdapter implements AutoCloseable {
         return dlqTopic;
     }
 
+    /**
+     * Resolve the optional {@code retry-topics} into ordered {@link RetryTier}s (an empty list when absent).
+     * Every tier needs a {@code topic} and a positive {@code delay}; a tier topic that equals the source
+     * {@code topic}, the {@code dlq-topic} or another tier, or that matches {@code topic-pattern}, is
+     * rejected because the binding would then re-consume its own retries as new messages. Visible for
+     * testing.
+     */
+    static List<RetryTier> resolveRetryTiers(Map<?, ?> entry, int i, String label, String topic,
+                                             String topicPattern, String dlqTopic) {
+        Object value = entry.get(RETRY_TOPICS);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list) || list.isEmpty()) {
+            throw new IllegalArgumentException("consumer[" + i + "] (" + label
+                    + ") 'retry-topics' must be a non-empty list of {topic, delay} entries");
+        }
+        List<RetryTier> tiers = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Object item : list) {
+            String tierTopic = item instanceof Map<?, ?> m ? text(m.get(TOPIC)) : null;
+            String delay = item instanceof Map<?, ?> m ? text(m.get(DELAY)) : null;
+            if (tierTopic == null || delay == null) {
+                throw new IllegalArgumentException("consumer[" + i + "] (" + label
+                        + ") each 'retry-topics' entry needs a 'topic' and a 'delay'");
+            }
+            long seconds = durationSeconds(delay);
+            if (seconds <= 0) {
+                throw new IllegalArgumentException("consumer[" + i + "] (" + label + ") retry topic '"
+                        + tierTopic + "' 'delay' must be a positive duration (e.g. '5s'), got '" + delay + "'");
+            }
+            if (tierTopic.equals(topic) || tierTopic.equals(dlqTopic) || !seen.add(tierTopic)) {
+                throw new IllegalArgumentException("consumer[" + i + "] (" + label + ") retry topic '"
+                        + tierTopic + "' must differ from the source 'topic', the 'dlq-topic' and other tiers");
+            }
+            if (topicPattern != null && Pattern.matches(topicPattern, tierTopic)) {
+                throw new IllegalArgumentException("consumer[" + i + "] (" + label + ") retry topic '"
+                        + tierTopic + "' must not match 'topic-pattern' - it would re-consume its own retries");
+            }
+            tiers.add(new RetryTier(tierTopic, seconds * 1000L));
+        }
+        return tiers;
+    }
+
     /**
      * Whether the binding opts into Kafka-native auto-commit instead of the default manual commit-after-
      * process contract. Visible for testing.
@@ -585,16 +668,18 @@ public class KafkaFlowAdapter implements AutoCloseable {
      * envelope, never lowering it below the Kafka default. An explicit {@code max.poll.interval.ms} in
      * the consumer template is an operator decision and is respected as-is, with a {@code WARN} when the
      * computed envelope exceeds it. Raising the interval is low-risk: crash liveness is detected by
-     * heartbeats/{@code session.timeout.ms} - this setting only bounds time between polls. Visible for
-     * testing.
+     * heartbeats/{@code session.timeout.ms} - this setting only bounds time between polls. A binding with
+     * {@code retry-topics} never retries on the poll thread, so its envelope is a single attempt. Visible
+     * for testing.
      */
     static void applyPollInterval(Properties p, KafkaConsumerBinding binding, RetryPolicy retryPolicy) {
         long maxPollRecords = Long.parseLong(p.getProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+        int retries = binding.retryTiers().isEmpty() ? retryPolicy.maxRetries() : 0;
         long envelopeMs;
         try {
             long perRecordMs = Math.addExact(
-                    Math.multiplyExact(retryPolicy.maxRetries() + 1L, maxTargetTtlMs(binding)),
-                    Math.multiplyExact(retryPolicy.maxRetries(), retryPolicy.backoffMs()));
+                    Math.multiplyExact(retries + 1L, maxTargetTtlMs(binding)),
+                    Math.multiplyExact(retries, retryPolicy.backoffMs()));
             envelopeMs = Math.addExact(Math.multiplyExact(perRecordMs, maxPollRecords),
                     POLL_INTERVAL_HEADROOM_MS);
         } catch (ArithmeticException e) {
@@ -42,9 +42,13 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -112,6 +116,14 @@ import java.util.regex.Pattern;
  * {@code ERROR} and the offset committed - see {@link #writeToDeadLetter} for why (avoiding a recovery
  * storm), the resulting data-loss caveat, and the planned alternative-path improvement.</p>
  *
+ * <p><b>Non-blocking retry tiers (opt-in).</b> When the binding has {@link KafkaConsumerBinding#retryTiers()},
+ * a failure is not retried inline. The message is republished to the next tier topic with a
+ * {@code retry.not.before} timestamp and the source offset is committed, so the partition moves on at
+ * once. A tier consumer ({@link KafkaConsumerBinding#retryLevel()} above 0) that polls a message whose
+ * not-before time is still in the future seeks back to it and pauses that partition until the time is due
+ * - the poll loop keeps running, so the consumer stays in its group. After the last tier the message is
+ * dead-lettered as usual, with {@code dlq.origin.topic} naming the original source topic.</p>
+ *
  * <p><b>Poll-loop resilience.</b> The loop survives the consumer exceptions that routinely follow a group
  * rebalance ({@link CommitFailedException}, {@link RebalanceInProgressException}) and Kafka's own
  * {@link RetriableException} family: the offending iteration is logged at {@code WARN} and the loop
@@ -155,6 +167,11 @@ public class KafkaFlowConsumer implements AutoCloseable {
     private static final String METADATA_KEY = "key";
     private static final String DLQ_ERROR_HEADER = "dlq.error";
     private static final String DLQ_ORIGIN_TOPIC_HEADER = "dlq.origin.topic";
+    // headers stamped on a message republished to a retry tier - package-private for the tests
+    static final String RETRY_ATTEMPT_HEADER = "retry.attempt";
+    static final String RETRY_NOT_BEFORE_HEADER = "retry.not.before";
+    static final String RETRY_ORIGIN_TOPIC_HEADER = "retry.origin.topic";
+    static final String RETRY_ERROR_HEADER = "retry.error";
     // deadline for a direct function target when the binding sets no 'ttl' - a bare function
     // has no flow ttl. Package-private: KafkaFlowAdapter reuses it when deriving
     // max.poll.interval.ms from the retry envelope
@@ -191,6 +208,8 @@ public class KafkaFlowConsumer implements AutoCloseable {
     private final String traceIdHeader;
     private final String traceparentHeader;
     private final ExecutorService loop;
+    /** Retry-tier partitions paused until their head message is due (epoch ms); poll thread only. */
+    private final Map<TopicPartition, Long> pausedUntil = new HashMap<>();
 
     private volatile boolean running;
 
@@ -248,8 +267,15 @@ public class KafkaFlowConsumer implements AutoCloseable {
      */
     private int pollOnce(int consecutiveFailures) {
         try {
+            resumeDuePartitions();
             ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+            Set<TopicPartition> deferred = new HashSet<>();
             for (ConsumerRecord<String, byte[]> consumerRecord : records) {
+                TopicPartition tp = new TopicPartition(consumerRecord.topic(), consumerRecord.partition());
+                if (deferred.contains(tp) || deferUntilDue(consumerRecord, tp)) {
+                    deferred.add(tp);   // the rest of this partition's batch is replayed after the resume
+                    continue;
+                }
                 if (routeToFlow(consumerRecord) && !binding.autoCommit()) {
                     commit(consumerRecord);   // commit only after the flow finished -> at-least-once
                 }
@@ -284,6 +310,56 @@ public class KafkaFlowConsumer implements AutoCloseable {
         }
     }
 
+    /**
+     * On a retry-tier consumer, hold back a message whose {@code retry.not.before} time has not come yet:
+     * seek back to it and pause its partition until then, rather than sleeping on the poll thread (which
+     * would get the consumer evicted from its group). Tiers are FIFO with one delay each, so the messages
+     * behind it are due no earlier and wait with it. Visible for testing.
+     *
+     * @return true when the message was deferred and must not be processed in this poll
+     */
+    boolean deferUntilDue(ConsumerRecord<String, byte[]> consumerRecord, TopicPartition tp) {
+        if (binding.retryLevel() == 0) {
+            return false;
+        }
+        var header = consumerRecord.headers().lastHeader(RETRY_NOT_BEFORE_HEADER);
+        long notBefore = header == null ? 0
+                : Utility.getInstance().str2long(new String(header.value(), StandardCharsets.UTF_8));
+        if (notBefore <= System.currentTimeMillis()) {
+            return false;
+        }
+        consumer.seek(tp, consumerRecord.offset());
+        consumer.pause(List.of(tp));
+        pausedUntil.put(tp, notBefore);
+        return true;
+    }
+
+    /**
+     * Resume the retry-tier partitions whose head message is now due. A partition revoked in a rebalance
+     * is simply forgotten - its new owner starts unpaused and re-applies the not-before check itself.
+     */
+    private void resumeDuePartitions() {
+        if (pausedUntil.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Set<TopicPartition> assigned = consumer.assignment();
+        List<TopicPartition> due = new ArrayList<>();
+        Iterator<Map.Entry<TopicPartition, Long>> it = pausedUntil.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TopicPartition, Long> entry = it.next();
+            if (!assigned.contains(entry.getKey())) {
+                it.remove();
+            } else if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+                it.remove();
+            }
+        }
+        if (!due.isEmpty()) {
+            consumer.resume(due);
+        }
+    }
+
     /** Pause after an unexpected poll-loop failure; an interruption stops the loop via running=false. */
     private void pause(long ms) {
         Utility.getInstance().sleep(ms);
@@ -445,7 +521,8 @@ public class KafkaFlowConsumer implements AutoCloseable {
     /**
      * Invoke the target (flow or task) with bounded retry, then dead-letter. A failure is a 4xx/5xx
      * reply or a thrown exception (flow/transport error, or a timeout when the target does not reply
-     * within its ttl).
+     * within its ttl). With retry tiers there is a single attempt here and a failure moves on to the
+     * next tier instead (see {@link #republishToNextTier}).
      *
      * @return whether the offset may be committed (see {@link #writeToDeadLetter}); false only on shutdown.
      */
@@ -473,6 +550,9 @@ public class KafkaFlowConsumer implements AutoCloseable {
                 // poll loop, which would kill the consumer thread and stall the binding permanently
                 cause = e;
             }
+            if (!binding.retryTiers().isEmpty()) {
+                return republishToNextTier(consumerRecord, targetLabel, cause);
+            }
             if (attempt >= retryPolicy.maxRetries()) {
                 log.warn("{} failed for a '{}' message after {} attempt(s); routing to {}",
                         targetLabel, consumerRecord.topic(), attempt + 1, deadLetterTopic, cause);
@@ -531,6 +611,53 @@ public class KafkaFlowConsumer implements AutoCloseable {
         return binding.taskTtlMs() != null ? binding.taskTtlMs() : DEFAULT_TASK_TTL_MS;
     }
 
+    /**
+     * Hand a failed message to the next retry tier with a confirmed write, or dead-letter it when this
+     * consumer already serves the last tier. The republished copy keeps the original headers and adds
+     * the attempt number, the not-before time, the error, and the topic it first arrived on. If the
+     * retry topic cannot be written, the message is dead-lettered instead of being held on this
+     * partition. Visible for testing.
+     *
+     * @return whether the offset may be committed (see {@link #writeToDeadLetter}); false only on shutdown.
+     */
+    // S2095: the publisher is the process-wide shared singleton - see writeToDeadLetter
+    @SuppressWarnings({"java:S2095", "resource"})
+    boolean republishToNextTier(ConsumerRecord<String, byte[]> consumerRecord, String targetLabel,
+                                Throwable cause) {
+        List<RetryTier> tiers = binding.retryTiers();
+        int level = binding.retryLevel();
+        KafkaRequestPublisher publisher = retryPolicy.deadLetterPublisher();
+        if (level >= tiers.size() || publisher == null) {
+            log.warn("{} failed for a '{}' message after {} retry tier(s); routing to {}",
+                    targetLabel, consumerRecord.topic(), level, deadLetterTopic, cause);
+            return writeToDeadLetter(consumerRecord, cause);
+        }
+        RetryTier next = tiers.get(level);
+        Map<String, byte[]> retryHeaders = new HashMap<>();
+        consumerRecord.headers().forEach(h -> retryHeaders.put(h.key(), h.value()));
+        retryHeaders.putIfAbsent(RETRY_ORIGIN_TOPIC_HEADER, consumerRecord.topic().getBytes(StandardCharsets.UTF_8));
+        retryHeaders.put(RETRY_ATTEMPT_HEADER, String.valueOf(level + 1).getBytes(StandardCharsets.UTF_8));
+        retryHeaders.put(RETRY_NOT_BEFORE_HEADER, String.valueOf(System.currentTimeMillis() + next.delayMs())
+                .getBytes(StandardCharsets.UTF_8));
+        retryHeaders.put(RETRY_ERROR_HEADER,
+                (cause != null ? cause.toString() : "unknown").getBytes(StandardCharsets.UTF_8));
+        try {
+            publisher.publishSync(next.topic(), null, consumerRecord.key(), retryHeaders,
+                    consumerRecord.value(), dlqTimeout);
+            log.warn("{} failed for a '{}' message; retrying via '{}' in {} ms",
+                    targetLabel, consumerRecord.topic(), next.topic(), next.delayMs(), cause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return false;   // shutdown in progress: redeliver on the next start, do not commit
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Unable to write to retry topic {} ({}); routing '{}' offset {} to {}",
+                    next.topic(), e.getMessage(), consumerRecord.topic(), consumerRecord.offset(), deadLetterTopic);
+            return writeToDeadLetter(consumerRecord, cause);
+        }
+    }
+
     /** Pause between retry attempts. @return false if interrupted while waiting (caller must not commit). */
     private boolean backoff() {
         if (retryPolicy.backoffMs() <= 0) {
@@ -584,11 +711,15 @@ public class KafkaFlowConsumer implements AutoCloseable {
         }
         Map<String, byte[]> deadLetterHeaders = new HashMap<>();
         consumerRecord.headers().forEach(h -> deadLetterHeaders.put(h.key(), h.value()));
-        deadLetterHeaders.put(DLQ_ORIGIN_TOPIC_HEADER, consumerRecord.topic().getBytes(StandardCharsets.UTF_8));
+        // a message dead-lettered from a retry tier names the topic it first arrived on
+        byte[] origin = deadLetterHeaders.get(RETRY_ORIGIN_TOPIC_HEADER);
+        deadLetterHeaders.put(DLQ_ORIGIN_TOPIC_HEADER,
+                origin != null ? origin : consumerRecord.topic().getBytes(StandardCharsets.UTF_8));
         deadLetterHeaders.put(DLQ_ERROR_HEADER,
                 (cause != null ? cause.toString() : "unknown").getBytes(StandardCharsets.UTF_8));
         try {
-            publisher.publishSync(deadLetterTopic, null, deadLetterHeaders, consumerRecord.value(), dlqTimeout);
+            publisher.publishSync(deadLetterTopic, null, consumerRecord.key(), deadLetterHeaders,
+                    consumerRecord.value(), dlqTimeout);
             return true;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -119,9 +119,21 @@ public class KafkaRequestPublisher implements AutoCloseable {
      */
     public void publishSync(String topic, Integer partition, Map<String, byte[]> headers, byte[] body,
                             long timeoutMs) throws ExecutionException, InterruptedException, TimeoutException {
-        ProducerRecord<String, byte[]> producerRecord = new ProducerRecord<>(topic, partition, null, body);
+        publishSync(topic, partition, null, headers, body, timeoutMs);
+    }
+
+    /**
+     * Same as {@link #publishSync(String, Integer, Map, byte[], long)} with a record key - used to
+     * republish a consumed record (retry tier, dead-letter) so it keeps the key of the original.
+     *
+     * @param key record key, or {@code null} for none
+     */
+    public void publishSync(String topic, Integer partition, String key, Map<String, byte[]> headers,
+                            byte[] body, long timeoutMs)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        ProducerRecord<String, byte[]> producerRecord = new ProducerRecord<>(topic, partition, key, body);
         if (headers != null) {
-            headers.forEach((key, value) -> producerRecord.headers().add(key, value));
+            headers.forEach((name, value) -> producerRecord.headers().add(name, value));
         }
         producer.send(producerRecord).get(timeoutMs, TimeUnit.MILLISECONDS);
     }
@@ -0,0 +1,37 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.mini.kafka;
+
+/**
+ * One non-blocking retry tier of a {@link KafkaConsumerBinding} ({@code retry-topics} in
+ * {@code kafka-flow-adapter.yaml}). Instead of sleeping on the poll thread between attempts, a failed
+ * message is republished to the tier's topic with a not-before timestamp, and a tier consumer - started by
+ * {@link KafkaFlowAdapter} alongside the main binding - replays it into the same target once the delay has
+ * passed. The source partition therefore moves on at once, and one slow-failing message no longer holds up
+ * the messages queued behind it.
+ *
+ * <p>Tiers are tried in order: a message failing on tier {@code k} is republished to tier {@code k+1}, and a
+ * message failing on the last tier is dead-lettered exactly like an exhausted inline retry. Tier topics must
+ * be pre-provisioned, the same as a {@code dlq-topic}.</p>
+ *
+ * @param topic   the retry topic of this tier.
+ * @param delayMs the minimum time in milliseconds a message waits on this tier before it is replayed.
+ */
+public record RetryTier(String topic, long delayMs) {
+}
@@ -24,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -60,6 +62,12 @@ import java.util.regex.PatternSyntaxException;
  * and keeps MultiLevelMap's {@code $}-JsonPath escape hatch (whose parser can throw) structurally
  * unreachable - '{@code $}'-prefixed keys are ordinary literal segments here.</p>
  *
+ * <p><b>Index.</b> Rules are grouped by selector when compiled, so each distinct header or body path
+ * is extracted at most once per record. Exact matchers sit in one hash map per selector (value to the
+ * earliest rule position declaring it), and a lookup in each map yields the earliest exact hit. Wildcard
+ * and regex rules stay in an ordered fallback list that is scanned only up to that position, which keeps
+ * first-match-wins intact while a binding with many exact rules pays a constant cost per record.</p>
+ *
  * <p><b>Targets.</b> {@code flow://<flow-id>} dispatches to an Event Script flow exactly as direct
  * {@code flow} routing does; {@code task://<route>} invokes a registered function directly (see
  * {@link KafkaFlowConsumer} for the dispatch contract). Any other scheme is rejected at compile time,
@@ -104,23 +112,46 @@ public final class RoutingRuleSet {
     private enum SelectorType { HEADER, BODY }
 
     /**
-     * One compiled rule: {@code pattern} is null in exact mode, {@code exact} is null in pattern mode.
-     * {@code key} is the header name (HEADER) or the precomputed lookup path under the synthetic
-     * {@code body} root (BODY), e.g. {@code body.event.kind} / {@code body[0].type}.
+     * One distinct lookup: {@code key} is the header name (HEADER) or the precomputed lookup path under
+     * the synthetic {@code body} root (BODY), e.g. {@code body.event.kind} / {@code body[0].type}.
      */
-    private record Rule(SelectorType selector, String key, String exact, Pattern pattern, Target target) {
+    private record Selector(SelectorType type, String key) { }
 
-        boolean matches(String value) {
-            return exact != null ? exact.equals(value) : pattern.matcher(value).matches();
-        }
-    }
+    /** One compiled rule: {@code pattern} is null in exact mode, {@code exact} is null in pattern mode. */
+    private record Rule(Selector selector, String exact, Pattern pattern, Target target) { }
+
+    /** A wildcard or regex rule in the ordered fallback list, tagged with its declaration position. */
+    private record PatternRule(int position, int slot, Pattern pattern) { }
 
     private final List<Rule> rules;
     private final Target defaultTarget;
+    private final Selector[] selectors;
+    // per selector slot: exact matcher value -> earliest declaring rule position
+    private final List<Map<String, Integer>> exactIndex;
+    private final PatternRule[] patternRules;
 
     private RoutingRuleSet(List<Rule> rules, Target defaultTarget) {
         this.rules = Collections.unmodifiableList(rules);
         this.defaultTarget = defaultTarget;
+        Map<Selector, Integer> slots = new LinkedHashMap<>();
+        List<Map<String, Integer>> exact = new ArrayList<>();
+        List<PatternRule> patterns = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            int slot = slots.computeIfAbsent(rule.selector(), k -> {
+                exact.add(new HashMap<>());
+                return slots.size();
+            });
+            if (rule.exact() != null) {
+                // a later duplicate of the same exact rule can never win - first match is kept
+                exact.get(slot).putIfAbsent(rule.exact(), i);
+            } else {
+                patterns.add(new PatternRule(i, slot, rule.pattern()));
+            }
+        }
+        this.selectors = slots.keySet().toArray(new Selector[0]);
+        this.exactIndex = exact;
+        this.patternRules = patterns.toArray(new PatternRule[0]);
     }
 
     /**
@@ -208,21 +239,22 @@ public final class RoutingRuleSet {
 
     /** Resolve the matcher mode: explicit {@code regex:} prefix > wildcard (contains {@code *}) > exact. */
     private static Rule newRule(SelectorType type, String key, String matcher, Target target, String raw) {
+        Selector selector = new Selector(type, key);
         if (matcher.startsWith(REGEX_PREFIX)) {
             String expression = matcher.substring(REGEX_PREFIX.length()).trim();
             if (expression.isEmpty()) {
                 throw new IllegalArgumentException(ROUTING_RULE + raw + "' has an empty regex expression");
             }
             try {
-                return new Rule(type, key, null, Pattern.compile(expression), target);
+                return new Rule(selector, null, Pattern.compile(expression), target);
             } catch (PatternSyntaxException e) {
                 throw new IllegalArgumentException(ROUTING_RULE + raw + "' regex is invalid: " + e.getMessage(), e);
             }
         }
         if (matcher.indexOf('*') >= 0) {
-            return new Rule(type, key, null, wildcardToPattern(matcher), target);
+            return new Rule(selector, null, wildcardToPattern(matcher), target);
         }
-        return new Rule(type, key, matcher, null, target);
+        return new Rule(selector, matcher, null, target);
     }
 
     /** Convert a wildcard matcher to an anchored pattern: literal segments quoted, each {@code *} = any run. */
@@ -266,24 +298,69 @@ public final class RoutingRuleSet {
      * @return the selected target (never null - the default is mandatory)
      */
     public Target select(Map<String, String> headers, Object body) {
-        MultiLevelMap bodyMap = body instanceof Map || body instanceof List
-                ? new MultiLevelMap(Map.of(BODY_ROOT, body)) : null;
-        for (Rule rule : rules) {
-            final String value;
+        Extraction values = new Extraction(headers, body);
+        // earliest exact hit across all selectors - one hash lookup per selector
+        int best = Integer.MAX_VALUE;
+        for (int slot = 0; slot < selectors.length; slot++) {
+            Map<String, Integer> exact = exactIndex.get(slot);
+            if (!exact.isEmpty()) {
+                String value = values.get(slot);
+                Integer position = value == null ? null : exact.get(value);
+                if (position != null && position < best) {
+                    best = position;
+                }
+            }
+        }
+        // only a pattern rule declared before that hit can still win
+        for (PatternRule rule : patternRules) {
+            if (rule.position() > best) {
+                break;
+            }
+            String value = values.get(rule.slot());
+            if (value != null && rule.pattern().matcher(value).matches()) {
+                return rules.get(rule.position()).target();
+            }
+        }
+        return best == Integer.MAX_VALUE ? defaultTarget : rules.get(best).target();
+    }
+
+    /** The per-record selector values, each extracted at most once and only when a rule needs it. */
+    private final class Extraction {
+        private final Map<String, String> headers;
+        private final Object body;
+        private final String[] values = new String[selectors.length];
+        private final boolean[] done = new boolean[selectors.length];
+        private MultiLevelMap bodyMap;
+
+        Extraction(Map<String, String> headers, Object body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String get(int slot) {
+            if (!done[slot]) {
+                done[slot] = true;
+                values[slot] = extract(selectors[slot]);
+            }
+            return values[slot];
+        }
+
+        private String extract(Selector selector) {
             try {
-                value = rule.selector() == SelectorType.HEADER
-                        ? headerValue(headers, rule.key()) : bodyValue(bodyMap, rule.key());
+                if (selector.type() == SelectorType.HEADER) {
+                    return headerValue(headers, selector.key());
+                }
+                if (bodyMap == null && (body instanceof Map || body instanceof List)) {
+                    bodyMap = new MultiLevelMap(Map.of(BODY_ROOT, body));
+                }
+                return bodyValue(bodyMap, selector.key());
             } catch (RuntimeException e) {
                 // the never-throws contract: a failed lookup is a non-match, never an error - this
                 // safety net protects the poll thread from any surprise in a path/value evaluation
-                log.debug("Routing rule lookup for '{}' failed; treated as a non-match", rule.key(), e);
-                continue;
-            }
-            if (value != null && rule.matches(value)) {
-                return rule.target();
+                log.debug("Routing rule lookup for '{}' failed; treated as a non-match", selector.key(), e);
+                return null;
             }
         }
-        return defaultTarget;
     }
 
     /**
@@ -18,24 +18,28 @@
 
 package org.platformlambda.mini.kafka;
 
-import org.platformlambda.core.annotations.KernelThreadRunner;
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.models.TraceInfo;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.PostOffice;
 import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.W3cTrace;
 import org.platformlambda.mini.kafka.schema.ResolvedSchema;
 import org.platformlambda.mini.kafka.schema.SchemaCodec;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+import static org.platformlambda.core.util.common.PlatformConstants.ENV_INSTANCES_PREFIX;
 
 /**
  * Kafka Notification Function - a minimalist composable function that publishes a Post Office event to a
@@ -61,27 +65,31 @@ import java.util.concurrent.ConcurrentMap;
  * while a {@code po.send} (async) caller simply doesn't observe it. The Mono is realized as {@code null}
  * (a {@code Void} body) on success.</p>
  *
- * <p><b>{@code @KernelThreadRunner}.</b> When the Schema Registry is used, this function builds Confluent
- * serializers, which use {@code synchronized} internally and are not thread-safe. Running on a kernel thread
- * (rather than a virtual thread) avoids pinning a virtual-thread carrier on those {@code synchronized}
- * sections, and each worker instance is single-flight. Therefore, each instance keeps its <b>own</b>
- * {@link SchemaCodec.Encoder} (in {@link #encoders}, keyed by instance), guaranteeing a Confluent serializer
- * is never touched by two threads at once.</p>
+ * <p><b>Pipelined publishing.</b> The function runs on virtual threads and never blocks on the broker: the
+ * producer callback completes the returned Mono, and the worker instance is released at that moment. A worker
+ * instance is therefore one in-flight publish, and {@code instances} is the in-flight limit - {@code 200} by
+ * default, tunable with {@code worker.instances.simple.kafka.notification}. With that many records in flight,
+ * the producer's own batching ({@code linger.ms}, {@code batch.size}) rather than the worker count bounds
+ * throughput, and the producer's {@code buffer.memory} remains the final back-pressure.</p>
  *
- * <p><b>Keep the worker pool small.</b> Because {@code @KernelThreadRunner} puts each instance on a (scarce)
- * kernel thread rather than a virtual thread, keep {@code instances} low - {@code 5} is the default here.
- * Kafka publishing is fast and mostly waits on the broker ack, so a handful of single-flight workers sustain
- * high throughput while holding kernel-thread usage down. Raise it only if profiling shows the publishing path
- * is genuinely the bottleneck.</p>
+ * <p><b>Schema encoding off the virtual threads.</b> Confluent serializers use {@code synchronized}
+ * internally and are not thread-safe. Encoding on a virtual thread would pin its carrier, so a schema publish
+ * hands the registry lookup and serialization to the platform's kernel thread pool. When the encoding completes,
+ * the publish moves back to a virtual thread, because {@code producer.send} can block up to {@code max.block.ms}
+ * (a metadata fetch or a full {@code buffer.memory}) and must not hold a kernel thread. Each encoding borrows an {@link SchemaCodec.Encoder} from {@link #idleEncoders} and returns
+ * it afterward, so a Confluent serializer is never touched by two threads at once, and the number of encoders
+ * never exceeds the number of concurrent encodings.</p>
  *
  * <p><b>Extension seam.</b> The publisher, schema codec, and outbound header names are resolved through
  * protected accessors, so a library that connects to an additional Kafka cluster (e.g. twin-kafka's
  * {@code secondary.kafka.notification}) can subclass this function and override only those accessors -
  * the routing, header propagation, trace stamping, and Confluent serialization logic is shared.</p>
  */
-@KernelThreadRunner
-@PreLoad(route = "simple.kafka.notification", instances = 5)
+@PreLoad(route = SimpleKafkaNotification.ROUTE, instances = 200,
+        envInstances = SimpleKafkaNotification.ENV_INSTANCE_PROPERTY)
 public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono<Void>> {
+    public static final String ROUTE = "simple.kafka.notification";
+    public static final String ENV_INSTANCE_PROPERTY = ENV_INSTANCES_PREFIX + ROUTE;
 
     // Read-only reserved headers injected by the framework; never forwarded to Kafka as raw headers.
     private static final String MY_ROUTE = "my_route";
@@ -102,8 +110,8 @@ public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono
     private static final String TRACEPARENT_HEADER = AppConfigReader.getInstance()
             .getProperty("kafka.traceparent.header", W3cTrace.TRACEPARENT);
 
-    // one Encoder per worker instance (an instance is single-flight) -> owner-confined Confluent serializers.
-    private final ConcurrentMap<Integer, SchemaCodec.Encoder> encoders = new ConcurrentHashMap<>();
+    // idle Encoders; an encoding borrows one exclusively -> owner-confined Confluent serializers.
+    private final ConcurrentLinkedQueue<SchemaCodec.Encoder> idleEncoders = new ConcurrentLinkedQueue<>();
 
     /** The publisher for the target cluster - twin-kafka overrides this for its secondary cluster. */
     protected KafkaRequestPublisher publisher() {
@@ -130,6 +138,11 @@ public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono
         return TRACEPARENT_HEADER;
     }
 
+    /** The executor for schema encoding - the platform's kernel thread pool (see the class Javadoc). */
+    protected Executor encodingExecutor() {
+        return Platform.getInstance().getKernelThreadExecutor();
+    }
+
     /** The registry-url application property named in error messages (for accurate diagnostics). */
     protected String registryUrlKey() {
         return "schema.registry.url";
@@ -177,8 +190,18 @@ public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono
                 kafkaHeaders.put(traceHeader, traceId.getBytes(StandardCharsets.UTF_8));
             }
         }
-        byte[] payload = encode(topic, headers, body, instance);
-        return publisher().publish(topic, partition, kafkaHeaders, payload);
+        KafkaRequestPublisher publisher = publisher();
+        String subject = headers.get(KafkaHeaders.SUBJECT);
+        if (subject == null || subject.isBlank()) {
+            // NON-schema topic: the raw bytes are ready, so publish inline
+            return publisher.publish(topic, partition, kafkaHeaders, toBytes(body));
+        }
+        String version = headers.getOrDefault(KafkaHeaders.VERSION, KafkaHeaders.DEFAULT_VERSION);
+        CompletableFuture<byte[]> payload = encode(topic, subject, version, body);
+        // the encoding completes on a kernel thread - hand the possibly blocking send back to a virtual thread
+        return Mono.fromFuture(payload)
+                .publishOn(Schedulers.fromExecutor(Platform.getInstance().getVirtualThreadExecutor()))
+                .flatMap(bytes -> publisher.publish(topic, partition, kafkaHeaders, bytes));
     }
 
     /**
@@ -201,18 +224,14 @@ public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono
     }
 
     /**
-     * When a {@code subject} header is present, serialize the body into the Confluent wire format via this
-     * instance's own {@link SchemaCodec.Encoder}: the {@code subject} + {@code version} (default
-     * {@code latest}) are resolved to a global schema id and type, and the body is framed with that id -
-     * the schema-path body contract stays byte[] (a JSON document), unchanged. Otherwise (a NON-schema
-     * topic) the body is published as raw byte[], with a Map/List auto-serialized to JSON bytes first
-     * (see {@link #toBytes}) - the JSON convenience applies to non-schema-registry topics only.
+     * Serialize the body into the Confluent wire format for a {@code subject} header: the {@code subject} +
+     * {@code version} (default {@code latest}) are resolved to a global schema id and type, and the body is
+     * framed with that id - the schema-path body contract stays byte[] (a JSON document), unchanged. The
+     * contract is checked on the caller's thread so that a misuse fails fast; the registry lookup and the
+     * Confluent serialization run on the {@link #encodingExecutor} with a borrowed {@link SchemaCodec.Encoder}.
+     * A NON-schema topic never gets here - its body is published as raw byte[] (see {@link #toBytes}).
      */
-    private byte[] encode(String topic, Map<String, String> headers, Object body, int instance) {
-        String subject = headers.get(KafkaHeaders.SUBJECT);
-        if (subject == null || subject.isBlank()) {
-            return toBytes(body);
-        }
+    private CompletableFuture<byte[]> encode(String topic, String subject, String version, Object body) {
         if (!(body instanceof byte[] document)) {
             throw new IllegalArgumentException("body must be byte[] (a JSON document) when '"
                     + KafkaHeaders.SUBJECT + "' is set, got "
@@ -223,13 +242,21 @@ public class SimpleKafkaNotification implements TypedLambdaFunction<Object, Mono
             throw new IllegalStateException("'" + KafkaHeaders.SUBJECT + "' header set but '"
                     + registryUrlKey() + "' is not configured");
         }
-        String version = headers.getOrDefault(KafkaHeaders.VERSION, KafkaHeaders.DEFAULT_VERSION);
-        // Resolve subject+version -> global id + type (cached); throws IllegalState/IllegalArgument on failure.
-        ResolvedSchema resolved = codec.resolve(subject, version);
-        // The body is the structured value to encode (for JSON, a JSON document); parse it for the serializer.
-        Object value = SimpleMapper.getInstance().getMapper().readValue(document, Object.class);
-        SchemaCodec.Encoder encoder = encoders.computeIfAbsent(instance, i -> codec.newEncoder());
-        return encoder.serialize(topic, resolved.type(), resolved.id(), value);
+        return CompletableFuture.supplyAsync(() -> {
+            // Resolve subject+version -> global id + type (cached); throws IllegalState/IllegalArgument on failure.
+            ResolvedSchema resolved = codec.resolve(subject, version);
+            // The body is the structured value to encode (for JSON, a JSON document); parse it for the serializer.
+            Object value = SimpleMapper.getInstance().getMapper().readValue(document, Object.class);
+            SchemaCodec.Encoder encoder = idleEncoders.poll();
+            if (encoder == null) {
+                encoder = codec.newEncoder();
+            }
+            try {
+                return encoder.serialize(topic, resolved.type(), resolved.id(), value);
+            } finally {
+                idleEncoders.offer(encoder);
+            }
+        }, encodingExecutor());
     }
 
     /** Build a W3C traceparent from this function's current trace context (null if tracing is off). */
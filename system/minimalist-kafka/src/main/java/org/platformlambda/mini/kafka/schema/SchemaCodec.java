@@ -55,7 +55,7 @@ import java.util.function.Supplier;
  * a <b>factory</b>, not a shared (de)serializer holder: the shared, thread-safe parts - the
  * {@link ManagedCacheSchemaRegistryClient} (id→schema lookups, in-memory cached) and {@link #schemaTypeOf} - stay on
  * the singleton, while {@link #newEncoder()} / {@link #newDecoder()} mint <b>owner-confined</b> serde sets. A
- * producer keeps one {@link Encoder} per worker instance (an instance is single-flight); a consumer keeps one
+ * producer borrows an {@link Encoder} exclusively for each encoding and returns it after; a consumer keeps one
  * {@link Decoder} for its single poll thread. So a given Confluent serializer/deserializer is only ever
  * touched by one thread at a time. JSON and Avro are wired.</p>
  *
@@ -103,7 +103,7 @@ public class SchemaCodec {
     /**
      * The classloader that loaded the Confluent serde classes. Confluent's config validation resolves classes
      * (e.g. the default {@code context.name.strategy} → {@code NullContextNameStrategy}) via the <b>thread
-     * context</b> classloader. When the producer runs on a {@code @KernelThreadRunner} pool thread - whose
+     * context</b> classloader. When the producer encodes on a kernel thread pool thread - whose
      * context classloader is not the application's - that lookup fails. Therefore, a serde build/use is wrapped with
      * {@link #withSerdeClassLoader} to set this for the duration of the call and restore the previous one after.
      */
@@ -200,6 +200,55 @@ class KafkaFlowAdapterConfigTest {
         assertNull(KafkaFlowAdapter.resolveDlqTopic(Map.of(), 0, "topic 'orders'", "orders", null));
     }
 
+    @Test
+    void resolvesRetryTiersInOrder() {
+        List<RetryTier> tiers = KafkaFlowAdapter.resolveRetryTiers(Map.of("retry-topics", List.of(
+                Map.of("topic", "orders-retry-5s", "delay", "5s"),
+                Map.of("topic", "orders-retry-1m", "delay", "1m"))),
+                0, "topic 'orders'", "orders", null, "orders-poison");
+        assertEquals(List.of(new RetryTier("orders-retry-5s", 5000), new RetryTier("orders-retry-1m", 60000)),
+                tiers);
+    }
+
+    @Test
+    void absentRetryTopicsIsEmpty() {
+        assertTrue(KafkaFlowAdapter.resolveRetryTiers(Map.of(), 0, "topic 'orders'", "orders", null, null)
+                .isEmpty());
+    }
+
+    @Test
+    void rejectsRetryTopicEqualToSourceOrDlqTopic() {
+        for (String bad : List.of("orders", "orders-poison")) {
+            Map<String, Object> entry = Map.of("retry-topics", List.of(Map.of("topic", bad, "delay", "5s")));
+            assertThrows(IllegalArgumentException.class, () -> KafkaFlowAdapter.resolveRetryTiers(
+                    entry, 0, "topic 'orders'", "orders", null, "orders-poison"));
+        }
+    }
+
+    @Test
+    void rejectsRetryTopicMatchingSourcePattern() {
+        ConfigReader config = config(List.of(Map.of("topic-pattern", "events\\.[a-z]{2}", "flow", "f",
+                "group", "g", "retry-topics", List.of(Map.of("topic", "events.rt", "delay", "5s")))));
+        assertThrows(IllegalArgumentException.class, () -> build(config));
+    }
+
+    @Test
+    void rejectsRetryTopicWithoutPositiveDelay() {
+        for (Object delay : List.of("0s", "soon")) {
+            Map<String, Object> entry = Map.of("retry-topics",
+                    List.of(Map.of("topic", "orders-retry", "delay", delay)));
+            assertThrows(IllegalArgumentException.class, () -> KafkaFlowAdapter.resolveRetryTiers(
+                    entry, 0, "topic 'orders'", "orders", null, null));
+        }
+    }
+
+    @Test
+    void rejectsDuplicateRetryTopics() {
+        ConfigReader config = config(List.of(Map.of("topic", "orders", "flow", "f", "retry-topics", List.of(
+                Map.of("topic", "orders-retry", "delay", "5s"), Map.of("topic", "orders-retry", "delay", "1m")))));
+        assertThrows(IllegalArgumentException.class, () -> build(config));
+    }
+
     @Test
     void isAutoCommitParsesBooleanFlag() {
         assertTrue(KafkaFlowAdapter.isAutoCommit(Map.of("auto-commit", "true")));
@@ -288,6 +337,17 @@ class KafkaFlowAdapterConfigTest {
         assertEquals("3010000", p.getProperty("max.poll.interval.ms"));
     }
 
+    @Test
+    void retryTiersKeepThePollIntervalEnvelopeToOneAttempt() {
+        Properties p = new Properties();
+        KafkaConsumerBinding binding = KafkaConsumerBinding.builder().topic("orders").flowId("f")
+                .taskTtlMs(120000L).retryTiers(List.of(new RetryTier("orders-retry", 5000))).build();
+        KafkaFlowAdapter.applyDeliveryMode(p, binding);
+        KafkaFlowAdapter.applyPollInterval(p, binding, new RetryPolicy(3, 500, null));
+        // failures move on to the retry topic, so the inline envelope is 1 x 120000 + 10000 headroom
+        assertEquals("300000", p.getProperty("max.poll.interval.ms"));
+    }
+
     @Test
     void explicitPollIntervalFromTheConsumerTemplateIsRespected() {
         Properties p = new Properties();
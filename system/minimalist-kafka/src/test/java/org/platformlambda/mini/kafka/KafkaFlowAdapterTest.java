@@ -75,6 +75,9 @@ class KafkaFlowAdapterTest {
     private static final String ROUTED_TOPIC = "routed-test-topic";
     // second-level routing on a schema-enabled binding (input.body rules on the Confluent-decoded Map)
     private static final String ROUTED_SCHEMA_TOPIC = "routed-schema-topic";
+    // binding with a 1s retry tier; the sink fails a message on the source topic and records the tier copy
+    private static final String RETRY_TOPIC = KafkaRetrySinkTask.SOURCE_TOPIC;
+    private static final String RETRY_TIER_TOPIC = "retry-test-topic-retry-1s";
     private static final String JSON_SCHEMA =
             "{\"type\":\"object\",\"properties\":{\"hello\":{\"type\":\"string\"}},\"additionalProperties\":true}";
     private static final String AVRO_SCHEMA =
@@ -97,6 +100,8 @@ class KafkaFlowAdapterTest {
         KafkaTestSupport.createTopic(kafka.bootstrapServers(), PATTERN_TOPIC, 2);
         KafkaTestSupport.createTopic(kafka.bootstrapServers(), ROUTED_TOPIC);
         KafkaTestSupport.createTopic(kafka.bootstrapServers(), ROUTED_SCHEMA_TOPIC);
+        KafkaTestSupport.createTopic(kafka.bootstrapServers(), RETRY_TOPIC);
+        KafkaTestSupport.createTopic(kafka.bootstrapServers(), RETRY_TIER_TOPIC);
         // self-contained, in-JVM Confluent-compatible registry on a random port. Set the exact config key
         // as a system property (ConfigReader consults system properties before the file, at get-time) so it
         // wins regardless of when AppConfigReader was first loaded by other tests. The id->schema cache is
@@ -486,6 +491,19 @@ class KafkaFlowAdapterTest {
         assertEquals("not-json-payload", new String(body, StandardCharsets.UTF_8));
     }
 
+    @Test
+    void retryTierRepublishesWithTheOriginalKey() throws Exception {
+        KafkaRetrySinkTask.RECEIVED.clear();
+        KafkaRuntime.publisher().publishSync(RETRY_TOPIC, null, "order-42", Map.of(),
+                "{\"hello\":\"retry\"}".getBytes(StandardCharsets.UTF_8), 5000);
+
+        Map<String, Object> received = KafkaRetrySinkTask.RECEIVED.poll(25, TimeUnit.SECONDS);
+        assertNotNull(received, "the failed message should be replayed from the retry tier");
+        assertEquals(RETRY_TIER_TOPIC, received.get("topic"));
+        assertEquals("order-42", received.get("key"), "the retry copy keeps the record key of the original");
+        assertEquals("{\"hello\":\"retry\"}", received.get("body"));
+    }
+
     @Test
     void rejectsUnknownTaskRouteAtStartup() {
         // a task:// target must exist in the platform registry when the adapter starts (functions
@@ -200,6 +200,72 @@ class KafkaFlowConsumerTest {
         assertEquals(0, dlqProducer.history().size(), "no dead-letter on eventual success");
     }
 
+    @Test
+    void retryTierTakesTheFailureWithoutBlockingThePartition() {
+        MockProducer<String, byte[]> producer = autoCompletingProducer();
+        RetryPolicy policy = new RetryPolicy(5, 60000, new KafkaRequestPublisher(producer));
+        KafkaConsumerBinding tiered = binding().dlqTopic(DLQ_TOPIC)
+                .retryTiers(List.of(new RetryTier("orders-retry-5s", 5000))).build();
+        AlwaysFailingConsumer consumer = new AlwaysFailingConsumer(Integer.MAX_VALUE, policy, tiered);
+        long before = System.currentTimeMillis();
+
+        boolean commit = consumer.routeToFlow(inboundRecord());
+
+        assertTrue(commit, "the source offset commits as soon as the retry copy is durable");
+        assertEquals(1, consumer.attempts.get(), "no inline retry or backoff on the poll thread");
+        ProducerRecord<String, byte[]> retry = producer.history().getFirst();
+        assertEquals("orders-retry-5s", retry.topic());
+        assertEquals("k", retry.key(), "the retry copy keeps the record key");
+        assertEquals("payload", new String(retry.value(), UTF_8));
+        assertEquals("cid-1", new String(retry.headers().lastHeader("cid").value(), UTF_8));
+        assertEquals("1", new String(retry.headers().lastHeader("retry.attempt").value(), UTF_8));
+        assertEquals("orders", new String(retry.headers().lastHeader("retry.origin.topic").value(), UTF_8));
+        long notBefore = Long.parseLong(new String(retry.headers().lastHeader("retry.not.before").value(), UTF_8));
+        assertTrue(notBefore >= before + 5000, "the tier delay is stamped as a not-before time");
+    }
+
+    @Test
+    void lastRetryTierDeadLettersWithTheOriginalTopic() {
+        MockProducer<String, byte[]> producer = autoCompletingProducer();
+        RetryPolicy policy = new RetryPolicy(0, 0, new KafkaRequestPublisher(producer));
+        KafkaConsumerBinding lastTier = binding().dlqTopic(DLQ_TOPIC)
+                .retryTiers(List.of(new RetryTier("orders-retry-5s", 5000)))
+                .topic("orders-retry-5s").retryLevel(1).build();
+        AlwaysFailingConsumer consumer = new AlwaysFailingConsumer(Integer.MAX_VALUE, policy, lastTier);
+        ConsumerRecord<String, byte[]> r =
+                new ConsumerRecord<>("orders-retry-5s", 0, 3L, "k", "payload".getBytes(UTF_8));
+        r.headers().add("retry.origin.topic", "orders".getBytes(UTF_8));
+
+        assertTrue(consumer.routeToFlow(r));
+
+        ProducerRecord<String, byte[]> dead = producer.history().getFirst();
+        assertEquals(DLQ_TOPIC, dead.topic(), "no further tier, so the message is dead-lettered");
+        assertEquals("k", dead.key());
+        assertEquals("orders", new String(dead.headers().lastHeader("dlq.origin.topic").value(), UTF_8),
+                "the dlq origin is the source topic, not the retry topic it failed on last");
+    }
+
+    @Test
+    void retryTierPausesAPartitionUntilItsMessageIsDue() {
+        MockConsumer<String, byte[]> mock = new MockConsumer<>("earliest");
+        TopicPartition tp = new TopicPartition("orders-retry-5s", 0);
+        mock.assign(List.of(tp));
+        mock.updateBeginningOffsets(Map.of(tp, 0L));
+        KafkaConsumerBinding tier = binding().retryTiers(List.of(new RetryTier("orders-retry-5s", 5000)))
+                .topic("orders-retry-5s").retryLevel(1).build();
+        KafkaFlowConsumer consumer = new KafkaFlowConsumer(mock, tier, 1000, new RetryPolicy(0, 0, null), null);
+        ConsumerRecord<String, byte[]> early = new ConsumerRecord<>("orders-retry-5s", 0, 4L, "k", new byte[0]);
+        early.headers().add("retry.not.before",
+                String.valueOf(System.currentTimeMillis() + 60000).getBytes(UTF_8));
+        ConsumerRecord<String, byte[]> due = new ConsumerRecord<>("orders-retry-5s", 0, 5L, "k", new byte[0]);
+        due.headers().add("retry.not.before", String.valueOf(System.currentTimeMillis() - 1).getBytes(UTF_8));
+
+        assertFalse(consumer.deferUntilDue(due, tp), "a due message is delivered right away");
+        assertTrue(consumer.deferUntilDue(early, tp));
+        assertEquals(Set.of(tp), mock.paused(), "the partition waits without blocking the poll loop");
+        assertEquals(4L, mock.position(tp), "the deferred message is replayed after the resume");
+    }
+
     @Test
     void pinsPartitionWhenConfigured() {
         MockConsumer<String, byte[]> mock = new MockConsumer<>("earliest");
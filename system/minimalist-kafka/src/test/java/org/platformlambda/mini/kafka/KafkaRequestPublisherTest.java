@@ -116,5 +116,15 @@ class KafkaRequestPublisherTest {
         assertEquals("orders.dlq", sent.topic());
         assertEquals("body", new String(sent.value(), UTF_8));
         assertEquals("boom", new String(sent.headers().lastHeader("dlq.error").value(), UTF_8));
+        assertNull(sent.key());
+    }
+
+    @Test
+    void publishSyncKeepsRecordKey() throws Exception {
+        MockProducer<String, byte[]> producer = autoCompletingProducer();
+        try (KafkaRequestPublisher publisher = new KafkaRequestPublisher(producer)) {
+            publisher.publishSync("orders-retry-5s", null, "order-42", null, "body".getBytes(UTF_8), 5000);
+        }
+        assertEquals("order-42", producer.history().getFirst().key());
     }
 }
@@ -0,0 +1,54 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.mini.kafka;
+
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.exception.AppException;
+import org.platformlambda.core.models.TypedLambdaFunction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Test sink: the task of the {@code kafka-retry-sink-flow}. A message arriving on the source topic fails,
+ * so the adapter republishes it to the binding's retry tier; the copy arriving on the tier is recorded
+ * with its topic and key so the test can assert the retry kept the original record key.
+ */
+@PreLoad(route = "kafka.retry.test.sink", instances = 5)
+public class KafkaRetrySinkTask implements TypedLambdaFunction<byte[], Map<String, Object>> {
+
+    static final String SOURCE_TOPIC = "retry-test-topic";
+    static final BlockingQueue<Map<String, Object>> RECEIVED = new ArrayBlockingQueue<>(16);
+
+    @Override
+    public Map<String, Object> handleEvent(Map<String, String> headers, byte[] input, int instance) {
+        if (SOURCE_TOPIC.equals(headers.get("topic"))) {
+            throw new AppException(500, "simulated failure");
+        }
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("topic", headers.get("topic"));
+        entry.put("key", headers.get("key"));
+        entry.put("body", new String(input, StandardCharsets.UTF_8));
+        RECEIVED.add(entry);
+        return Map.of("status", "received");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.mini.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing cost per record as the {@code flows} rule list grows. Most rules are exact header or body
+ * matchers, with a few wildcard rules mixed in, and every record matches the LAST rule - the worst case
+ * for a declaration-order scan. With the per-selector index the cost should stay roughly flat.
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/minimalist-kafka test -Dtest=RoutingRuleSetBenchmarkTest -Dbench.run=true
+ */
+class RoutingRuleSetBenchmarkTest {
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void routingCostByRuleCount() {
+        int iterations = Integer.getInteger("bench.iterations", 1_000_000);
+        System.out.printf("%n============= Routing cost, %,d records per rule set =============%n", iterations);
+        for (int size : new int[] {10, 100, 1000}) {
+            RoutingRuleSet rules = RoutingRuleSet.compile(ruleSet(size));
+            Map<String, String> headers = Map.of("type", "order-" + (size - 1), "region", "eu");
+            Map<String, Object> body = Map.of("event", Map.of("kind", "kind-" + (size - 1)));
+            RoutingRuleSet.Target expected = new RoutingRuleSet.Target(false, "flow-" + (size - 1));
+            // warm up
+            for (int i = 0; i < iterations / 10; i++) {
+                assertEquals(expected, rules.select(headers, body));
+            }
+            long t0 = System.nanoTime();
+            int hits = 0;
+            for (int i = 0; i < iterations; i++) {
+                if (expected.equals(rules.select(headers, body))) {
+                    hits++;
+                }
+            }
+            double nsPerRecord = (System.nanoTime() - t0) / (double) iterations;
+            System.out.printf("rules=%,5d  %,.0f ns/record  hits=%,d%n", size, nsPerRecord, hits);
+        }
+        System.out.println("==================================================================");
+    }
+
+    /**
+     * Rule i routes to flow-i. Every tenth rule is a wildcard that never matches the probe record; the
+     * last rule is an exact header match, so a sequential scan would visit every rule first.
+     */
+    private static List<String> ruleSet(int size) {
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < size - 1; i++) {
+            if (i % 10 == 9) {
+                rules.add("input.header.region(apac-" + i + "-*) -> flow://flow-" + i);
+            } else if (i % 2 == 0) {
+                rules.add("input.header.type(order-" + i + ") -> flow://flow-" + i);
+            } else {
+                rules.add("input.body.event.kind(kind-" + i + ") -> flow://flow-" + i);
+            }
+        }
+        rules.add("input.header.type(order-" + (size - 1) + ") -> flow://flow-" + (size - 1));
+        rules.add("default -> flow://catch-all");
+        return rules;
+    }
+}
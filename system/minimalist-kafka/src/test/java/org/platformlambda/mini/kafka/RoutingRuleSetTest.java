@@ -62,6 +62,34 @@ class RoutingRuleSetTest {
         assertEquals(flow("catch-all"), rules.select(Map.of("type", "invoice"), RAW));
     }
 
+    @Test
+    void patternDeclaredBeforeAnExactMatchStillWins() {
+        RoutingRuleSet rules = compile(
+                "input.header.type(order-*) -> flow://wildcard-flow",
+                "input.header.type(order-1) -> flow://specific-flow",
+                "input.header.type(invoice) -> flow://invoice-flow",
+                CATCH_ALL);
+        // the exact index finds rule 2, but the earlier wildcard rule matches first
+        assertEquals(flow("wildcard-flow"), rules.select(Map.of("type", "order-1"), RAW));
+        assertEquals(flow("invoice-flow"), rules.select(Map.of("type", "invoice"), RAW));
+    }
+
+    @Test
+    void earliestExactMatchWinsAcrossSelectors() {
+        RoutingRuleSet rules = compile(
+                "input.header.region(eu) -> flow://region-flow",
+                "input.body.kind(refund) -> task://v1.refund",
+                "input.header.type(order) -> flow://order-flow",
+                "input.header.type(order) -> flow://duplicate-flow",
+                CATCH_ALL);
+        assertEquals(task("v1.refund"),
+                rules.select(Map.of("type", "order"), Map.of("kind", "refund")));
+        assertEquals(flow("region-flow"),
+                rules.select(Map.of("type", "order", "region", "eu"), Map.of("kind", "refund")));
+        // a repeated exact rule can never win - the first declaration keeps the slot
+        assertEquals(flow("order-flow"), rules.select(Map.of("type", "order"), RAW));
+    }
+
     @Test
     void headerNameLookupIsCaseInsensitiveButValueStaysCaseSensitive() {
         RoutingRuleSet rules = compile("input.header.type(order) -> flow://order-flow", CATCH_ALL);
@@ -18,14 +18,29 @@
 
 package org.platformlambda.mini.kafka;
 
+import io.confluent.kafka.schemaregistry.json.JsonSchema;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.Test;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.mini.kafka.schema.SchemaCodec;
 import org.platformlambda.core.serializers.SimpleMapper;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,8 +49,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
  * Unit tests for the notification function's body handling - the outbound symmetry of the flow
  * adapter's inbound {@code serializer: 'json'}: a Map or List body auto-serializes to JSON bytes,
- * byte[] passes through verbatim, null stays null (a Kafka tombstone). The publishing path itself is
- * proven end-to-end in {@link KafkaFlowAdapterTest}.
+ * byte[] passes through verbatim, null stays null (a Kafka tombstone). It also checks that the worker
+ * instances bound the in-flight publishes, and which threads run the schema encoding and the send. The
+ * publishing path itself is proven end-to-end in {@link KafkaFlowAdapterTest}.
  */
 class SimpleKafkaNotificationTest {
 
@@ -76,4 +92,119 @@ class SimpleKafkaNotificationTest {
                 () -> notification.handleEvent(headers, mapBody, 1));
         assertTrue(ex.getMessage().contains("body must be byte[]"), ex.getMessage());
     }
+
+    @Test
+    void schemaPathWithoutRegistryFailsFastOnTheCallerThread() {
+        // the contract checks run before the encoding is handed to the kernel thread pool,
+        // so a misconfiguration surfaces as an exception rather than a failed Mono
+        SimpleKafkaNotification notification = new SimpleKafkaNotification() {
+            @Override
+            protected SchemaCodec schemaCodec() {
+                return null;
+            }
+        };
+        Map<String, String> headers = Map.of(KafkaHeaders.TOPIC, "t1", KafkaHeaders.SUBJECT, "t1-value",
+                "my_route", "unit.test", "my_trace_id", "trace-1", "my_trace_path", "TEST /unit");
+        byte[] document = "{}".getBytes(StandardCharsets.UTF_8);
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> notification.handleEvent(headers, document, 1));
+        assertTrue(ex.getMessage().contains("schema.registry.url"), ex.getMessage());
+    }
+
+    @Test
+    void workerInstancesLimitTheInFlightPublishes() throws Exception {
+        // a worker instance is released only when the broker acknowledges, so with 3 instances
+        // at most 3 records are in flight however many events are sent
+        MockProducer<String, byte[]> producer =
+                new MockProducer<>(false, null, new StringSerializer(), new ByteArraySerializer());
+        KafkaRequestPublisher publisher = new KafkaRequestPublisher(producer);
+        SimpleKafkaNotification notification = new SimpleKafkaNotification() {
+            @Override
+            protected KafkaRequestPublisher publisher() {
+                return publisher;
+            }
+        };
+        String route = "in.flight.kafka.notification";
+        Platform.getInstance().registerPrivate(route, notification, 3);
+        EventEmitter po = EventEmitter.getInstance();
+        for (int i = 0; i < 10; i++) {
+            po.send(new EventEnvelope().setTo(route).setHeader(KafkaHeaders.TOPIC, "t1")
+                    .setBody(("m" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        assertTrue(awaitSent(producer, 3));
+        // the remaining events wait for a free worker instead of adding to the in-flight records
+        Thread.sleep(300);
+        assertEquals(3, producer.history().size());
+        int acknowledged = 0;
+        while (acknowledged < 10 && awaitSent(producer, acknowledged + 1)) {
+            assertTrue(producer.history().size() - acknowledged <= 3, "more than 3 records in flight");
+            producer.completeNext();
+            acknowledged++;
+        }
+        assertEquals(10, acknowledged);
+        Platform.getInstance().release(route);
+    }
+
+    @Test
+    void schemaEncodingRunsOffTheCallerAndTheSendOnVirtualThreads() throws Exception {
+        Set<Thread> encodingThreads = ConcurrentHashMap.newKeySet();
+        Set<Thread> publishingThreads = ConcurrentHashMap.newKeySet();
+        MockProducer<String, byte[]> producer =
+                new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+        KafkaRequestPublisher publisher = new KafkaRequestPublisher(producer) {
+            @Override
+            public Mono<Void> publish(String topic, Integer partition, Map<String, byte[]> headers, byte[] body) {
+                publishingThreads.add(Thread.currentThread());
+                return super.publish(topic, partition, headers, body);
+            }
+        };
+        try (EmbeddedSchemaRegistry registry = new EmbeddedSchemaRegistry()) {
+            SchemaCodec codec = SchemaCodec.fromConfig(AppConfigReader.getInstance(), registry.baseUrl());
+            codec.client().register("t1-value", new JsonSchema(
+                    "{\"type\":\"object\",\"properties\":{\"hello\":{\"type\":\"string\"}}}"));
+            SimpleKafkaNotification notification = new SimpleKafkaNotification() {
+                @Override
+                protected KafkaRequestPublisher publisher() {
+                    return publisher;
+                }
+
+                @Override
+                protected SchemaCodec schemaCodec() {
+                    return codec;
+                }
+
+                @Override
+                protected Executor encodingExecutor() {
+                    Executor kernel = super.encodingExecutor();
+                    return task -> kernel.execute(() -> {
+                        encodingThreads.add(Thread.currentThread());
+                        task.run();
+                    });
+                }
+            };
+            Map<String, String> headers = Map.of(KafkaHeaders.TOPIC, "t1", KafkaHeaders.SUBJECT, "t1-value",
+                    "my_route", "unit.test", "my_trace_id", "trace-1", "my_trace_path", "TEST /unit");
+            byte[] document = "{\"hello\":\"world\"}".getBytes(StandardCharsets.UTF_8);
+            notification.handleEvent(headers, document, 1).block();
+        }
+        assertEquals(1, producer.history().size());
+        assertTrue(SchemaCodec.isFramed(producer.history().getFirst().value()));
+        assertEquals(1, encodingThreads.size());
+        Thread encoder = encodingThreads.iterator().next();
+        assertNotSame(Thread.currentThread(), encoder);
+        assertFalse(encoder.isVirtual(), "schema encoding must not pin a virtual thread's carrier");
+        assertEquals(1, publishingThreads.size());
+        assertTrue(publishingThreads.iterator().next().isVirtual(), "the send must not block a kernel thread");
+    }
+
+    private static boolean awaitSent(MockProducer<String, byte[]> producer, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (producer.history().size() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
 }
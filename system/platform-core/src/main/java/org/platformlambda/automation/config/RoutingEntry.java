@@ -45,6 +45,7 @@ public class RoutingEntry {
     private static final String AUTHENTICATION = "authentication";
     private static final String UPLOAD = "upload";
     private static final String TRACING = "tracing";
+    private static final String RAW_JSON = "raw_json";
     // optional per-endpoint overrides of the global http.trace.id.header / http.correlation.id.header
     // / http.traceparent.header
     private static final String TRACE_ID_HEADER = "trace.id.header";
@@ -62,6 +63,7 @@ public class RoutingEntry {
     private static final String TRUST_ALL_CERT = "trust_all_cert";
     private static final String URL_REWRITE = "url_rewrite";
     private static final String TIMEOUT = "timeout";
+    private static final String MAX_IN_FLIGHT = "max_in_flight";
     private static final String REQUEST = "request";
     private static final String RESPONSE = "response";
     private static final String ADD = "add";
@@ -507,6 +509,10 @@ public class RoutingEntry {
         if ("true".equalsIgnoreCase(tracing)) {
             info.tracing = true;
         }
+        String rawJson = config.getProperty(REST+"["+idx+"]."+RAW_JSON);
+        if ("true".equalsIgnoreCase(rawJson)) {
+            info.rawJson = true;
+        }
         // optional per-endpoint header-name overrides; ConfigReader normalizes the dotted keys into
         // nested maps, so the composite paths below resolve them correctly
         info.traceIdHeader = config.getProperty(REST+"["+idx+"]."+TRACE_ID_HEADER);
@@ -517,6 +523,8 @@ public class RoutingEntry {
             url = url.substring(0, url.indexOf('?'));
         }
         info.timeoutSeconds = getDurationInSeconds(config.getProperty(REST+"["+idx+"]."+TIMEOUT));
+        info.maxInFlight = Math.max(0,
+                Utility.getInstance().str2int(config.getProperty(REST+"["+idx+"]."+MAX_IN_FLIGHT, "0")));
         if (!configureTarget(config, info, idx)) {
             return;
         }
@@ -618,7 +626,8 @@ public class RoutingEntry {
         for (String m: allMethods) {
             String key = m+":"+nUrl;
             routes.put(key, info);
-            String flowHint = info.flowId == null? "" : ", flow=" + info.flowId;
+            String flowHint = (info.flowId == null? "" : ", flow=" + info.flowId) +
+                                (info.maxInFlight > 0? ", max_in_flight=" + info.maxInFlight : "");
             if (!OPTIONS_METHOD.equals(m)) {
                 if (info.defaultAuthService != null) {
                     log.info("{} {} -> {} -> {}, timeout={}s, tracing={}{}",
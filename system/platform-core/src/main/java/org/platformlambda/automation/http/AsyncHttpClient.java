@@ -36,6 +36,7 @@ import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.exception.AppException;
 import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.FileResponse;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.serializers.SimpleXmlParser;
@@ -549,7 +550,12 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
             http.responseSingle((httpResponse, buffer) -> {
                 response.setStatus(httpResponse.status().code());
                 var httpHeaders = httpResponse.responseHeaders();
-                httpHeaders.forEach(kv -> response.setHeader(kv.getKey(), kv.getValue()));
+                // x-file-* is the internal file response contract of REST automation - never relay it
+                httpHeaders.forEach(kv -> {
+                    if (!kv.getKey().toLowerCase().startsWith(FileResponse.X_FILE_PREFIX)) {
+                        response.setHeader(kv.getKey(), kv.getValue());
+                    }
+                });
                 return buffer.asInputStream();
             }).subscribeOn(Schedulers.fromExecutor(executor)).subscribe(stream -> {
                 noContent.set(false);
@@ -25,10 +25,10 @@ import org.platformlambda.automation.config.RoutingEntry;
 import org.platformlambda.automation.models.AssignedRoute;
 import org.platformlambda.automation.models.AsyncContextHolder;
 import org.platformlambda.automation.services.HttpRouter;
+import org.platformlambda.automation.util.SimpleHttpUtility;
 import org.platformlambda.core.util.Utility;
 
 import java.util.Date;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * This is reserved for system use.
@@ -42,12 +42,11 @@ public class HttpRequestHandler implements Handler<HttpServerRequest> {
     private static final String INDEX_HTML = "/index.html";
     private static final String KEEP_ALIVE = "keep-alive";
     private static final String CONNECTION_HEADER = "Connection";
+    private static final String RETRY_AFTER = "Retry-After";
     private final HttpRouter router;
-    private final ConcurrentMap<String, AsyncContextHolder> contexts;
 
     public HttpRequestHandler(HttpRouter router) {
         this.router = router;
-        this.contexts = router.getContexts();
     }
 
     @Override
@@ -67,8 +66,17 @@ public class HttpRequestHandler implements Handler<HttpServerRequest> {
         if (acceptContent != null) {
             holder.setAccept(acceptContent);
         }
-        contexts.put(requestId, holder);
         AssignedRoute route = getRoute(method, uri);
+        if (route != null && route.info != null) {
+            holder.setTimeout(route.info.timeoutSeconds * 1000L);
+        }
+        // shed overload at the edge instead of queuing the request for a busy function
+        if (!HttpRouter.admit(holder, route == null? null : route.info)) {
+            response.putHeader(RETRY_AFTER, HttpRouter.getRetryAfter());
+            SimpleHttpUtility.getInstance().sendError(requestId, request, 503, "Service busy, please retry later");
+            return;
+        }
+        HttpRouter.openContext(requestId, holder);
         int status = 200;
         String error = null;
         if (route == null) {
@@ -78,7 +86,6 @@ public class HttpRequestHandler implements Handler<HttpServerRequest> {
             status = 405;
             error = "Method not allowed";
         } else {
-            holder.setTimeout(route.info.timeoutSeconds * 1000L);
             if (POST.equals(method) && route.info.upload) {
                 try {
                     request.setExpectMultipart(true);
@@ -20,8 +20,11 @@ package org.platformlambda.automation.models;
 
 import io.vertx.core.http.HttpServerRequest;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @SuppressWarnings("java:S1104")
 public class AsyncContextHolder {
+    private static final AtomicInteger[] NO_PERMITS = new AtomicInteger[0];
 
     public final HttpServerRequest request;
     public long timeout;
@@ -32,6 +35,7 @@ public class AsyncContextHolder {
     public String method;
     public String cidHeaderName;
     public String businessCorrelationId;
+    private AtomicInteger[] permits = NO_PERMITS;
 
     public AsyncContextHolder(HttpServerRequest request) {
         this.request = request;
@@ -70,6 +74,28 @@ public class AsyncContextHolder {
         return this;
     }
 
+    /**
+     * Hold the in-flight counters that admitted this request
+     *
+     * @param permits in-flight counters
+     * @return this
+     */
+    public AsyncContextHolder setPermits(AtomicInteger... permits) {
+        this.permits = permits;
+        return this;
+    }
+
+    /**
+     * Return the in-flight permits when the context is closed
+     */
+    public void release() {
+        AtomicInteger[] held = permits;
+        permits = NO_PERMITS;
+        for (AtomicInteger counter: held) {
+            counter.decrementAndGet();
+        }
+    }
+
     public void touch() {
         this.lastAccess = System.currentTimeMillis();
     }
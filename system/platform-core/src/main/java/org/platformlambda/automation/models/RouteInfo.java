@@ -19,6 +19,7 @@
 package org.platformlambda.automation.models;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @SuppressWarnings("java:S1104")
 public class RouteInfo {
@@ -35,6 +36,11 @@ public class RouteInfo {
     public List<String> methods;
     public int timeoutSeconds = 30;
     public boolean upload = false;
+    // pass a JSON request body to the function as bytes without parsing
+    public boolean rawJson = false;
+    // optional admission control where zero means no limit
+    public int maxInFlight = 0;
+    public final AtomicInteger inFlight = new AtomicInteger();
     // optional for HTTP relay
     public String host;
     public String flowId;
@@ -26,12 +26,16 @@ import org.platformlambda.automation.models.HeaderInfo;
 import org.platformlambda.automation.util.SimpleHttpUtility;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.FileResponse;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.serializers.SimpleXmlWriter;
 import org.platformlambda.core.system.FluxConsumer;
 import org.platformlambda.core.util.Utility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +49,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 @EventInterceptor
 public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Void> {
+    private static final Logger log = LoggerFactory.getLogger(AsyncHttpResponse.class);
     private static final SimpleXmlWriter xmlWriter = new SimpleXmlWriter();
     private static final String APPLICATION_JSON = "application/json";
     private static final String APPLICATION_XML = "application/xml";
@@ -53,6 +58,11 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
     private static final String HEAD = "HEAD";
     private static final String X_STREAM_ID = "x-stream-id";
     private static final String X_TTL = "x-ttl";
+    private static final String RANGE = "Range";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String BYTES = "bytes";
+    private static final String BYTES_PREFIX = "bytes=";
     private static final String STREAM_PREFIX = "stream.";
     private static final String INPUT_STREAM_SUFFIX = ".in";
     private static final String SET_COOKIE = "Set-Cookie";
@@ -155,7 +165,8 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
                 response.putHeader(prettyHeader, md.resHeaders.get(kv.getKey()));
             }
         }
-        if (md.contentType == null) {
+        // a file's content type is derived from its extension when the function does not set one
+        if (md.contentType == null && md.filePath == null) {
             updateContentType(response, holder, md);
         }
     }
@@ -163,6 +174,8 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
     private void updateHeaders(HttpServerResponse response, EventEnvelope event, HttpResMetadata md, boolean isHead) {
         var httpUtil = SimpleHttpUtility.getInstance();
         var evtHeaders = event.getHeaders();
+        // the file reference is trusted only when the worker has tagged a real FileResponse
+        boolean fileResponse = event.getTag(FileResponse.FILE_RESPONSE_TAG) != null;
         for (Map.Entry<String, String> kv : evtHeaders.entrySet()) {
             String h = kv.getKey();
             String key = h.toLowerCase();
@@ -170,12 +183,17 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
             /*
              * 1. "stream" and "timeout" are reserved as stream ID and read timeout in seconds
              * 2. "trace_id" and "trace_path" should be dropped from HTTP response headers
+             * 3. "x-file-*" headers are the file reference of a FileResponse and never reach the client
              */
             if (X_STREAM_ID.equals(key) && value.startsWith(STREAM_PREFIX) &&
                     value.contains(INPUT_STREAM_SUFFIX)) {
                 md.streamId = value;
             } else if (X_TTL.equalsIgnoreCase(key)) {
                 md.streamTimeout = value;
+            } else if (key.startsWith(FileResponse.X_FILE_PREFIX)) {
+                if (fileResponse) {
+                    updateFileReference(key, value, md);
+                }
             } else if (CONTENT_TYPE.equalsIgnoreCase(key)) {
                 if (!isHead) {
                     md.contentType = value.toLowerCase();
@@ -189,6 +207,16 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
         }
     }
 
+    private void updateFileReference(String key, String value, HttpResMetadata md) {
+        if (FileResponse.X_FILE_PATH.equals(key)) {
+            md.filePath = value;
+        } else if (FileResponse.X_FILE_OFFSET.equals(key)) {
+            md.fileOffset = Math.max(0, Utility.getInstance().str2long(value));
+        } else if (FileResponse.X_FILE_LENGTH.equals(key)) {
+            md.fileLength = Utility.getInstance().str2long(value);
+        }
+    }
+
     private void updateContentType(HttpServerResponse response, AsyncContextHolder holder, HttpResMetadata md) {
         var accept = holder.accept;
         if (accept == null) {
@@ -213,7 +241,10 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
                           AsyncContextHolder holder, HttpResMetadata md) {
         var util = Utility.getInstance();
         md.responseBody = event.getRawBody();
-        if (md.streamId != null) {
+        if (md.filePath != null) {
+            handleFileContent(requestId, response, holder, md);
+            return true;
+        } else if (md.streamId != null) {
             handleStreamContent(requestId, response, holder, md);
             return true;
         } else if (md.responseBody instanceof Map) {
@@ -225,8 +256,11 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
             response.putHeader(CONTENT_LEN, String.valueOf(payload.length));
             response.write(Buffer.buffer(payload));
         } else if (md.responseBody instanceof byte[] payload) {
+            // bytes such as pass-through JSON are sent as-is together with the end of the response
             response.putHeader(CONTENT_LEN, String.valueOf(payload.length));
-            response.write(Buffer.buffer(payload));
+            HttpRouter.closeContext(requestId);
+            response.end(Buffer.buffer(payload));
+            return true;
         } else if (md.responseBody != null) {
             byte[] payload = util.getUTF(md.responseBody.toString());
             response.putHeader(CONTENT_LEN, String.valueOf(payload.length));
@@ -282,6 +316,100 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
         });
     }
 
+    /**
+     * Send a local file with HttpServerResponse.sendFile so that the kernel copies the bytes to the socket.
+     * A single "Range" of the selected part is answered with 206, an unsatisfiable one with 416, and a
+     * multi-part range is ignored, so the whole selection is sent as permitted by RFC 9110.
+     */
+    private void handleFileContent(String requestId, HttpServerResponse response,
+                                   AsyncContextHolder holder, HttpResMetadata md) {
+        var httpUtil = SimpleHttpUtility.getInstance();
+        File file = new File(md.filePath);
+        if (!file.isFile() || !file.canRead()) {
+            httpUtil.sendError(requestId, holder.request, 404, "File not found");
+            return;
+        }
+        long size = file.length();
+        long offset = Math.min(md.fileOffset, size);
+        long available = size - offset;
+        long length = md.fileLength < 0? available : Math.min(md.fileLength, available);
+        response.putHeader(ACCEPT_RANGES, BYTES);
+        String range = holder.request.getHeader(RANGE);
+        if (range != null && response.getStatusCode() == 200) {
+            long[] selected = parseRange(range, length);
+            if (selected.length == 0) {
+                response.putHeader(CONTENT_RANGE, BYTES + " */" + length);
+                httpUtil.sendError(requestId, holder.request, 416, "Range not satisfiable");
+                return;
+            }
+            if (selected.length == 2) {
+                response.setStatusCode(206);
+                response.putHeader(CONTENT_RANGE,
+                        BYTES + " " + selected[0] + "-" + selected[1] + "/" + length);
+                offset += selected[0];
+                length = selected[1] - selected[0] + 1;
+            }
+        }
+        // the response no longer depends on an event, so release the context before a long transfer
+        HttpRouter.closeContext(requestId);
+        response.sendFile(md.filePath, offset, length).onFailure(e -> {
+            log.error("Unable to send {} - {}", md.filePath, e.getMessage());
+            response.reset();
+        });
+    }
+
+    /**
+     * Resolve a "Range" header against the length of the selected content
+     *
+     * @param range header value
+     * @param length of the content
+     * @return {first, last} byte positions, an empty array when not satisfiable
+     *         or {-1} when the header should be ignored
+     */
+    static long[] parseRange(String range, long length) {
+        var util = Utility.getInstance();
+        String spec = range.trim();
+        if (!spec.regionMatches(true, 0, BYTES_PREFIX, 0, BYTES_PREFIX.length()) || spec.contains(",")) {
+            return new long[] {-1};
+        }
+        spec = spec.substring(BYTES_PREFIX.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[] {-1};
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        if (!isDigits(first) || !isDigits(last) || (first.isEmpty() && last.isEmpty())) {
+            return new long[] {-1};
+        }
+        if (first.isEmpty()) {
+            // suffix range - the final N bytes
+            long suffix = util.str2long(last);
+            if (suffix <= 0 || length == 0) {
+                return new long[0];
+            }
+            return new long[] {Math.max(0, length - suffix), length - 1};
+        }
+        long start = util.str2long(first);
+        if (start < 0) {
+            return new long[] {-1};
+        }
+        long end = last.isEmpty()? length - 1 : Math.min(util.str2long(last), length - 1);
+        if (start >= length || end < start) {
+            return new long[0];
+        }
+        return new long[] {start, end};
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void handleMapContent(HttpServerResponse response, HttpResMetadata md) {
         var util = Utility.getInstance();
         if (md.contentType.startsWith(TEXT_HTML)) {
@@ -331,6 +459,9 @@ public class AsyncHttpResponse implements TypedLambdaFunction<EventEnvelope, Voi
         Object responseBody = null;
         String streamTimeout = null;
         String streamId = null;
+        String filePath = null;
+        long fileOffset = 0;
+        long fileLength = -1;
         String contentType = null;
         Map<String, String> resHeaders = new HashMap<>();
     }
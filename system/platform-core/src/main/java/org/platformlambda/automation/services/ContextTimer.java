@@ -0,0 +1,94 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.services;
+
+import org.platformlambda.automation.models.AsyncContextHolder;
+import org.platformlambda.automation.util.SimpleHttpUtility;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Expires the async HTTP contexts of REST automation from one shared timing wheel.
+ * <p>
+ * It works like the inbox timer. A closed context is simply dropped when its deadline comes around.
+ * When a deadline is due and the context has been touched by a response in progress, the deadline
+ * is moved to its last access plus the timeout. Otherwise, the request is answered with HTTP-408.
+ */
+final class ContextTimer {
+    private static final Logger log = LoggerFactory.getLogger(ContextTimer.class);
+    private static final ContextTimer instance = new ContextTimer();
+    private final TimingWheel<String> wheel = new TimingWheel<>("http.context.timer", this::expire);
+
+    private ContextTimer() {
+        // singleton
+    }
+
+    static ContextTimer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Schedule the timeout of an async HTTP context
+     *
+     * @param requestId of the context
+     * @param timeout in milliseconds
+     */
+    void schedule(String requestId, long timeout) {
+        wheel.schedule(requestId, timeout);
+    }
+
+    private void expire(String requestId) {
+        AsyncContextHolder holder = HttpRouter.getContext(requestId);
+        if (holder != null) {
+            long idle = System.currentTimeMillis() - holder.lastAccess;
+            if (idle < holder.timeout) {
+                // touched by a response in progress
+                wheel.schedule(requestId, holder.timeout - idle);
+            } else {
+                log.warn("Async HTTP Context {} timeout for {} ms", requestId, idle);
+                // send the response from a virtual thread so that the sweeper is never blocked
+                try {
+                    Platform.getInstance().getVirtualThreadExecutor().submit(() -> sendTimeout(requestId, holder));
+                } catch (RejectedExecutionException e) {
+                    // shutting down - release the context and its admission permit anyway
+                    HttpRouter.closeContext(requestId);
+                }
+            }
+        }
+    }
+
+    private void sendTimeout(String requestId, AsyncContextHolder holder) {
+        if (HttpRouter.getContext(requestId) == holder) {
+            try {
+                SimpleHttpUtility.getInstance().sendError(requestId, holder.request, 408,
+                        "Timeout for " + (holder.timeout / 1000) + " seconds");
+            } catch (Exception e) {
+                log.error("Unable to send timeout for {} - {}", requestId, e.getMessage());
+                HttpRouter.closeContext(requestId);
+            }
+        }
+    }
+}
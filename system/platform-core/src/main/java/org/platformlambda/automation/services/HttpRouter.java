@@ -105,6 +105,10 @@ public class HttpRouter {
     private static final Path SIGNATURE_FOLDER_PATH = SIGNATURE_FOLDER.toPath();
     // requestId -> context
     private static final ConcurrentMap<String, AsyncContextHolder> contexts = new ConcurrentHashMap<>();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    // global admission control where zero means no limit
+    private static int maxInFlight = 0;
+    private static String retryAfter = "1";
     // Configurable HTTP trace-id header recognized/emitted alongside W3C "traceparent"; default X-Trace-Id.
     private static final String DEFAULT_TRACE_ID_HEADER = "X-Trace-Id";
     private static String traceIdHeader = DEFAULT_TRACE_ID_HEADER;
@@ -140,6 +144,12 @@ public class HttpRouter {
                 log.info("Trace-id HTTP header is '{}'", traceIdHeader);
                 traceparentHeader = config.getProperty("http.traceparent.header", W3cTrace.TRACEPARENT);
                 log.info("Traceparent HTTP header is '{}'", traceparentHeader);
+                maxInFlight = Math.max(0, util.str2int(config.getProperty("rest.automation.max.in.flight", "0")));
+                retryAfter = String.valueOf(Math.max(1,
+                                util.str2int(config.getProperty("rest.automation.retry.after", "1"))));
+                if (maxInFlight > 0) {
+                    log.info("Max in-flight HTTP requests is {}", maxInFlight);
+                }
                 String folder = config.getProperty("spring.web.resources.static-locations",
                         config.getProperty("static.html.folder", "classpath:/public"));
                 if (folder.endsWith("/")) {
@@ -201,8 +211,66 @@ public class HttpRouter {
         return contexts;
     }
 
+    /**
+     * Admit a new HTTP request if the global and per-route in-flight limits allow
+     *
+     * @param holder of the request context
+     * @param info of the route or null if the request does not match any route
+     * @return true if admitted, false if the request should be rejected with HTTP-503
+     */
+    public static boolean admit(AsyncContextHolder holder, RouteInfo info) {
+        if (!acquire(inFlight, maxInFlight)) {
+            return false;
+        }
+        if (info == null) {
+            holder.setPermits(inFlight);
+            return true;
+        }
+        if (!acquire(info.inFlight, info.maxInFlight)) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        holder.setPermits(inFlight, info.inFlight);
+        return true;
+    }
+
+    private static boolean acquire(AtomicInteger counter, int limit) {
+        if (counter.incrementAndGet() > limit && limit > 0) {
+            counter.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Value of the "Retry-After" header for a request rejected by admission control
+     *
+     * @return delay in seconds
+     */
+    public static String getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Register the context of an admitted request and schedule its timeout
+     *
+     * @param requestId of the context
+     * @param holder of the request context
+     */
+    public static void openContext(String requestId, AsyncContextHolder holder) {
+        contexts.put(requestId, holder);
+        ContextTimer.getInstance().schedule(requestId, holder.timeout);
+    }
+
+    static AsyncContextHolder getContext(String requestId) {
+        return contexts.get(requestId);
+    }
+
     public static void closeContext(String requestId) {
-        contexts.remove(requestId);
+        AsyncContextHolder holder = contexts.remove(requestId);
+        if (holder != null) {
+            holder.release();
+        }
     }
 
     public void handleEvent(AssignedRoute route, String requestId, int status, String error) {
@@ -627,7 +695,7 @@ public class HttpRouter {
         if (contentType.startsWith(MULTIPART_FORM_DATA) && POST.equals(method) && route.info.upload) {
             handleMultiPartContent(request, route, requestEvent, req);
         } else if (contentType.startsWith(APPLICATION_JSON)) {
-            handleJsonContent(request, requestEvent, req);
+            handleJsonContent(request, route, requestEvent, req);
         } else if (contentType.startsWith(APPLICATION_XML)) {
             handleXmlContent(request, requestEvent, req);
         } else if (APPLICATION_FORM_URLENCODED.equals(contentType) ||
@@ -638,13 +706,18 @@ public class HttpRouter {
         }
     }
 
-    private void handleJsonContent(HttpServerRequest request, HttpRequestEvent requestEvent, AsyncHttpRequest req) {
+    private void handleJsonContent(HttpServerRequest request, AssignedRoute route,
+                                   HttpRequestEvent requestEvent, AsyncHttpRequest req) {
         var complete = new AtomicBoolean(false);
         request.bodyHandler(block -> {
             var requestBody = new ByteArrayOutputStream();
             byte[] b = block.getBytes(0, block.length());
             requestBody.write(b, 0, b.length);
-            if (complete.get()) {
+            if (complete.get() && route.info.rawJson) {
+                // pass-through mode: the function parses the JSON bytes only when it needs the content
+                req.setBody(b);
+                sendRequestToService(request, requestEvent.setHttpRequest(req));
+            } else if (complete.get()) {
                 String text = util.getUTF(requestBody.toByteArray());
                 String trimmed = text.trim();
                 try {
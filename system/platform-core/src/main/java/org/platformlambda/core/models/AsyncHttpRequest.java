@@ -72,6 +72,8 @@ public class AsyncHttpRequest {
     private List<String> fileContentTypes = new ArrayList<>();
     private List<Integer> fileSizes = new ArrayList<>();
     private Object body;
+    // parsed on first access of a raw JSON body and not serialized
+    private Object jsonBody;
     private String targetHost;
     private boolean trustAllCert = false;
     private boolean https = false;
@@ -221,6 +223,43 @@ public class AsyncHttpRequest {
         return body;
     }
 
+    /**
+     * Get the body of a JSON request, parsing it on first access
+     * <p>
+     * A REST endpoint configured with "raw_json: true" delivers the JSON request body as bytes
+     * so that a pass-through function does not pay for parsing and serialization.
+     * This method parses such a body into a Map or List only when the content is needed.
+     *
+     * @return Map or List for a JSON object or array, text if it is not valid JSON, otherwise the original body
+     */
+    public Object getJsonBody() {
+        if (jsonBody == null) {
+            jsonBody = switch (body) {
+                case byte[] b -> parseJson(Utility.getInstance().getUTF(b));
+                case String text -> parseJson(text);
+                case null, default -> body;
+            };
+        }
+        return jsonBody;
+    }
+
+    private Object parseJson(String text) {
+        String trimmed = text.trim();
+        try {
+            if (trimmed.isEmpty()) {
+                return new HashMap<>();
+            } else if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
+                return SimpleMapper.getInstance().getMapper().readValue(text, Map.class);
+            } else if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+                return SimpleMapper.getInstance().getMapper().readValue(text, List.class);
+            } else {
+                return text;
+            }
+        } catch (Exception e) {
+            return text;
+        }
+    }
+
     /**
      * Convert body to a specific class
      * <p>
@@ -256,6 +295,7 @@ public class AsyncHttpRequest {
      * @return this
      */
     public AsyncHttpRequest setBody(Object body) {
+        this.jsonBody = null;
         if (body == null || body instanceof Map || body instanceof List ||
                 PayloadMapper.getInstance().isPrimitive(body)) {
             this.body = body;
@@ -767,6 +807,7 @@ public class AsyncHttpRequest {
         this.contentLength = source.contentLength;
         this.fileSizes = source.fileSizes;
         this.body = source.body;
+        this.jsonBody = source.jsonBody;
         this.queryString = source.queryString;
         this.https = source.https;
         this.targetHost = source.targetHost;
@@ -809,6 +850,7 @@ public class AsyncHttpRequest {
         }
         if (map.containsKey(HTTP_BODY)) {
             body = map.get(HTTP_BODY);
+            jsonBody = null;
         }
         if (map.get(QUERY) instanceof String q) {
             queryString = q;
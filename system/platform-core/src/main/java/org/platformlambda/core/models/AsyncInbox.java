@@ -20,7 +20,6 @@ package org.platformlambda.core.models;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.util.Utility;
 
@@ -42,7 +41,6 @@ public class AsyncInbox extends InboxBase {
     private final String parentSpan;
     private final String originalCid;
     private final long timeout;
-    private final long timer;
     private final boolean timeoutException;
     private final Future<EventEnvelope> future;
     private Promise<EventEnvelope> promise;
@@ -62,13 +60,18 @@ public class AsyncInbox extends InboxBase {
             promise = p;
             inboxes.put(cid, this);
         });
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(cid));
+        scheduleTimeout(this.timeout);
     }
 
     public Future<EventEnvelope> getFuture() {
         return future;
     }
 
+    @Override
+    protected void expire() {
+        abort(cid);
+    }
+
     private void abort(String inboxId) {
         AsyncInbox holder = (AsyncInbox) inboxes.get(inboxId);
         if (holder != null) {
@@ -99,12 +102,12 @@ public class AsyncInbox extends InboxBase {
     private void saveResponse(String inboxId, EventEnvelope reply) {
         if (inboxes.get(inboxId) instanceof AsyncInbox holder) {
             holder.close();
-            Platform.getInstance().getVertx().cancelTimer(timer);
             float diff = (float) (System.nanoTime() - holder.begin) / EventEmitter.ONE_MILLISECOND;
             // remove some metadata that are not relevant for a RPC response
             reply.removeTag(RPC).setTo(null).setReplyTo(null).setTrace(null, null);
             var annotations = new HashMap<>(reply.getAnnotations());
             reply.clearAnnotations().setRoundTrip(diff);
+            recordRoundTrip(to, diff);
             executor.submit(() -> holder.promise.complete(reply));
             if (to != null && holder.traceId != null && holder.tracePath != null) {
                 var md = new InboxMetadata();
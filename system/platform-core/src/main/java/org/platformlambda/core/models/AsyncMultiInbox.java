@@ -20,7 +20,6 @@ package org.platformlambda.core.models;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.util.Utility;
 
@@ -45,7 +44,6 @@ public class AsyncMultiInbox extends InboxBase {
     private final String parentSpan;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
     private final Future<List<EventEnvelope>> future;
     private Promise<List<EventEnvelope>> promise;
     private final ConcurrentMap<String, EventEnvelope> replies = new ConcurrentHashMap<>();
@@ -64,7 +62,7 @@ public class AsyncMultiInbox extends InboxBase {
             promise = p;
             inboxes.put(cid, this);
         });
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(cid));
+        scheduleTimeout(this.timeout);
     }
 
     public void setCorrelation(String sequencedCid, InboxCorrelation correlation) {
@@ -75,6 +73,11 @@ public class AsyncMultiInbox extends InboxBase {
         return future;
     }
 
+    @Override
+    protected void expire() {
+        abort(cid);
+    }
+
     private void abort(String inboxId) {
         AsyncMultiInbox holder = (AsyncMultiInbox) inboxes.get(inboxId);
         if (holder != null) {
@@ -111,6 +114,7 @@ public class AsyncMultiInbox extends InboxBase {
             reply.clearAnnotations().setRoundTrip(diff);
             InboxCorrelation correlation = holder.correlations.get(sequencedCid);
             if (correlation != null) {
+                recordRoundTrip(correlation.to(), diff);
                 // restore original correlation ID
                 replies.put(reply.getId(), reply.setCorrelationId(correlation.cid()));
                 if (holder.total.decrementAndGet() == 0) {
@@ -119,7 +123,6 @@ public class AsyncMultiInbox extends InboxBase {
                         result.add(kv.getValue());
                     }
                     holder.close();
-                    Platform.getInstance().getVertx().cancelTimer(timer);
                     executor.submit(() -> holder.promise.complete(result));
                 }
                 if (correlation.to() != null && holder.traceId != null && holder.tracePath != null) {
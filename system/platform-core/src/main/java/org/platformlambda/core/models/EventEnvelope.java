@@ -976,6 +976,27 @@ public class EventEnvelope {
         }
     }
 
+    /**
+     * Serialize the EventEnvelope once for a list of targets in the classic compact format.
+     * <p>
+     * The envelope, including its body, is packed once without the "to" field. Each target
+     * receives a copy of the shared bytes with its own route added as the "to" field, which
+     * decodes to the same event as setTo(target).toBytes().
+     *
+     * @param targets route names
+     * @return byte arrays in the same order as the targets
+     * @throws IllegalArgumentException in case of encoding errors
+     */
+    public List<byte[]> toBytes(List<String> targets) {
+        Map<String, Object> message = toMap(Format.COMPACT);
+        message.remove(TO_FLAG);
+        try {
+            return msgPack.packEach(message, TO_FLAG, targets);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     private Map<String, Object> packSomeKeyValues() {
         Map<String, Object> message = new HashMap<>();
         if (id != null) {
@@ -0,0 +1,113 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.models;
+
+/**
+ * Return this from a function to let the REST automation layer serve a local file directly.
+ * <p>
+ * The file is not read by the function or carried through the event system. Instead, its path and
+ * optional byte range travel as response headers and the HTTP server sends the file with kernel
+ * zero-copy. HTTP range requests are honored within the selected range.
+ * <p>
+ * The file must be readable on the application instance that runs the REST automation for the request.
+ * When the content type is not set, it is derived from the file extension.
+ */
+public class FileResponse {
+    // Engine-managed envelope tag set by the worker when a function returns a FileResponse. The REST
+    // automation layer honors the x-file-* headers only when the response carries this tag, so a header
+    // relayed from an upstream server or copied by a function cannot make it serve a local file.
+    public static final String FILE_RESPONSE_TAG = "file_response";
+    public static final String X_FILE_PREFIX = "x-file-";
+    public static final String X_FILE_PATH = "x-file-path";
+    public static final String X_FILE_OFFSET = "x-file-offset";
+    public static final String X_FILE_LENGTH = "x-file-length";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private final String path;
+    private long offset = 0;
+    private long length = -1;
+    private String contentType;
+
+    /**
+     * Create a file response for the whole file
+     *
+     * @param path of a local file
+     */
+    public FileResponse(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Missing file path");
+        }
+        this.path = path;
+    }
+
+    /**
+     * Select part of the file
+     *
+     * @param offset in bytes from the start of the file
+     * @param length in bytes or -1 for the rest of the file
+     * @return this
+     */
+    public FileResponse setRange(long offset, long length) {
+        if (offset < 0 || length < -1) {
+            throw new IllegalArgumentException("Invalid file range - offset=" + offset + ", length=" + length);
+        }
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    public FileResponse setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Convert to the header contract understood by the REST automation layer
+     *
+     * @return event envelope with the file reference in its headers
+     */
+    public EventEnvelope toEvent() {
+        EventEnvelope event = new EventEnvelope().setHeader(X_FILE_PATH, path);
+        if (offset > 0) {
+            event.setHeader(X_FILE_OFFSET, offset);
+        }
+        if (length >= 0) {
+            event.setHeader(X_FILE_LENGTH, length);
+        }
+        if (contentType != null) {
+            event.setHeader(CONTENT_TYPE, contentType);
+        }
+        return event;
+    }
+}
@@ -19,7 +19,6 @@
 package org.platformlambda.core.models;
 
 import org.platformlambda.core.system.EventEmitter;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.util.Utility;
 
 import java.util.Date;
@@ -43,7 +42,6 @@ public class FutureInbox extends InboxBase {
     private final String originalCid;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
 
     public FutureInbox(String to, EventEnvelope event, long timeout, boolean timeoutException) {
         this.timeoutException = timeoutException;
@@ -56,13 +54,18 @@ public class FutureInbox extends InboxBase {
         this.originalCid = event.getCorrelationId();
         this.timeout = Math.max(100, timeout);
         inboxes.put(cid, this);
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(this.cid));
+        scheduleTimeout(this.timeout);
     }
 
     public CompletableFuture<EventEnvelope> getFuture() {
         return future;
     }
 
+    @Override
+    protected void expire() {
+        abort(cid);
+    }
+
     private void abort(String inboxId) {
         if (inboxes.get(inboxId) instanceof FutureInbox holder) {
             holder.close();
@@ -90,12 +93,12 @@ public class FutureInbox extends InboxBase {
     private void saveResponse(String inboxId, EventEnvelope reply) {
         if (inboxes.get(inboxId) instanceof FutureInbox holder) {
             holder.close();
-            Platform.getInstance().getVertx().cancelTimer(timer);
             float diff = (float) (System.nanoTime() - holder.begin) / EventEmitter.ONE_MILLISECOND;
             // remove some metadata that are not relevant for a RPC response
             reply.removeTag(RPC).setTo(null).setReplyTo(null).setTrace(null, null);
             var annotations = new HashMap<>(reply.getAnnotations());
             reply.clearAnnotations().setRoundTrip(diff);
+            recordRoundTrip(to, diff);
             future.complete(reply);
             if (to != null && holder.traceId != null && holder.tracePath != null) {
                 var md = new InboxMetadata();
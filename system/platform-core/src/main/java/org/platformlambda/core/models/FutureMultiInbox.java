@@ -19,7 +19,6 @@
 package org.platformlambda.core.models;
 
 import org.platformlambda.core.system.EventEmitter;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.util.Utility;
 
 import java.util.*;
@@ -42,12 +41,10 @@ public class FutureMultiInbox extends InboxBase {
     private final String parentSpan;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
     private final ConcurrentMap<String, EventEnvelope> replies = new ConcurrentHashMap<>();
 
     public FutureMultiInbox(int n, String from, String traceId, String tracePath, String parentSpan,
                            long timeout, boolean timeoutException) {
-        final Platform platform = Platform.getInstance();
         this.timeoutException = timeoutException;
         this.from = from == null? "unknown" : from;
         this.traceId = traceId;
@@ -57,7 +54,7 @@ public class FutureMultiInbox extends InboxBase {
         this.total.set(Math.max(1, n));
         this.timeout = Math.max(100, timeout);
         inboxes.put(cid, this);
-        timer = platform.getVertx().setTimer(timeout, t -> abort(cid));
+        scheduleTimeout(this.timeout);
     }
 
     public void setCorrelation(String sequencedCid, InboxCorrelation correlation) {
@@ -68,6 +65,11 @@ public class FutureMultiInbox extends InboxBase {
         return future;
     }
 
+    @Override
+    protected void expire() {
+        abort(cid);
+    }
+
     private void abort(String inboxId) {
         if (inboxes.get(inboxId) instanceof FutureMultiInbox holder) {
             holder.close();
@@ -102,6 +104,7 @@ public class FutureMultiInbox extends InboxBase {
             reply.clearAnnotations().setRoundTrip(diff);
             InboxCorrelation correlation = holder.correlations.get(sequencedCid);
             if (correlation != null) {
+                recordRoundTrip(correlation.to(), diff);
                 // restore original correlation ID
                 replies.put(reply.getId(), reply.setCorrelationId(correlation.cid()));
                 if (holder.total.decrementAndGet() == 0) {
@@ -110,7 +113,6 @@ public class FutureMultiInbox extends InboxBase {
                         result.add(kv.getValue());
                     }
                     holder.close();
-                    Platform.getInstance().getVertx().cancelTimer(timer);
                     future.complete(result);
                 }
                 if (correlation.to() != null && holder.traceId != null && holder.tracePath != null) {
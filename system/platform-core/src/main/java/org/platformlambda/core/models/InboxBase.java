@@ -21,7 +21,9 @@ package org.platformlambda.core.models;
 import org.platformlambda.core.services.Telemetry;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.RouteMetrics;
 import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +50,7 @@ public abstract class InboxBase {
     private static final AtomicBoolean firstRun = new AtomicBoolean(true);
 
     public final String cid = Utility.getInstance().getUuid();
+    private volatile TimingWheel.Timeout<String> deadline;
 
     public static InboxBase getHolder(String inboxId) {
         return inboxes.get(inboxId);
@@ -59,6 +62,32 @@ public abstract class InboxBase {
 
     public void close() {
         inboxes.remove(cid);
+        var scheduled = deadline;
+        if (scheduled != null) {
+            InboxTimer.getInstance().cancel(scheduled);
+        }
+    }
+
+    /**
+     * Expire this inbox after the given timeout unless it is closed before that.
+     * All inboxes share one timing wheel instead of creating one event loop timer per request.
+     *
+     * @param timeout in milliseconds
+     */
+    protected void scheduleTimeout(long timeout) {
+        var timer = InboxTimer.getInstance();
+        deadline = timer.schedule(cid, timeout);
+        // a fast response may have closed the inbox before the deadline was recorded
+        if (!inboxes.containsKey(cid)) {
+            timer.cancel(deadline);
+        }
+    }
+
+    /**
+     * To be overridden by various inbox implementations to abort a pending request
+     */
+    protected void expire() {
+        close();
     }
 
     /**
@@ -138,6 +167,12 @@ public abstract class InboxBase {
         return skipTracing;
     }
 
+    protected void recordRoundTrip(String to, float diff) {
+        if (to != null) {
+            RouteMetrics.getInstance().recordRoundTrip(trimOrigin(to), diff);
+        }
+    }
+
     private String trimOrigin(String route) {
         return route.contains("@")? route.substring(0, route.indexOf('@')) : route;
     }
@@ -0,0 +1,85 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core.models;
+
+import org.platformlambda.core.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Expires all RPC inboxes from one shared timing wheel.
+ * <p>
+ * The wheel only detects expiry. The expire logic of an inbox runs on a virtual thread so that
+ * a slow continuation of one caller cannot delay the timeouts of other requests.
+ */
+final class InboxTimer {
+    private static final Logger log = LoggerFactory.getLogger(InboxTimer.class);
+    private static final InboxTimer instance = new InboxTimer();
+    private final TimingWheel<String> wheel = new TimingWheel<>("inbox.timer", InboxTimer::expire);
+
+    private InboxTimer() {
+        // singleton
+    }
+
+    static InboxTimer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Schedule the timeout of an inbox
+     *
+     * @param cid of the inbox
+     * @param timeout in milliseconds
+     * @return deadline that can be cancelled
+     */
+    TimingWheel.Timeout<String> schedule(String cid, long timeout) {
+        return wheel.schedule(cid, timeout);
+    }
+
+    /**
+     * @return number of deadlines held by the wheel
+     */
+    int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Cancel a deadline when its inbox completes
+     *
+     * @param deadline from the schedule method
+     */
+    void cancel(TimingWheel.Timeout<String> deadline) {
+        wheel.cancel(deadline);
+    }
+
+    private static void expire(String cid) {
+        InboxBase inbox = InboxBase.getHolder(cid);
+        if (inbox != null) {
+            InboxBase.executor.submit(() -> {
+                try {
+                    inbox.expire();
+                } catch (Exception e) {
+                    log.error("Unable to expire inbox {} - {}", cid, e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -39,6 +40,15 @@ public class MsgPack {
     private static final SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
     private static final String DATA = "_D";
     private static final String TYPE = "_T";
+    private static final int INITIAL_BUFFER = 1024;
+    private static final int MAX_POOLED_BUFFER = 256 * 1024;
+    private static final int MAX_IDLE_BUFFERS = 64;
+    /*
+     * Output buffers are pooled instead of kept in thread-locals because functions
+     * run in virtual threads that are rarely reused.
+     */
+    private static final ConcurrentLinkedQueue<PackBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
     private final boolean supportNulls;
 
     public MsgPack() {
@@ -199,18 +209,18 @@ public class MsgPack {
     public byte[] pack(Object obj) throws IOException {
         if (obj instanceof Map || obj instanceof List) {
             // select low level processing for faster performance
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            MessagePacker packer = null;
-            try {
-                packer = MessagePack.newDefaultPacker(out);
-                pack(packer, obj).close();
-                packer = null;
-            } finally {
-                if (packer != null) {
-                    packer.close();
-                }
+            PackBuffer buffer = idleBuffers.poll();
+            if (buffer == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER);
+                buffer = new PackBuffer(out, MessagePack.newDefaultPacker(out));
+            } else {
+                idleCount.decrementAndGet();
             }
-            return out.toByteArray();
+            // a buffer that fails in the middle of packing holds partial data so it is not reused
+            pack(buffer.packer, obj).flush();
+            byte[] result = buffer.out.toByteArray();
+            release(buffer);
+            return result;
         } else {
             TypedPayload typed = converter.encode(obj, true);
             Map<String, Object> map = new HashMap<>();
@@ -220,6 +230,54 @@ public class MsgPack {
         }
     }
 
+    /**
+     * Pack a map once and prepend a different key-value to a copy of the result for each value
+     * <p>
+     * This is used to serialize the same payload for multiple recipients.
+     *
+     * @param map to be packed once, which must not contain the key
+     * @param key to be added
+     * @param values one for each result
+     * @return packed byte arrays in the same order as the values
+     * @throws IOException for msgpack object mapping exception
+     */
+    public List<byte[]> packEach(Map<String, Object> map, String key, List<String> values) throws IOException {
+        byte[] shared = pack(map);
+        final int size;
+        final int offset;
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(shared)) {
+            size = unpacker.unpackMapHeader();
+            offset = (int) unpacker.getTotalReadBytes();
+        }
+        int len = shared.length - offset;
+        List<byte[]> result = new ArrayList<>(values.size());
+        for (String v : values) {
+            final byte[] prefix;
+            try (MessageBufferPacker packer = MessagePack.newDefaultBufferPacker()) {
+                packer.packMapHeader(size + 1).packString(key).packString(v);
+                prefix = packer.toByteArray();
+            }
+            byte[] b = new byte[prefix.length + len];
+            System.arraycopy(prefix, 0, b, 0, prefix.length);
+            System.arraycopy(shared, offset, b, prefix.length, len);
+            result.add(b);
+        }
+        return result;
+    }
+
+    private void release(PackBuffer buffer) {
+        // do not keep an oversized buffer that a large payload has grown
+        if (buffer.out.size() > MAX_POOLED_BUFFER) {
+            return;
+        }
+        if (idleCount.incrementAndGet() > MAX_IDLE_BUFFERS) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        buffer.out.reset();
+        idleBuffers.offer(buffer);
+    }
+
     private MessagePacker pack(MessagePacker packer, Object o) throws IOException {
         switch (o) {
             case null -> packer.packNil();
@@ -266,6 +324,10 @@ public class MsgPack {
             default -> {
                 // handle pojo inside data structure
                 if (util.isPoJo(o)) {
+                    PoJoWriter writer = PoJoWriter.getInstance(o.getClass(), mapper.getGson());
+                    if (writer.isSupported() && writer.write(packer, o, supportNulls)) {
+                        return packer;
+                    }
                     try {
                         var value = mapper.readValue(o, Map.class);
                         pack(packer, value);
@@ -282,15 +344,14 @@ public class MsgPack {
     }
 
     private void packMap(MessagePacker packer, Map<?, ?> map) throws IOException {
-        int mapSize = map.size();
-        List<Object> keys = new ArrayList<>(map.keySet());
-        mapSize -= getNullKeyCount(map, keys);
+        int mapSize = map.size() - getNullValueCount(map);
         packer.packMapHeader(mapSize);
         if (mapSize > 0) {
-            for (var k : keys) {
-                Object value = map.get(k);
+            for (var entry : map.entrySet()) {
+                Object value = entry.getValue();
                 if (supportNulls || value != null) {
                     // Enforce key as a string
+                    Object k = entry.getKey();
                     packer.packString(k instanceof String text ? text : String.valueOf(k));
                     pack(packer, value);
                 }
@@ -298,18 +359,20 @@ public class MsgPack {
         }
     }
 
-    private int getNullKeyCount(Map<?, ?> map, List<Object> keys) {
+    private int getNullValueCount(Map<?, ?> map) {
         if (supportNulls) {
             return 0;
         } else {
             int count = 0;
-            for (var k : keys) {
+            for (var v : map.values()) {
                 // reduce map size if null value
-                if (map.get(k) == null) {
+                if (v == null) {
                     count++;
                 }
             }
             return count;
         }
     }
+
+    private record PackBuffer(ByteArrayOutputStream out, MessagePacker packer) { }
 }
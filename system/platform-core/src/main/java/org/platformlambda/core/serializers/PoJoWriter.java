@@ -0,0 +1,192 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.serializers;
+
+import com.google.gson.FieldNamingStrategy;
+import com.google.gson.Gson;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import org.msgpack.core.MessagePacker;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes a PoJo straight into a MessagePacker.
+ * <p>
+ * The output is the same map that the Gson round trip (toJsonTree and then fromJson to a Map) produces,
+ * without building the JSON tree and the intermediate map. A writer is built once per class. Only classes
+ * whose serializable fields are strings, booleans or numbers are supported. Any other class keeps the Gson
+ * path so that naming, type adapters and number conversion stay exactly as before.
+ */
+final class PoJoWriter {
+    private static final ConcurrentMap<Class<?>, PoJoWriter> writers = new ConcurrentHashMap<>();
+    private static final PoJoWriter UNSUPPORTED = new PoJoWriter(new String[0], new Field[0], new Kind[0], false);
+    private final String[] names;
+    private final Field[] fields;
+    private final Kind[] kinds;
+    private final boolean serializeNulls;
+
+    private enum Kind { STRING, BOOLEAN, INTEGRAL, DOUBLE, FLOAT }
+
+    private PoJoWriter(String[] names, Field[] fields, Kind[] kinds, boolean serializeNulls) {
+        this.names = names;
+        this.fields = fields;
+        this.kinds = kinds;
+        this.serializeNulls = serializeNulls;
+    }
+
+    /**
+     * Get the writer for a class
+     *
+     * @param cls of the PoJo
+     * @param gson that the Gson path would use
+     * @return writer, which may not support the class
+     */
+    static PoJoWriter getInstance(Class<?> cls, Gson gson) {
+        return writers.computeIfAbsent(cls, k -> build(k, gson));
+    }
+
+    boolean isSupported() {
+        return this != UNSUPPORTED;
+    }
+
+    /**
+     * Write the PoJo as a map
+     *
+     * @param packer to write into
+     * @param o the PoJo
+     * @param supportNulls true if the MsgPack transports null values
+     * @return true if written, false if nothing is written and the caller must use the Gson path
+     * @throws IOException in case of packer error
+     */
+    boolean write(MessagePacker packer, Object o, boolean supportNulls) throws IOException {
+        boolean includeNulls = serializeNulls && supportNulls;
+        Object[] values = new Object[fields.length];
+        int count = 0;
+        try {
+            for (int i=0; i < fields.length; i++) {
+                Object v = fields[i].get(o);
+                values[i] = v;
+                if (v != null) {
+                    // Gson rejects NaN and infinity, so the caller falls back to the same outcome
+                    if (v instanceof Number n && (kinds[i] == Kind.DOUBLE || kinds[i] == Kind.FLOAT) &&
+                            !Double.isFinite(n.doubleValue())) {
+                        return false;
+                    }
+                    count++;
+                } else if (includeNulls) {
+                    count++;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+        packer.packMapHeader(count);
+        for (int i=0; i < fields.length; i++) {
+            Object v = values[i];
+            if (v == null) {
+                if (includeNulls) {
+                    packer.packString(names[i]);
+                    packer.packNil();
+                }
+            } else {
+                packer.packString(names[i]);
+                switch (kinds[i]) {
+                    case STRING -> packer.packString((String) v);
+                    case BOOLEAN -> packer.packBoolean((Boolean) v);
+                    // Gson restores every integral number as a Long
+                    case INTEGRAL -> packer.packLong(((Number) v).longValue());
+                    case DOUBLE -> packer.packDouble(((Number) v).doubleValue());
+                    // Gson restores a float from its decimal text as a Double
+                    case FLOAT -> packer.packDouble(Double.parseDouble(v.toString()));
+                }
+            }
+        }
+        return true;
+    }
+
+    private static PoJoWriter build(Class<?> cls, Gson gson) {
+        if (cls.isAnonymousClass() || cls.isLocalClass() || cls.isRecord() || Enum.class.isAssignableFrom(cls) ||
+                cls.isAnnotationPresent(JsonAdapter.class)) {
+            return UNSUPPORTED;
+        }
+        FieldNamingStrategy naming = gson.fieldNamingStrategy();
+        List<String> names = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        List<Kind> kinds = new ArrayList<>();
+        Set<String> unique = new HashSet<>();
+        try {
+            // same order as Gson: the class itself first, then its superclasses
+            for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    int modifiers = f.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || f.isSynthetic()) {
+                        continue;
+                    }
+                    Kind kind = getKind(f.getType());
+                    if (kind == null || f.isAnnotationPresent(JsonAdapter.class)) {
+                        return UNSUPPORTED;
+                    }
+                    SerializedName serializedName = f.getAnnotation(SerializedName.class);
+                    String name = serializedName != null? serializedName.value() : naming.translateName(f);
+                    if (!unique.add(name)) {
+                        return UNSUPPORTED;
+                    }
+                    f.setAccessible(true);
+                    names.add(name);
+                    fields.add(f);
+                    kinds.add(kind);
+                }
+            }
+        } catch (RuntimeException e) {
+            // e.g. a field of a JDK superclass that is not accessible
+            return UNSUPPORTED;
+        }
+        return new PoJoWriter(names.toArray(new String[0]), fields.toArray(new Field[0]),
+                                kinds.toArray(new Kind[0]), gson.serializeNulls());
+    }
+
+    private static Kind getKind(Class<?> type) {
+        if (type == String.class) {
+            return Kind.STRING;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class ||
+                type == short.class || type == Short.class || type == byte.class || type == Byte.class) {
+            return Kind.INTEGRAL;
+        }
+        if (type == double.class || type == Double.class) {
+            return Kind.DOUBLE;
+        }
+        if (type == float.class || type == Float.class) {
+            return Kind.FLOAT;
+        }
+        return null;
+    }
+}
@@ -33,6 +33,15 @@ public class SimpleObjectMapper {
         this.gson = gson;
     }
 
+    /**
+     * Reserved for the MsgPack PoJo writer, which must follow the same field naming and null policy
+     *
+     * @return the underlying Gson
+     */
+    Gson getGson() {
+        return gson;
+    }
+
     public String writeValueAsString(Object value) {
         return gson.toJson(value);
     }
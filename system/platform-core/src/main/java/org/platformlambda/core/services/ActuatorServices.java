@@ -29,9 +29,10 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
     public static final String ROUTES_ACTUATOR_SERVICE = "routes.actuator.service";
     public static final String LIB_ACTUATOR = "lib.actuator.service";
     public static final String ENV_ACTUATOR = "env.actuator.service";
+    public static final String METRICS_ACTUATOR = "metrics.actuator.service";
     public static final String SERVICE_NAMES = ACTUATOR_SERVICES + "," + INFO_ACTUATOR + "," + ENV_ACTUATOR + "," +
                                                 ROUTES_ACTUATOR_SERVICE + "," + LIB_ACTUATOR + "," +
-                                                HEALTH_ACTUATOR + "," + LIVENESS_ACTUATOR;
+                                                HEALTH_ACTUATOR + "," + LIVENESS_ACTUATOR + "," + METRICS_ACTUATOR;
     // one knob tunes the whole actuator family - all route aliases share this class's worker pool size
     public static final String ENV_INSTANCE_PROPERTY = ENV_INSTANCES_PREFIX + ACTUATOR_SERVICES;
     private static final Logger log = LoggerFactory.getLogger(ActuatorServices.class);
@@ -46,6 +47,7 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
     private static final String LIB = "lib";
     private static final String ENV = "env";
     private static final String HEALTH = "health";
+    private static final String METRICS = "metrics";
     private static final String HEALTH_STATUS = "health_status";
     private static final String LIVENESS_PROBE = "livenessprobe";
     private static final String ACCEPT = "accept";
@@ -64,6 +66,7 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
     private static final String CONTENT_TYPE = "content-type";
     private static final String APPLICATION_JSON = "application/json";
     private static final String APPLICATION_XML = "application/xml";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4";
     private static final String APP_DESCRIPTION = "info.app.description";
     private static final String JAVA_VERSION = "java.version";
     private static final String QUERY = "query";
@@ -142,6 +145,10 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
         if (HEALTH.equals(type)) {
             return handleHealth(headers);
         }
+        if (METRICS.equals(type)) {
+            return EventEnvelope.of().setBody(RouteMetrics.getInstance().toPrometheus())
+                                    .setHeader(CONTENT_TYPE, PROMETHEUS_TEXT);
+        }
         if (INFO.equals(type) || LIB.equals(type) || ROUTES.equals(type) || ENV.equals(type)) {
             return handleInfo(headers);
         }
@@ -174,6 +181,9 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
         if (LIVENESS_ACTUATOR.equals(myRoute)) {
             headers.put(TYPE, LIVENESS_PROBE);
         }
+        if (METRICS_ACTUATOR.equals(myRoute)) {
+            headers.put(TYPE, METRICS);
+        }
     }
 
     private Object handleInfo(Map<String, String> headers) throws ExecutionException, InterruptedException {
@@ -0,0 +1,241 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.services;
+
+import org.platformlambda.automation.config.RoutingEntry;
+import org.platformlambda.automation.models.AssignedRoute;
+import org.platformlambda.core.annotations.OptionalService;
+import org.platformlambda.core.annotations.WebSocketService;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.serializers.MsgPack;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.util.Utility;
+import org.platformlambda.core.util.W3cTrace;
+import org.platformlambda.core.websocket.server.WsEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Server side of the persistent Event-over-HTTP channel at "/ws/event/{handle}".
+ * <p>
+ * A peer streams batches of serialized envelopes, each tagged with a correlation ID, over
+ * one websocket connection instead of making one HTTP POST to "/api/event" per call.
+ * Each event is authenticated with the same rest.yaml authentication service that protects
+ * "/api/event" and then handed to the event API service, so routing, access control and
+ * tracing are the same for both transports. The trace ID, trace path and caller's span ID
+ * come from the envelope, or from the trace headers when the envelope does not carry them.
+ * Each response travels back as a binary frame carrying the correlation ID of the request.
+ * <p>
+ * The endpoint is disabled by default. Set "event.over.websocket=true" to enable it.
+ */
+@OptionalService("event.over.websocket")
+@WebSocketService("event")
+public class EventStreamService implements LambdaFunction {
+    private static final Logger log = LoggerFactory.getLogger(EventStreamService.class);
+    public static final String EVENTS = "events";
+    public static final String REPLY = "reply";
+    public static final String CID = "cid";
+    public static final String TTL = "ttl";
+    public static final String ASYNC = "async";
+    public static final String HEADERS = "headers";
+    public static final String EVENT = "event";
+    private static final String TYPE = "type";
+    private static final String POST = "POST";
+    private static final String EVENT_API_PATH = "/api/event";
+    private static final String X_TTL = "x-ttl";
+    private static final String X_ASYNC = "X-Async";
+    private static final String X_TRACE_ID = "x-trace-id";
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, Object input, int instance) {
+        String type = headers.get(WsEnvelope.TYPE);
+        String txPath = headers.get(WsEnvelope.TX_PATH);
+        if (WsEnvelope.OPEN.equals(type)) {
+            log.info("Event stream {} connected from {}", headers.get(WsEnvelope.ROUTE), headers.get(WsEnvelope.IP));
+        } else if (WsEnvelope.CLOSE.equals(type)) {
+            log.info("Event stream {} closed", headers.get(WsEnvelope.ROUTE));
+        } else if (WsEnvelope.BYTES.equals(type) && txPath != null && input instanceof byte[] b) {
+            handleFrame(txPath, b);
+        }
+        // text messages are keep-alive signals from the peer
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleFrame(String txPath, byte[] frame) {
+        final Object data;
+        try {
+            data = new MsgPack().unpack(frame);
+        } catch (IOException e) {
+            log.warn("Invalid event stream frame from {} - {}", txPath, e.getMessage());
+            return;
+        }
+        if (data instanceof Map<?, ?> map && map.get(EVENTS) instanceof List<?> events) {
+            for (Object item : events) {
+                if (item instanceof Map) {
+                    handleEntry(txPath, (Map<String, Object>) item);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleEntry(String txPath, Map<String, Object> entry) {
+        Utility util = Utility.getInstance();
+        String cid = String.valueOf(entry.get(CID));
+        long timeout = Math.max(1000, util.str2long(String.valueOf(entry.get(TTL))));
+        boolean async = Boolean.TRUE.equals(entry.get(ASYNC));
+        Map<String, String> httpHeaders = new HashMap<>();
+        if (entry.get(HEADERS) instanceof Map<?, ?> h) {
+            h.forEach((k, v) -> httpHeaders.put(String.valueOf(k).toLowerCase(), String.valueOf(v)));
+        }
+        if (!(entry.get(EVENT) instanceof byte[] b)) {
+            sendReply(txPath, cid, EventEnvelope.Format.COMPACT,
+                    new EventEnvelope().setStatus(500).setBody("Invalid event-over-http data format"));
+            return;
+        }
+        final EventEnvelope request;
+        try {
+            request = new EventEnvelope(b);
+        } catch (Exception e) {
+            // the envelope could not be decoded, so its format is unknown -
+            // fall back to the classic compact format for the error reply
+            sendReply(txPath, cid, EventEnvelope.Format.COMPACT,
+                    new EventEnvelope().setStatus(400).setBody(e.getMessage()));
+            return;
+        }
+        // mirror the requester's serialization format in the response
+        EventEnvelope.Format format = request.getWireFormat() == null?
+                EventEnvelope.Format.COMPACT : request.getWireFormat();
+        String authService = getAuthService(httpHeaders);
+        if (authService == null) {
+            relay(txPath, cid, format, b, request, httpHeaders, Map.of(), timeout, async);
+            return;
+        }
+        EventEmitter po = EventEmitter.getInstance();
+        if (!po.exists(authService)) {
+            sendReply(txPath, cid, format, new EventEnvelope().setStatus(503)
+                    .setBody("Service " + authService + " not reachable"));
+            return;
+        }
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setMethod(POST);
+        req.setUrl(EVENT_API_PATH);
+        httpHeaders.forEach(req::setHeader);
+        po.asyncRequest(new EventEnvelope().setTo(authService).setBody(req), timeout)
+            .onSuccess(response -> {
+                if (Boolean.TRUE.equals(response.getBody())) {
+                    // propagate session info from the authentication service if any
+                    relay(txPath, cid, format, b, request, httpHeaders, response.getHeaders(), timeout, async);
+                } else {
+                    sendReply(txPath, cid, format, new EventEnvelope().setStatus(401).setBody("Unauthorized"));
+                }
+            })
+            .onFailure(e -> sendReply(txPath, cid, format,
+                    new EventEnvelope().setStatus(408).setBody(e.getMessage())));
+    }
+
+    private String getAuthService(Map<String, String> httpHeaders) {
+        AssignedRoute route = RoutingEntry.getInstance().getRouteInfo(POST, EVENT_API_PATH);
+        if (route == null || route.info == null) {
+            return null;
+        }
+        for (String h: route.info.getAuthHeaders()) {
+            String v = httpHeaders.get(h);
+            if (v != null) {
+                String svc = route.info.getAuthService(h);
+                if (svc == null) {
+                    svc = route.info.getAuthService(h, v);
+                }
+                if (svc != null) {
+                    return svc;
+                }
+            }
+        }
+        return route.info.defaultAuthService;
+    }
+
+    /**
+     * Hand the event to the event API service as if it had arrived at "/api/event", so the edge
+     * gets its own span that parents onto the caller's span, and the target parents onto it.
+     */
+    private void relay(String txPath, String cid, EventEnvelope.Format format, byte[] event,
+                       EventEnvelope request, Map<String, String> httpHeaders,
+                       Map<String, String> sessionInfo, long timeout, boolean async) {
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setMethod(POST);
+        req.setUrl(EVENT_API_PATH);
+        req.setHeader(X_TTL, String.valueOf(timeout));
+        if (async) {
+            req.setHeader(X_ASYNC, "true");
+        }
+        sessionInfo.forEach(req::setSessionInfo);
+        req.setBody(event);
+        EventEnvelope api = new EventEnvelope().setTo(EventApiService.EVENT_API_SERVICE).setBody(req);
+        String[] traceParent = W3cTrace.parse(httpHeaders.get(W3cTrace.TRACEPARENT));
+        String traceId = request.getTraceId() != null? request.getTraceId() : httpHeaders.get(X_TRACE_ID);
+        if (traceId == null && traceParent.length > 0) {
+            traceId = traceParent[0];
+        }
+        if (traceId != null) {
+            api.setTrace(traceId, request.getTracePath() != null? request.getTracePath() : POST + " " + EVENT_API_PATH);
+            if (request.getSpanId() != null) {
+                api.setSpanId(request.getSpanId());
+            } else if (traceParent.length > 0) {
+                api.setSpanId(traceParent[1]);
+            }
+        }
+        // add 100 ms so that the event API service reports the timeout of the target first
+        EventEmitter.getInstance().asyncRequest(api, timeout + 100L)
+                .onSuccess(response -> {
+                    if (response.getRawBody() instanceof byte[] result) {
+                        sendReply(txPath, cid, result);
+                    } else {
+                        sendReply(txPath, cid, format, new EventEnvelope().setStatus(response.getStatus())
+                                .setBody(response.getError()));
+                    }
+                })
+                .onFailure(e -> sendReply(txPath, cid, format,
+                        new EventEnvelope().setStatus(408).setBody(e.getMessage())));
+    }
+
+    private void sendReply(String txPath, String cid, EventEnvelope.Format format, EventEnvelope result) {
+        sendReply(txPath, cid, result.toBytes(format));
+    }
+
+    private void sendReply(String txPath, String cid, byte[] result) {
+        Map<String, Object> reply = new HashMap<>();
+        reply.put(TYPE, REPLY);
+        reply.put(CID, cid);
+        reply.put(EVENT, result);
+        try {
+            EventEmitter.getInstance().send(txPath, new MsgPack().pack(reply));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unable to send event stream reply to {} - {}", txPath, e.getMessage());
+        }
+    }
+}
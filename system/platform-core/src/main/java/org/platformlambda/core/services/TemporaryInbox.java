@@ -16,15 +16,26 @@ public class TemporaryInbox implements TypedLambdaFunction<EventEnvelope, Void>
 
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope input, int instance) throws Exception {
-        var compositeCid = input.getCorrelationId();
+        var inbox = getInbox(input);
+        if (inbox != null) {
+            Platform.getInstance().getVirtualThreadExecutor().submit(() -> inbox.handleEvent(input));
+        }
+        return null;
+    }
+
+    /**
+     * Find the local inbox waiting for a response
+     *
+     * @param response event
+     * @return inbox or null if it is not found or has timed out
+     */
+    public static InboxBase getInbox(EventEnvelope response) {
+        var compositeCid = response.getCorrelationId();
         if (compositeCid != null) {
             // for AsyncMultiInbox amd FutureMultiInbox, the compositeCid contains a cid and a sequence number
             var sep = compositeCid.lastIndexOf('-');
             var cid = sep == -1? compositeCid : compositeCid.substring(0, sep);
-            var inbox = InboxBase.getHolder(cid);
-            if (inbox != null) {
-                Platform.getInstance().getVirtualThreadExecutor().submit(() -> inbox.handleEvent(input));
-            }
+            return InboxBase.getHolder(cid);
         }
         return null;
     }
@@ -32,7 +32,6 @@ import org.platformlambda.automation.http.HttpRequestHandler;
 import org.platformlambda.automation.models.AsyncContextHolder;
 import org.platformlambda.automation.services.HttpRouter;
 import org.platformlambda.automation.services.AsyncHttpResponse;
-import org.platformlambda.automation.util.SimpleHttpUtility;
 import org.platformlambda.core.annotations.BeforeApplication;
 import org.platformlambda.core.logging.LogContextConfig;
 import org.platformlambda.core.annotations.MainApplication;
@@ -58,7 +57,6 @@ public class AppStarter {
     private static final Logger log = LoggerFactory.getLogger(AppStarter.class);
     private static final ConcurrentMap<String, LambdaFunction> wsLambdas = new ConcurrentHashMap<>();
     private static final AtomicInteger compileCycle = new AtomicInteger(0);
-    private static final long HOUSEKEEPING_INTERVAL = 10 * 1000L;    // 10 seconds
     private static final String SKIP_OPTIONAL = "Skip optional {}";
     private static final String CLASS_NOT_FOUND = "Class {} not found";
     private static final String JAVA_VERSION = "java.version";
@@ -575,11 +573,6 @@ public class AppStarter {
         server.listen(port).onSuccess(service -> {
             EventEmitter.getInstance().send(startupMonitor, "ready");
             platform.registerPrivate(AsyncHttpClient.ASYNC_HTTP_RESPONSE, new AsyncHttpResponse(contexts), 500);
-            // start timeout handler
-            Housekeeper housekeeper = new Housekeeper(contexts);
-            platform.getVertx().setPeriodic(HOUSEKEEPING_INTERVAL,
-                    t -> housekeeper.removeExpiredConnections());
-            log.info("AsyncHttpContext housekeeper started");
             log.info("Reactive HTTP server running on port-{}", service.actualPort());
             if (!wsLambdas.isEmpty()) {
                 log.info("Websocket server running on port-{}", service.actualPort());
@@ -795,36 +788,6 @@ public class AppStarter {
         }
     }
 
-    private record Housekeeper(ConcurrentMap<String, AsyncContextHolder> contexts) {
-
-        private void removeExpiredConnections() {
-            // check async context timeout
-            if (!contexts.isEmpty()) {
-                List<String> list = new ArrayList<>(contexts.keySet());
-                long now = System.currentTimeMillis();
-                for (String id : list) {
-                    AsyncContextHolder holder = contexts.get(id);
-                    if (holder != null) {
-                        /*
-                         * The housekeeper is checking every 10 seconds.
-                         * Therefore, HTTP timeout does not need to be very accurate.
-                         *
-                         * Adding 100 ms buffer to ensure it does not time out less than the user defined value.
-                         */
-                        long relaxedTimeout = holder.timeout + 100L;
-                        long t1 = holder.lastAccess;
-                        if (now - t1 > relaxedTimeout) {
-                            log.warn("Async HTTP Context {} timeout for {} ms", id, now - t1);
-                            SimpleHttpUtility httpUtil = SimpleHttpUtility.getInstance();
-                            httpUtil.sendError(id, holder.request, 408,
-                                    "Timeout for " + (holder.timeout / 1000) + " seconds");
-                        }
-                    }
-                }
-            }
-        }
-    }
-
     public static HttpServerOptions getHttpServerOptions(boolean sslEnabled, String sslCertPath, String sslKeyPath) {
         if (!sslEnabled) {
             return new HttpServerOptions().setTcpKeepAlive(true);
@@ -30,6 +30,7 @@ import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.ConfigReader;
 import org.platformlambda.core.util.Utility;
 import org.platformlambda.core.util.W3cTrace;
+import org.platformlambda.core.websocket.client.EventStreamClient;
 import org.platformlambda.core.websocket.common.MultipartPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 /**
  * Intentional singleton
@@ -77,7 +79,10 @@ public class EventEmitter {
     private static final String X_ASYNC = "x-async";
     private static final String X_TRACE_ID = "x-trace-id";
     private static final String X_EVENT_FORMAT = "x-event-format";
+    private static final String X_EVENT_TRANSPORT = "x-event-transport";
     private static final String EVENT_HTTP_FORMAT_PROPERTY = "event.over.http.format";
+    private static final String EVENT_HTTP_TRANSPORT_PROPERTY = "event.over.http.transport";
+    private static final String WEBSOCKET_TRANSPORT = "websocket";
     private static final String COMPACT_FORMAT = "compact";
     private static final String STANDARD_FORMAT = "standard";
     private static final String ROUTE_SUBSTITUTION = "route.substitution";
@@ -704,6 +709,54 @@ public class EventEmitter {
         return EventEnvelope.Format.STANDARD;
     }
 
+    /**
+     * Resolve whether an outgoing Event-over-HTTP call may use the persistent event stream.
+     * A per-call "x-event-transport" header (including one declared per target in
+     * yaml.event.over.http) overrides the application default from the
+     * "event.over.http.transport" property. The default is "http", i.e. one POST per call.
+     */
+    private boolean useEventStream(Map<String, String> headers) {
+        if (headers != null) {
+            for (Map.Entry<String, String> kv : headers.entrySet()) {
+                if (X_EVENT_TRANSPORT.equalsIgnoreCase(kv.getKey())) {
+                    return WEBSOCKET_TRANSPORT.equalsIgnoreCase(kv.getValue());
+                }
+            }
+        }
+        return WEBSOCKET_TRANSPORT.equalsIgnoreCase(AppConfigReader.getInstance()
+                .getProperty(EVENT_HTTP_TRANSPORT_PROPERTY, HTTP));
+    }
+
+    private boolean isClientDirective(String header) {
+        return X_EVENT_FORMAT.equalsIgnoreCase(header) || X_EVENT_TRANSPORT.equalsIgnoreCase(header);
+    }
+
+    /**
+     * Send a serialized event through the persistent event stream to the peer if enabled and connected.
+     * The trace headers are added as for an HTTP POST, and the event is re-sent over HTTP POST
+     * if the connection is lost before the reply arrives.
+     *
+     * @return future response or null if the caller should fall back to HTTP POST
+     */
+    private Future<EventEnvelope> streamIfAvailable(URI url, EventEnvelope event, byte[] b, long timeout,
+                                                    Map<String, String> headers, boolean rpc) {
+        if (!useEventStream(headers)) {
+            return null;
+        }
+        Map<String, String> securityHeaders = new HashMap<>();
+        if (headers != null) {
+            for (Map.Entry<String, String> kv : headers.entrySet()) {
+                if (!isClientDirective(kv.getKey())) {
+                    securityHeaders.put(kv.getKey(), kv.getValue());
+                }
+            }
+        }
+        setTraceHeaders(securityHeaders::put, event);
+        return EventStreamClient.getInstance(getTargetFromUrl(url)).request(b, securityHeaders, timeout, rpc,
+                () -> Future.future(promise -> submitAsyncRequest(promise,
+                        getEventApiRequest(url, event, b, timeout, headers, rpc), timeout)));
+    }
+
     public Map<String, String> getEventHttpHeaders(String route) {
         int slash = route.indexOf('@');
         return eventHttpHeaders.get(slash == -1? route : route.substring(0, slash));
@@ -740,6 +793,55 @@ public class EventEmitter {
         }
     }
 
+    /**
+     * Send the same event to a list of target services
+     * <p>
+     * The event is serialized once for all targets that are functions in this application instance.
+     * Each of them receives its own copy of the serialized event with its route in the "to" field.
+     * Other targets, such as services in a peer application instance, receive the event through
+     * the regular send method.
+     * <p>
+     * A target that is not reachable is skipped.
+     *
+     * @param input event to the targets
+     * @param targets routes of the target services
+     */
+    public void fanOut(final EventEnvelope input, List<String> targets) {
+        var event = input.copy();
+        Platform platform = Platform.getInstance();
+        boolean viaCloud = platform.isCloudSelected() && event.getBroadcastLevel() == 1;
+        boolean eventApi = event.getHeader(X_EVENT_API) != null;
+        List<String> names = new ArrayList<>();
+        List<String> routes = new ArrayList<>();
+        for (String t: targets) {
+            try {
+                String to = substituteRouteIfAny(t);
+                if (!viaCloud && (eventApi || getEventHttpTarget(to) == null)) {
+                    TargetRoute target = discover(to);
+                    String route = target.isCloud()? null : target.getManager().getRoute();
+                    if (route != null && !TASK_EXECUTOR.equals(route) && !EVENT_MANAGER.equals(route) &&
+                            !TemporaryInbox.TEMPORARY_INBOX.equals(route)) {
+                        names.add(to);
+                        routes.add(route);
+                        continue;
+                    }
+                }
+                send(event.setTo(to));
+            } catch (IllegalArgumentException e) {
+                log.debug("Unable to send event to {} - {}", t, e.getMessage());
+            }
+        }
+        if (!routes.isEmpty()) {
+            // also set broadcast-level to 3 to propagate broadcast in event-over-http use case
+            EventEnvelope out = event.getBroadcastLevel() > 0? event.setBroadcastLevel(3) : event;
+            List<byte[]> events = out.toBytes(names);
+            EventBus system = platform.getEventSystem();
+            for (int i=0; i < routes.size(); i++) {
+                system.send(routes.get(i), events.get(i));
+            }
+        }
+    }
+
     private void routeEventSameMemorySpace(EventEnvelope event, TargetRoute target) {
         Platform platform = Platform.getInstance();
         EventBus system = platform.getEventSystem();
@@ -772,11 +874,34 @@ public class EventEmitter {
          */
         if (TASK_EXECUTOR.equals(route) || EVENT_MANAGER.equals(route)) {
             runTaskExecutor(out, target.getManager().getService().getFunction());
-        } else {
+        } else if (!TemporaryInbox.TEMPORARY_INBOX.equals(route) || !completeLocalInbox(out)) {
             system.send(route, out.toBytes());
         }
     }
 
+    /**
+     * An RPC response for a caller in this application instance is delivered to its inbox directly,
+     * skipping the dispatch through the "temporary.inbox" function and its extra thread hand-off.
+     * <p>
+     * The response is still serialized and restored so that the caller receives its own copy,
+     * exactly like an event from the event bus. The inbox is always completed on a new virtual
+     * thread because a Future inbox runs the caller's continuations synchronously. Running them
+     * inline would hold the responder's worker and leak its trace context into the caller.
+     *
+     * @param response event addressed to the temporary inbox
+     * @return true if the inbox is found
+     */
+    private boolean completeLocalInbox(EventEnvelope response) {
+        var inbox = TemporaryInbox.getInbox(response);
+        if (inbox == null) {
+            // let the temporary inbox function discard a late response as before
+            return false;
+        }
+        var reply = new EventEnvelope(response.toBytes());
+        Platform.getInstance().getVirtualThreadExecutor().submit(() -> inbox.handleEvent(reply));
+        return true;
+    }
+
     private void sendWithEventHttp(EventEnvelope event, String to, String targetHttp) {
         String callback = event.getReplyTo();
         String eventApiType = callback == null? "async" : "callback";
@@ -855,6 +980,28 @@ public class EventEmitter {
         } catch (URISyntaxException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
+        byte[] b = event.toBytes(httpEventFormat(headers));
+        Future<EventEnvelope> streamed = streamIfAvailable(url, event, b, timeout, headers, rpc);
+        if (streamed != null) {
+            return streamed;
+        }
+        EventEnvelope request = getEventApiRequest(url, event, b, timeout, headers, rpc);
+        return Future.future(promise -> submitAsyncRequest(promise, request, timeout));
+    }
+
+    /**
+     * Wrap a serialized event in an HTTP POST to the peer's event API endpoint
+     *
+     * @param url of the event API endpoint
+     * @param event the outgoing event
+     * @param b the serialized event
+     * @param timeout in milliseconds
+     * @param headers optional security headers
+     * @param rpc false for drop-n-forget
+     * @return request to the async HTTP client
+     */
+    private EventEnvelope getEventApiRequest(URI url, EventEnvelope event, byte[] b, long timeout,
+                                             Map<String, String> headers, boolean rpc) {
         AsyncHttpRequest req = new AsyncHttpRequest();
         req.setMethod(POST);
         req.setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
@@ -864,19 +1011,18 @@ public class EventEmitter {
         if (!rpc) {
             req.setHeader(X_ASYNC, "true");
         }
-        // optional HTTP request headers ("x-event-format" is a client-side
-        // serialization instruction - consumed here, not sent to the peer)
+        // optional HTTP request headers ("x-event-format" and "x-event-transport" are client-side
+        // instructions - consumed here, not sent to the peer)
         if (headers != null) {
             for (Map.Entry<String, String> kv : headers.entrySet()) {
-                if (!X_EVENT_FORMAT.equalsIgnoreCase(kv.getKey())) {
+                if (!isClientDirective(kv.getKey())) {
                     req.setHeader(kv.getKey(), kv.getValue());
                 }
             }
         }
-        setTraceHeaders(req, event);
+        setTraceHeaders(req::setHeader, event);
         req.setUrl(url.getPath());
         req.setTargetHost(getTargetFromUrl(url));
-        byte[] b = event.toBytes(httpEventFormat(headers));
         req.setBody(b);
         req.setContentLength(b.length);
         EventEnvelope request = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
@@ -889,7 +1035,7 @@ public class EventEmitter {
         if (event.getTracePath() != null) {
             request.setTracePath(event.getTracePath());
         }
-        return Future.future(promise -> submitAsyncRequest(promise, request, timeout));
+        return request;
     }
 
     /**
@@ -898,19 +1044,19 @@ public class EventEmitter {
      * (http.traceparent.header), the same value is stamped under that name too, so the trace context
      * survives an intermediary that strips the standard header.
      *
-     * @param req the HTTP request to the peer's /api/event endpoint
+     * @param setHeader of the HTTP request or the event stream entry to the peer's /api/event endpoint
      * @param event the outgoing event carrying the current trace context
      */
-    private void setTraceHeaders(AsyncHttpRequest req, EventEnvelope event) {
+    private void setTraceHeaders(BiConsumer<String, String> setHeader, EventEnvelope event) {
         String eventTraceId = event.getTraceId();
         if (eventTraceId != null) {
-            req.setHeader(X_TRACE_ID, eventTraceId);
+            setHeader.accept(X_TRACE_ID, eventTraceId);
             String traceParent = W3cTrace.format(eventTraceId, event.getSpanId());
             if (traceParent != null) {
-                req.setHeader(W3cTrace.TRACEPARENT, traceParent);
+                setHeader.accept(W3cTrace.TRACEPARENT, traceParent);
                 String customTraceparent = HttpRouter.getTraceparentHeader();
                 if (!W3cTrace.TRACEPARENT.equalsIgnoreCase(customTraceparent)) {
-                    req.setHeader(customTraceparent, traceParent);
+                    setHeader.accept(customTraceparent, traceParent);
                 }
             }
         }
@@ -1010,6 +1156,13 @@ public class EventEmitter {
         } catch (URISyntaxException e) {
             throw new IllegalArgumentException(e.getMessage());
         }
+        byte[] b = event.toBytes(httpEventFormat(headers));
+        Future<EventEnvelope> streamed = streamIfAvailable(url, event, b, timeout, headers, rpc);
+        if (streamed != null) {
+            CompletableFuture<EventEnvelope> future = new CompletableFuture<>();
+            streamed.onSuccess(future::complete);
+            return future;
+        }
         AsyncHttpRequest req = new AsyncHttpRequest();
         req.setMethod(POST);
         req.setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
@@ -1019,19 +1172,18 @@ public class EventEmitter {
         if (!rpc) {
             req.setHeader(X_ASYNC, "true");
         }
-        // optional HTTP request headers ("x-event-format" is a client-side
-        // serialization instruction - consumed here, not sent to the peer)
+        // optional HTTP request headers ("x-event-format" and "x-event-transport" are client-side
+        // instructions - consumed here, not sent to the peer)
         if (headers != null) {
             for (Map.Entry<String, String> kv : headers.entrySet()) {
-                if (!X_EVENT_FORMAT.equalsIgnoreCase(kv.getKey())) {
+                if (!isClientDirective(kv.getKey())) {
                     req.setHeader(kv.getKey(), kv.getValue());
                 }
             }
         }
-        setTraceHeaders(req, event);
+        setTraceHeaders(req::setHeader, event);
         req.setUrl(url.getPath());
         req.setTargetHost(getTargetFromUrl(url));
-        byte[] b = event.toBytes(httpEventFormat(headers));
         req.setBody(b);
         req.setContentLength(b.length);
         EventEnvelope apiRequest = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
@@ -131,15 +131,16 @@ public class LocalPubSub {
             List<String> members = topics.get(myRoute);
             if (members != null && !members.isEmpty()) {
                 PostOffice po = new PostOffice(headers, instance);
+                // serialize the event once for all subscribers in this application instance
+                List<String> targets = new ArrayList<>(members.size());
                 for (String target: members) {
                     if (po.exists(target)) {
-                        try {
-                            po.send(input.setTo(target));
-                        } catch (Exception e) {
-                            log.debug("Unable to relay {} -> {} - {}", myRoute, target, e.getMessage());
-                        }
+                        targets.add(target);
                     }
                 }
+                if (!targets.isEmpty()) {
+                    po.fanOut(input, targets);
+                }
             }
             return null;
         }
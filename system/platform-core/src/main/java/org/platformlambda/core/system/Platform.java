@@ -677,6 +677,7 @@ public class Platform {
                 registry.remove(route);
                 manager.stop();
             }
+            RouteMetrics.getInstance().remove(route);
             return true;
         } else {
             return false;
@@ -411,6 +411,16 @@ public class PostOffice {
         po.send(touch(event));
     }
 
+    /**
+     * Send the same event to a list of target services, serializing it once for local functions
+     *
+     * @param event to the targets
+     * @param targets routes of the target services
+     */
+    public void fanOut(final EventEnvelope event, List<String> targets) {
+        po.fanOut(touch(event), targets);
+    }
+
     /**
      * Schedule a future event
      *
@@ -0,0 +1,163 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Aggregated per-route metrics: function execution time recorded by the worker, RPC round-trip time
+ * recorded by the caller's inbox and the backlog of the elastic queue of each function.
+ * The metrics are exported in Prometheus text format by the "/metrics" actuator endpoint.
+ * <p>
+ * Recording is enabled by default. Set "route.metrics=false" to disable it.
+ */
+public class RouteMetrics {
+    private static final String EXEC_TIME = "mercury_function_execution_seconds";
+    private static final String ROUND_TRIP = "mercury_rpc_round_trip_seconds";
+    private static final String BACKLOG = "mercury_function_queue_backlog";
+    private static final ConcurrentMap<String, LatencyHistogram> execTime = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LatencyHistogram> roundTrip = new ConcurrentHashMap<>();
+    private static final RouteMetrics INSTANCE = new RouteMetrics();
+    private final boolean enabled;
+
+    private RouteMetrics() {
+        enabled = "true".equalsIgnoreCase(AppConfigReader.getInstance().getProperty("route.metrics", "true"));
+    }
+
+    public static RouteMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the execution time of a function
+     *
+     * @param route of the function
+     * @param milliseconds of execution time
+     */
+    public void recordExecutionTime(String route, float milliseconds) {
+        if (enabled && route != null) {
+            LatencyHistogram histogram = execTime.get(route);
+            // a late result of a released route must not add its histogram again
+            if (histogram == null && Platform.getInstance().hasRoute(route)) {
+                histogram = execTime.computeIfAbsent(route, k -> new LatencyHistogram());
+            }
+            if (histogram != null) {
+                histogram.record(milliseconds);
+            }
+        }
+    }
+
+    /**
+     * Record the round-trip time of a RPC call
+     *
+     * @param route of the target service
+     * @param milliseconds of round-trip time
+     */
+    public void recordRoundTrip(String route, float milliseconds) {
+        if (enabled && route != null) {
+            roundTrip.computeIfAbsent(route, k -> new LatencyHistogram()).record(milliseconds);
+        }
+    }
+
+    /**
+     * Remove the metrics of a released route, so that the private routes created per stream or
+     * websocket connection do not accumulate
+     *
+     * @param route of the function
+     */
+    public void remove(String route) {
+        if (route != null) {
+            execTime.remove(route);
+            roundTrip.remove(route);
+        }
+    }
+
+    /**
+     * Export the metrics in Prometheus text exposition format
+     *
+     * @return text
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        addHistograms(sb, EXEC_TIME, "Execution time of a function in seconds", execTime);
+        addHistograms(sb, ROUND_TRIP, "Round-trip time of a RPC call to a service in seconds", roundTrip);
+        sb.append("# HELP ").append(BACKLOG).append(" Number of events waiting for a worker of a function\n");
+        sb.append("# TYPE ").append(BACKLOG).append(" gauge\n");
+        Map<String, ServiceDef> routes = Platform.getInstance().getLocalRoutingTable();
+        for (String route : getSortedKeys(routes)) {
+            ServiceDef def = routes.get(route);
+            ServiceQueue manager = def == null? null : def.getManager();
+            if (manager != null) {
+                sb.append(BACKLOG).append("{route=\"").append(escape(route)).append("\"} ")
+                        .append(manager.getBacklog()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private void addHistograms(StringBuilder sb, String name, String help, Map<String, LatencyHistogram> metrics) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" histogram\n");
+        double[] bounds = LatencyHistogram.getBounds();
+        for (String route : getSortedKeys(metrics)) {
+            LatencyHistogram histogram = metrics.get(route);
+            String label = "route=\"" + escape(route) + "\"";
+            long[] counts = histogram.getCounts();
+            long cumulative = 0;
+            for (int i=0; i < bounds.length; i++) {
+                cumulative += counts[i];
+                sb.append(name).append("_bucket{").append(label).append(",le=\"")
+                        .append(format(bounds[i])).append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += counts[bounds.length];
+            sb.append(name).append("_bucket{").append(label).append(",le=\"+Inf\"} ").append(cumulative).append('\n');
+            sb.append(name).append("_sum{").append(label).append("} ").append(format(histogram.getSum())).append('\n');
+            sb.append(name).append("_count{").append(label).append("} ").append(cumulative).append('\n');
+        }
+    }
+
+    private List<String> getSortedKeys(Map<String, ?> map) {
+        List<String> keys = new ArrayList<>(map.keySet());
+        Collections.sort(keys);
+        return keys;
+    }
+
+    private String format(double value) {
+        String text = String.format(Locale.US, "%.6f", value);
+        // remove trailing zeros for readability
+        text = text.contains(".")? text.replaceAll("0+$", "") : text;
+        return text.endsWith(".")? text.substring(0, text.length()-1) : text;
+    }
+
+    private String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
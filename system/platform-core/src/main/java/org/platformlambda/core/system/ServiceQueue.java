@@ -37,6 +37,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is reserved for system use.
@@ -66,6 +67,8 @@ public class ServiceQueue {
     private final ConcurrentLinkedQueue<String> fifo = new ConcurrentLinkedQueue<>();
     private final ConcurrentMap<String, Boolean> idx = new ConcurrentHashMap<>();
     private final List<WorkerQueues> workers = new ArrayList<>();
+    // updated by the dispatch thread and read by the metrics exporter
+    private final AtomicLong backlog = new AtomicLong(0);
     private MessageConsumer<Object> consumer;
     private boolean buffering = true;
     private volatile boolean stopped = false;
@@ -195,6 +198,13 @@ public class ServiceQueue {
         return service;
     }
 
+    /**
+     * @return approximate number of events waiting in the elastic queue for an available worker
+     */
+    public long getBacklog() {
+        return backlog.get();
+    }
+
     /**
      * Per-route dispatch loop used when the store is virtual-thread-safe: runs the state machine + blocking
      * spill I/O on a virtual thread, so a disk/OS stall parks this carrier instead of the shared event loop.
@@ -237,6 +247,7 @@ public class ServiceQueue {
             }
             // completely close the associated elastic queue
             elasticQueue.destroy();
+            backlog.set(0);
             consumer = null;
             if (this.isControlRoute) {
                 log.debug("{} stopped", service.getRoute());
@@ -278,8 +289,10 @@ public class ServiceQueue {
                     if (event.length == 0) {
                         // Close elastic queue when all messages are cleared
                         buffering = false;
+                        backlog.set(0);
                         elasticQueue.close();
                     } else {
+                        backlog.decrementAndGet();
                         // Guarantees that there is an available worker
                         String nextWorker = fifo.poll();
                         if (nextWorker != null) {
@@ -295,6 +308,7 @@ public class ServiceQueue {
             if (buffering) {
                 // Once elastic queue is started, we will continue buffering.
                 elasticQueue.write(event);
+                backlog.incrementAndGet();
             } else {
                 // Check if a next worker is available
                 String nextWorker = fifo.peek();
@@ -302,6 +316,7 @@ public class ServiceQueue {
                     // Start persistent queue when no workers are available
                     buffering = true;
                     elasticQueue.write(event);
+                    backlog.incrementAndGet();
                 } else {
                     // Deliver event to the next worker
                     nextWorker = fifo.poll();
@@ -129,6 +129,7 @@ public class WorkerHandler {
          * This guarantee that this future task is executed orderly.
          */
         if (!ps.isReactive()) {
+            RouteMetrics.getInstance().recordExecutionTime(def.getRoute(), ps.getExecutionTime());
             Platform.getInstance().getEventSystem().send(def.getRoute(), READY + route);
         }
     }
@@ -439,7 +440,9 @@ public class WorkerHandler {
                     if (e instanceof Throwable ex) {
                         completed.set(true);
                         final EventEnvelope errorResponse = prepareErrorResponse(event, ex);
-                        po.send(applyTraceContext(traceContext, errorResponse).setExecutionTime(getExecTime(begin)));
+                        float execTime = getExecTime(begin);
+                        RouteMetrics.getInstance().recordExecutionTime(def.getRoute(), execTime);
+                        po.send(applyTraceContext(traceContext, errorResponse).setExecutionTime(execTime));
                     }
                 }, () -> {
                     // When the Mono emitter sends a null payload, Mono will not return any result.
@@ -541,7 +544,9 @@ public class WorkerHandler {
     private void sendMonoResponse(TraceInfo traceContext, EventEnvelope response, Object result, long begin) {
         EventEmitter po = EventEmitter.getInstance();
         updateResponse(response, result);
-        var encoded = applyTraceContext(traceContext, response).setExecutionTime(getExecTime(begin));
+        float execTime = getExecTime(begin);
+        RouteMetrics.getInstance().recordExecutionTime(def.getRoute(), execTime);
+        var encoded = applyTraceContext(traceContext, response).setExecutionTime(execTime);
         if (result instanceof EventEnvelope evt && evt.getType() != null) {
             encoded.setType(evt.getType());
             encoded.setBody(evt.getBody());
@@ -565,6 +570,11 @@ public class WorkerHandler {
 
     private boolean updateResponse(EventEnvelope response, Object result) {
         CustomSerializer serializer = def.getCustomSerializer();
+        // a file reference is served by the REST automation layer without passing the content through events
+        if (result instanceof FileResponse file) {
+            response.addTag(FileResponse.FILE_RESPONSE_TAG);
+            return applyEnvelopeResult(file.toEvent(), response, serializer);
+        }
         if (result instanceof EventEnvelope resultEvent) {
             return applyEnvelopeResult(resultEvent, response, serializer);
         } else {
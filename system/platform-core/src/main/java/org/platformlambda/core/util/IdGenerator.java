@@ -0,0 +1,43 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core.util;
+
+/**
+ * Source of the 32-character lowercase hex identifiers returned by {@link Utility#getUuid()}.
+ * <p>
+ * They are used as event IDs, correlation IDs, flow instance IDs and temporary route names, so an
+ * implementation must be thread-safe, must not block and must keep the 32-hex format because
+ * some callers rely on the ID length. The default is {@link TimeOrderedIdGenerator}.
+ * <p>
+ * IDs from this generator are unique but not secret. Use {@link Utility#getUuid4()} or
+ * {@link CryptoApi} when a value must not be guessable.
+ * <p>
+ * Only the full ID is unique. A substring is not - the leading characters of a time-ordered ID
+ * are the same for all IDs generated within the same minute. Use {@link Utility#getUuid4()}
+ * when a short random tag is needed.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generate a new ID
+     *
+     * @return 32 lowercase hex characters
+     */
+    String next();
+}
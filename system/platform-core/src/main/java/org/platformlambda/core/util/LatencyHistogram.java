@@ -0,0 +1,85 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Lock-free latency histogram with fixed logarithmic buckets from 100 microseconds to 60 seconds
+ * <p>
+ * Recording is a binary search over the bucket bounds and two atomic additions, so it can be
+ * updated on every event. The bucket bounds follow the Prometheus convention so that a percentile
+ * such as p99 can be estimated with the "histogram_quantile" function and the histograms of
+ * several application instances can be aggregated.
+ */
+public class LatencyHistogram {
+    // upper bounds in seconds
+    private static final double[] BOUNDS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025,
+                                            0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+    // the last bucket holds the values above the highest bound
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * Record a latency
+     *
+     * @param milliseconds elapsed time
+     */
+    public void record(double milliseconds) {
+        double seconds = Math.max(0, milliseconds) / 1000;
+        int low = 0;
+        int high = BOUNDS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seconds > BOUNDS[mid]) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        counts.incrementAndGet(low);
+        sum.add(seconds);
+    }
+
+    /**
+     * @return upper bounds of the buckets in seconds, excluding the overflow bucket
+     */
+    public static double[] getBounds() {
+        return BOUNDS.clone();
+    }
+
+    /**
+     * @return snapshot of the count of each bucket, with the overflow bucket at the end
+     */
+    public long[] getCounts() {
+        long[] result = new long[counts.length()];
+        for (int i=0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return total of the recorded latencies in seconds
+     */
+    public double getSum() {
+        return sum.sum();
+    }
+}
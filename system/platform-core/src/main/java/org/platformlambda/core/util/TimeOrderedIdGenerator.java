@@ -0,0 +1,60 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default ID generator using the UUID version 7 layout (RFC 9562) without the hyphens.
+ * <p>
+ * The first 48 bits are the Unix epoch time in milliseconds, so the IDs sort roughly by creation
+ * time. The remaining bits hold the version and variant markers and 74 random bits that come from
+ * ThreadLocalRandom. Unlike UUID.randomUUID(), this does not contend on a shared SecureRandom,
+ * and the ID is encoded straight into one 32-byte buffer instead of going through
+ * UUID.toString() and String.replace().
+ * <p>
+ * The buffer is a local array rather than a ThreadLocal because most callers run on short-lived
+ * virtual threads, where a per-thread buffer would be allocated for nearly every ID anyway.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RAND_A_MASK = 0xfffL;
+    private static final long RAND_B_MASK = 0x3fffffffffffffffL;
+
+    @Override
+    public String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (System.currentTimeMillis() << 16) | VERSION_7 | (random.nextLong() & RAND_A_MASK);
+        long lsb = VARIANT | (random.nextLong() & RAND_B_MASK);
+        byte[] buffer = new byte[32];
+        encode(msb, buffer, 0);
+        encode(lsb, buffer, 16);
+        // ISO-8859-1 lets a compact string take the buffer as-is without re-encoding
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void encode(long value, byte[] buffer, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Hashed timing wheel that expires timeouts from one daemon thread.
+ * <p>
+ * Scheduling a timeout appends a small record to a lock-free queue, so no event loop timer is
+ * created or cancelled per request. The sweeper thread moves new timeouts into the wheel and, every
+ * tick, hands the items whose deadline has passed to the expiry handler. Cancelling a timeout
+ * appends it to a second lock-free queue and the sweeper removes it from its slot, so the wheel only
+ * holds the timeouts that are still pending. When the wheel is empty, the sweeper parks until the
+ * next timeout is scheduled.
+ * <p>
+ * The expiry handler runs on the sweeper thread, so it must hand any slow work to another thread.
+ * An exception from the handler is logged and does not stop the sweeper. A timeout fires no earlier
+ * than requested and at most one tick later.
+ *
+ * @param <T> item to expire
+ */
+public final class TimingWheel<T> {
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+    private static final long TICK_MS = 10;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+    // 1024 slots of 10 ms cover about 10 seconds per revolution
+    private static final int WHEEL_SIZE = 1024;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private final String name;
+    private final Consumer<T> handler;
+    private final ConcurrentLinkedQueue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final List<Set<Timeout<T>>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final long origin = System.nanoTime();
+    private volatile Thread sweeper;
+    private volatile boolean idle = false;
+    // single writer (the sweeper thread), so the non-atomic update of this volatile is safe
+    private volatile int size = 0;
+    private long currentTick = 0;
+
+    /**
+     * Create a timing wheel
+     *
+     * @param name of the sweeper thread
+     * @param handler to be called with each expired item
+     */
+    public TimingWheel(String name, Consumer<T> handler) {
+        this.name = name;
+        this.handler = handler;
+        for (int i=0; i < WHEEL_SIZE; i++) {
+            wheel.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Schedule the expiry of an item
+     *
+     * @param item to expire
+     * @param timeout in milliseconds
+     * @return timeout that can be cancelled
+     */
+    public Timeout<T> schedule(T item, long timeout) {
+        Timeout<T> entry = new Timeout<>(item, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout));
+        pending.add(entry);
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::sweep, name);
+            thread.setDaemon(true);
+            sweeper = thread;
+            thread.start();
+            log.info("{} started, tick {} ms", name, TICK_MS);
+        } else if (idle) {
+            LockSupport.unpark(sweeper);
+        }
+        return entry;
+    }
+
+    /**
+     * Cancel a timeout
+     *
+     * @param timeout from the schedule method
+     */
+    public void cancel(Timeout<T> timeout) {
+        if (!timeout.cancelled) {
+            timeout.cancelled = true;
+            cancelled.add(timeout);
+        }
+    }
+
+    /**
+     * @return number of timeouts held by the wheel
+     */
+    public int size() {
+        return size;
+    }
+
+    private void sweep() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            long nowTick = (now - origin) / TICK_NANOS;
+            if (size == 0) {
+                // all slots are empty, so the ticks passed while parked need no scan
+                currentTick = Math.max(currentTick, nowTick);
+            }
+            Timeout<T> timeout;
+            while ((timeout = pending.poll()) != null) {
+                if (!timeout.cancelled) {
+                    // round up so that a timeout never fires early
+                    long tick = Math.max(currentTick, (timeout.expiry - origin + TICK_NANOS - 1) / TICK_NANOS);
+                    timeout.slot = (int) (tick & MASK);
+                    wheel.get(timeout.slot).add(timeout);
+                    size++;
+                }
+            }
+            while ((timeout = cancelled.poll()) != null) {
+                if (timeout.slot >= 0 && wheel.get(timeout.slot).remove(timeout)) {
+                    timeout.slot = -1;
+                    size--;
+                }
+            }
+            while (currentTick <= nowTick) {
+                wheel.get((int) (currentTick & MASK)).removeIf(t -> expireIfDue(t, now));
+                currentTick++;
+            }
+            if (size == 0) {
+                // the idle flag is set before checking the queue so that a concurrent schedule unparks it
+                idle = true;
+                if (pending.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            } else {
+                LockSupport.parkNanos(this, origin + currentTick * TICK_NANOS - System.nanoTime());
+            }
+        }
+    }
+
+    private boolean expireIfDue(Timeout<T> timeout, long now) {
+        if (timeout.expiry > now) {
+            // due in a later revolution of the wheel
+            return false;
+        }
+        timeout.slot = -1;
+        size--;
+        try {
+            handler.accept(timeout.item);
+        } catch (Exception e) {
+            log.error("Unable to expire {} in {} - {}", timeout.item, name, e.getMessage());
+        }
+        return true;
+    }
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final long expiry;
+        private volatile boolean cancelled = false;
+        // used by the sweeper thread only
+        private int slot = -1;
+
+        private Timeout(T item, long expiry) {
+            this.item = item;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -93,7 +93,10 @@ public class Utility {
     private static final List<String> appVersion = new ArrayList<>();
     private static final List<String> libs = new ArrayList<>();
     private static final ReentrantLock SAFETY = new ReentrantLock();
+    private static final IdGenerator DEFAULT_ID_GENERATOR = new TimeOrderedIdGenerator();
     private static final Utility instance = new Utility();
+    private volatile IdGenerator idGenerator = DEFAULT_ID_GENERATOR;
+    private volatile DatePrefix datePrefix = new DatePrefix(0, 0, "");
 
     private Utility() {
         // singleton
@@ -240,21 +243,53 @@ public class Utility {
     }
 
     /**
-     * Get a UUID without the hyphen separator character
+     * Get a unique ID of 32 hex characters
+     * <p>
+     * The ID comes from the configured ID generator. The default generator uses the UUID
+     * version 7 layout without the hyphen separator character so that IDs are time-ordered.
      *
-     * @return uuid random value
+     * @return unique ID
      */
     public String getUuid() {
-        return UUID.randomUUID().toString().replace("-", "");
+        return idGenerator.next();
     }
 
     /**
-     * Get a UUID with current day as the prefix (YYYYMMDD format)
+     * Get a unique ID with current day as the prefix (YYYYMMDD format)
      *
-     * @return uuid random value
+     * @return unique ID
      */
     public String getDateUuid() {
-        return getDateOnly(new Date())+getUuid();
+        long now = System.currentTimeMillis();
+        DatePrefix prefix = datePrefix;
+        if (now < prefix.start || now >= prefix.end) {
+            long start = now - Math.floorMod(now, ONE_DAY_MS);
+            prefix = new DatePrefix(start, start + ONE_DAY_MS, getDateOnly(new Date(now)));
+            datePrefix = prefix;
+        }
+        return prefix.text + getUuid();
+    }
+
+    /**
+     * Replace the ID generator used by getUuid and getDateUuid
+     * <p>
+     * For example, to restore random UUIDs:
+     * setIdGenerator(() -> UUID.randomUUID().toString().replace("-", ""))
+     *
+     * @param generator that returns 32 lowercase hex characters, or null to restore the default
+     */
+    public void setIdGenerator(IdGenerator generator) {
+        if (generator != null) {
+            String sample = generator.next();
+            if (sample == null || sample.length() != 32 || !isLowerHex(sample)) {
+                throw new IllegalArgumentException("ID generator must return 32 lowercase hex characters");
+            }
+        }
+        idGenerator = generator == null? DEFAULT_ID_GENERATOR : generator;
+    }
+
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
     }
 
     /**
@@ -1392,4 +1427,16 @@ public class Utility {
         }
         return text.indexOf(end, start);
     }
+
+    private boolean isLowerHex(String str) {
+        for (int i=0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record DatePrefix(long start, long end, String text) { }
 }
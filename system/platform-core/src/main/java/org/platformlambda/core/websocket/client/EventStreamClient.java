@@ -0,0 +1,271 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.websocket.client;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.platformlambda.core.annotations.ZeroTracing;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.serializers.MsgPack;
+import org.platformlambda.core.services.EventStreamService;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.Utility;
+import org.platformlambda.core.websocket.server.WsEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Client side of the persistent Event-over-HTTP channel. One websocket connection is kept per
+ * peer (protocol, host and port) using PersistentWsClient. Outgoing envelopes are tagged with a
+ * correlation ID and small events that arrive together are sent as one binary frame.
+ * <p>
+ * The channel is an optimization only. When it is not connected or the event is too large for
+ * a frame, the request method returns null and the caller falls back to a plain HTTP POST.
+ * When the connection is lost, the requests waiting for a reply are re-sent over HTTP POST,
+ * so an event that was in transit may be delivered twice.
+ * <p>
+ * A client that has not been used for "event.over.websocket.idle.timeout" seconds (default 300)
+ * is closed together with its connection, and the next call to the peer starts a new one.
+ */
+@ZeroTracing
+public class EventStreamClient implements LambdaFunction {
+    private static final Logger log = LoggerFactory.getLogger(EventStreamClient.class);
+    private static final ConcurrentMap<String, EventStreamClient> clients = new ConcurrentHashMap<>();
+    private static final String STREAM_PATH = "/ws/event";
+    private static final String TYPE = "type";
+    private static final String IDLE_TIMEOUT = "event.over.websocket.idle.timeout";
+    private static final String DEFAULT_IDLE_TIMEOUT = "300";
+    private static final AtomicBoolean idleCheck = new AtomicBoolean(false);
+    // keep each frame well below the default websocket message size limit of 256 KB
+    private static final int MAX_EVENT_SIZE = 60 * 1024;
+    private static final int MAX_FRAME_SIZE = 192 * 1024;
+    private final ConcurrentMap<String, PendingReply> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Map<String, Object>> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final String target;
+    private volatile PersistentWsClient connection;
+    private volatile String txPath;
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    private EventStreamClient(String target) {
+        this.target = target;
+    }
+
+    /**
+     * Get the event stream client for a peer, starting its persistent connection on first use
+     *
+     * @param target in the format of protocol://host:port where protocol is http or https
+     * @return event stream client
+     */
+    public static EventStreamClient getInstance(String target) {
+        EventStreamClient result = clients.computeIfAbsent(target, k -> {
+            EventStreamClient client = new EventStreamClient(k);
+            String url = (k.startsWith("https://")? "wss://" + k.substring(8) : "ws://" + k.substring(7))
+                            + STREAM_PATH;
+            client.connection = new PersistentWsClient(client, Collections.singletonList(url));
+            client.connection.start();
+            return client;
+        });
+        if (!idleCheck.get() && idleCheck.compareAndSet(false, true)) {
+            long idle = Math.max(30, Utility.getInstance().str2long(
+                    AppConfigReader.getInstance().getProperty(IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT))) * 1000L;
+            Platform.getInstance().getVertx().setPeriodic(idle / 2, t -> closeIdleClients(idle));
+        }
+        result.lastUsed = System.currentTimeMillis();
+        return result;
+    }
+
+    private static void closeIdleClients(long idle) {
+        long now = System.currentTimeMillis();
+        for (EventStreamClient client : clients.values()) {
+            if (client.pending.isEmpty() && now - client.lastUsed > idle) {
+                log.info("Closing event stream to {} after {} seconds of inactivity", client.target, idle / 1000);
+                // close on a virtual thread because the timer runs on the event loop
+                Platform.getInstance().getVirtualThreadExecutor().submit(client::close);
+            }
+        }
+    }
+
+    /**
+     * Release this client and close its persistent connection.
+     * Requests waiting for a reply are re-sent over HTTP POST.
+     */
+    public void close() {
+        if (clients.remove(target, this)) {
+            txPath = null;
+            connection.close();
+            for (String cid : new ArrayList<>(pending.keySet())) {
+                fail(cid);
+            }
+        }
+    }
+
+    public boolean isConnected() {
+        return txPath != null;
+    }
+
+    /**
+     * Send a serialized event through the persistent channel
+     *
+     * @param event serialized event envelope
+     * @param headers optional security headers for the peer's authentication service and trace headers
+     * @param timeout in milliseconds
+     * @param rpc true if a response is expected, otherwise the peer acknowledges with status 202
+     * @param fallback to send the event over HTTP POST if the connection is lost before the reply
+     * @return future response or null if the channel is not available
+     */
+    public Future<EventEnvelope> request(byte[] event, Map<String, String> headers, long timeout, boolean rpc,
+                                         Supplier<Future<EventEnvelope>> fallback) {
+        if (txPath == null || event.length > MAX_EVENT_SIZE) {
+            return null;
+        }
+        lastUsed = System.currentTimeMillis();
+        String cid = Utility.getInstance().getUuid();
+        long ttl = Math.max(100L, timeout);
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(EventStreamService.CID, cid);
+        entry.put(EventStreamService.TTL, ttl);
+        entry.put(EventStreamService.ASYNC, !rpc);
+        entry.put(EventStreamService.EVENT, event);
+        if (headers != null && !headers.isEmpty()) {
+            entry.put(EventStreamService.HEADERS, headers);
+        }
+        return Future.future(promise -> {
+            // add 100 ms to make sure it does not time out earlier than the target service
+            long timer = Platform.getInstance().getVertx().setTimer(ttl + 100L, t -> abort(cid, ttl));
+            pending.put(cid, new PendingReply(promise, timer, fallback));
+            outbox.add(entry);
+            if (flushScheduled.compareAndSet(false, true)) {
+                Platform.getInstance().getVirtualThreadExecutor().submit(this::flush);
+            }
+        });
+    }
+
+    private void abort(String cid, long ttl) {
+        PendingReply holder = pending.remove(cid);
+        if (holder != null) {
+            // complete on a virtual thread because the timer runs on the event loop
+            Platform.getInstance().getVirtualThreadExecutor().submit(() ->
+                holder.promise.complete(new EventEnvelope().setStatus(408).setBody("Timeout for " + ttl + " ms")));
+        }
+    }
+
+    private void flush() {
+        // reset the flag before draining so that an event added afterward schedules another flush
+        flushScheduled.set(false);
+        List<Map<String, Object>> batch = new ArrayList<>();
+        int size = 0;
+        Map<String, Object> entry;
+        while ((entry = outbox.poll()) != null) {
+            int len = ((byte[]) entry.get(EventStreamService.EVENT)).length;
+            if (!batch.isEmpty() && size + len > MAX_FRAME_SIZE) {
+                sendFrame(batch);
+                batch = new ArrayList<>();
+                size = 0;
+            }
+            batch.add(entry);
+            size += len;
+        }
+        if (!batch.isEmpty()) {
+            sendFrame(batch);
+        }
+    }
+
+    private void sendFrame(List<Map<String, Object>> batch) {
+        String path = txPath;
+        try {
+            if (path == null) {
+                throw new IllegalArgumentException("Event stream to " + target + " is not connected");
+            }
+            EventEmitter.getInstance().send(path, new MsgPack().pack(Map.of(EventStreamService.EVENTS, batch)));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Unable to send to event stream {}, fall back to HTTP - {}", target, e.getMessage());
+            for (Map<String, Object> entry : batch) {
+                fail(String.valueOf(entry.get(EventStreamService.CID)));
+            }
+        }
+    }
+
+    private void fail(String cid) {
+        PendingReply holder = pending.remove(cid);
+        if (holder != null) {
+            Platform.getInstance().getVertx().cancelTimer(holder.timer);
+            try {
+                holder.fallback.get()
+                        .onSuccess(holder.promise::complete)
+                        .onFailure(e -> holder.promise.complete(new EventEnvelope().setStatus(503)
+                                .setBody(e.getMessage())));
+            } catch (IllegalArgumentException e) {
+                holder.promise.complete(new EventEnvelope().setStatus(503).setBody(e.getMessage()));
+            }
+        }
+    }
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, Object input, int instance) {
+        String type = headers.get(TYPE);
+        if (WsEnvelope.OPEN.equals(type)) {
+            txPath = headers.get(WsEnvelope.TX_PATH);
+            log.info("Event stream to {} connected", target);
+        } else if (WsEnvelope.CLOSE.equals(type)) {
+            txPath = null;
+            log.info("Event stream to {} closed", target);
+            // replies for requests in transit are lost with the connection, so re-send them over HTTP
+            for (String cid : new ArrayList<>(pending.keySet())) {
+                fail(cid);
+            }
+        } else if (WsEnvelope.BYTES.equals(type) && input instanceof byte[] b) {
+            handleReply(b);
+        }
+        return null;
+    }
+
+    private void handleReply(byte[] frame) {
+        try {
+            if (new MsgPack().unpack(frame) instanceof Map<?, ?> reply &&
+                    reply.get(EventStreamService.CID) instanceof String cid &&
+                    reply.get(EventStreamService.EVENT) instanceof byte[] b) {
+                PendingReply holder = pending.remove(cid);
+                if (holder != null) {
+                    Platform.getInstance().getVertx().cancelTimer(holder.timer);
+                    holder.promise.complete(new EventEnvelope(b));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Invalid event stream reply from {} - {}", target, e.getMessage());
+        }
+    }
+
+    private record PendingReply(Promise<EventEnvelope> promise, long timer,
+                                Supplier<Future<EventEnvelope>> fallback) { }
+}
@@ -81,7 +81,8 @@ public class PersistentWsClient extends Thread {
         }
         this.urls.addAll(urls);
         Platform platform = Platform.getInstance();
-        sessionId = Utility.getInstance().getUuid().substring(0, 8);
+        // the prefix of a time-ordered ID is shared by clients created in the same minute, so use a random one
+        sessionId = Utility.getInstance().getUuid4().substring(0, 8);
         session = PC+sessionId+IN;
         platform.registerPrivate(session, connector, 1);
     }
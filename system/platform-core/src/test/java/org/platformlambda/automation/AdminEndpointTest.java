@@ -22,7 +22,9 @@ import org.junit.jupiter.api.Test;
 import org.platformlambda.common.TestBase;
 import org.platformlambda.core.mock.MockCloud;
 import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.RouteMetrics;
 import org.platformlambda.core.util.MultiLevelMap;
 import org.platformlambda.core.util.Utility;
 
@@ -140,6 +142,45 @@ class AdminEndpointTest extends TestBase {
         assertEquals("OK", response.getBody());
     }
 
+    @Test
+    void metricsEndpointTest() throws InterruptedException {
+        // make a request so that the health actuator has at least one execution time recorded
+        httpGet(localHost, "/health", null);
+        EventEnvelope response = httpGet(localHost, "/metrics", null);
+        assert response != null;
+        assertEquals(200, response.getStatus());
+        assertInstanceOf(String.class, response.getBody());
+        String text = (String) response.getBody();
+        assertTrue(text.contains("# TYPE mercury_function_execution_seconds histogram"));
+        assertTrue(text.contains("mercury_function_execution_seconds_bucket{route=\"health.actuator.service\",le=\"+Inf\"}"));
+        assertTrue(text.contains("mercury_function_execution_seconds_count{route=\"health.actuator.service\"}"));
+        assertTrue(text.contains("# TYPE mercury_rpc_round_trip_seconds histogram"));
+        assertTrue(text.contains("# TYPE mercury_function_queue_backlog gauge"));
+        assertTrue(text.contains("mercury_function_queue_backlog{route=\"hello.mock\"}"));
+    }
+
+    @Test
+    void metricsOfReleasedRouteAreRemoved() throws Exception {
+        String route = "metrics.release.test";
+        Platform platform = Platform.getInstance();
+        platform.registerPrivate(route, (headers, input, instance) -> input, 1);
+        EventEnvelope response = EventEmitter.getInstance().eRequest(new EventEnvelope()
+                                    .setTo(route).setBody("hello"), 5000).get();
+        assertEquals("hello", response.getBody());
+        String label = "mercury_function_execution_seconds_count{route=\"" + route + "\"}";
+        // the execution time is recorded right after the response is sent
+        long end = System.currentTimeMillis() + 3000;
+        while (!RouteMetrics.getInstance().toPrometheus().contains(label) && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(RouteMetrics.getInstance().toPrometheus().contains(label));
+        platform.release(route);
+        assertFalse(RouteMetrics.getInstance().toPrometheus().contains(label));
+        // a late result of the released route does not add it again
+        RouteMetrics.getInstance().recordExecutionTime(route, 1.0f);
+        assertFalse(RouteMetrics.getInstance().toPrometheus().contains(label));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void envEndpointTest() throws InterruptedException {
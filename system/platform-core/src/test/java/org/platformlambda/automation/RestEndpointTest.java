@@ -1436,4 +1436,73 @@ class RestEndpointTest extends TestBase {
         assertEquals(source, data);
     }
 
+
+    @Test
+    void admissionControlRejectsExcessRequest() throws InterruptedException {
+        // /api/slow/probe is configured with max_in_flight=1 in rest.yaml
+        final BlockingQueue<EventEnvelope> first = new ArrayBlockingQueue<>(1);
+        final BlockingQueue<EventEnvelope> second = new ArrayBlockingQueue<>(1);
+        EventEmitter po = EventEmitter.getInstance();
+        po.asyncRequest(slowProbe(800), RPC_TIMEOUT).onSuccess(first::add);
+        // wait until the first request is in flight
+        Thread.sleep(200);
+        po.asyncRequest(slowProbe(0), RPC_TIMEOUT).onSuccess(second::add);
+        EventEnvelope rejected = second.poll(10, TimeUnit.SECONDS);
+        assert rejected != null;
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        EventEnvelope admitted = first.poll(10, TimeUnit.SECONDS);
+        assert admitted != null;
+        assertEquals(200, admitted.getStatus());
+        // the permit is returned when the first request completes
+        final BlockingQueue<EventEnvelope> third = new ArrayBlockingQueue<>(1);
+        po.asyncRequest(slowProbe(0), RPC_TIMEOUT).onSuccess(third::add);
+        EventEnvelope next = third.poll(10, TimeUnit.SECONDS);
+        assert next != null;
+        assertEquals(200, next.getStatus());
+    }
+
+    @Test
+    void timeoutIsEnforcedAtDeadline() throws InterruptedException {
+        // /api/slow/probe is configured with a timeout of 1 second in rest.yaml
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
+        EventEmitter po = EventEmitter.getInstance();
+        long start = System.currentTimeMillis();
+        po.asyncRequest(slowProbe(3000), RPC_TIMEOUT).onSuccess(bench::add);
+        EventEnvelope response = bench.poll(10, TimeUnit.SECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+        assert response != null;
+        assertEquals(408, response.getStatus());
+        assertTrue(elapsed >= 1000 && elapsed < 3000, "timeout fired after " + elapsed + " ms");
+    }
+
+    private EventEnvelope slowProbe(long sleep) {
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setMethod("GET").setUrl("/api/slow/probe").setQueryParameter("sleep", String.valueOf(sleep))
+                .setTargetHost("http://127.0.0.1:" + port);
+        req.setHeader("accept", "application/json");
+        return new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
+    }
+
+    @Test
+    void rawJsonPassThrough() throws InterruptedException {
+        // /api/raw/json is configured with raw_json=true so the function receives the original bytes
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
+        EventEmitter po = EventEmitter.getInstance();
+        String json = "{\"hello\": \"world\", \"items\": [1, 2, 3]}";
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setMethod("POST").setUrl("/api/raw/json").setTargetHost("http://127.0.0.1:" + port);
+        req.setHeader("accept", "application/octet-stream");
+        req.setHeader("content-type", "application/json");
+        req.setHeader(X_NO_STREAM, "true");
+        req.setBody(json);
+        EventEnvelope request = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
+        po.asyncRequest(request, RPC_TIMEOUT).onSuccess(bench::add);
+        EventEnvelope response = bench.poll(10, TimeUnit.SECONDS);
+        assert response != null;
+        assertEquals(200, response.getStatus());
+        assertInstanceOf(byte[].class, response.getBody());
+        // the body is echoed byte-for-byte without a parse and serialize cycle
+        assertEquals(json, Utility.getInstance().getUTF((byte[]) response.getBody()));
+    }
 }
@@ -90,6 +90,30 @@ class EventEnvelopeTest {
         assertEquals("2025-12-27T00:00", String.valueOf(pojo.getLocalDateTime()));
     }
 
+    @Test
+    void serializeOnceForManyTargets() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("hello", "world");
+        body.put("number", 100);
+        EventEnvelope event = new EventEnvelope().setTo("hello.world").setFrom("sender")
+                                .setHeader("a", "b").setCorrelationId("cid").setBody(body);
+        List<String> targets = List.of("target.one", "target.two", "target.three");
+        List<byte[]> result = event.toBytes(targets);
+        assertEquals(targets.size(), result.size());
+        for (int i=0; i < targets.size(); i++) {
+            EventEnvelope restored = new EventEnvelope(result.get(i));
+            EventEnvelope expected = new EventEnvelope(event.copy().setTo(targets.get(i)).toBytes());
+            assertEquals(targets.get(i), restored.getTo());
+            assertEquals(expected.getId(), restored.getId());
+            assertEquals("sender", restored.getFrom());
+            assertEquals("cid", restored.getCorrelationId());
+            assertEquals("b", restored.getHeader("a"));
+            assertEquals(expected.getBody(), restored.getBody());
+        }
+        // the original event is not changed
+        assertEquals("hello.world", event.getTo());
+    }
+
     @Test
     void cookieTest() {
         EventEnvelope event = new EventEnvelope();
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.platformlambda.common.TestBase;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.models.TraceInfo;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
@@ -30,6 +31,7 @@ import org.platformlambda.core.system.PostOffice;
 import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.MultiLevelMap;
 import org.platformlambda.core.util.Utility;
+import org.platformlambda.core.websocket.client.EventStreamClient;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -349,6 +351,113 @@ class EventHttpTest extends TestBase {
         assertEquals(numberThree, map.getElement("body"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void persistentEventStreamTest() throws ExecutionException, InterruptedException {
+        long timeout = 5000;
+        int numberThree = 3;
+        String endpoint = "http://127.0.0.1:" + port + "/api/event";
+        Map<String, String> securityHeaders = new HashMap<>();
+        securityHeaders.put("Authorization", "demo");
+        securityHeaders.put("x-event-transport", "websocket");
+        // the first call opens the persistent channel in the background and falls back to HTTP POST
+        EventStreamClient stream = EventStreamClient.getInstance("http://127.0.0.1:" + port);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!stream.isConnected() && System.currentTimeMillis() < deadline) {
+            Utility.getInstance().sleep(100);
+        }
+        assertTrue(stream.isConnected());
+        PostOffice po = PostOffice.trackable("unit.test", "1234", "TEST /remote/event/stream");
+        EventEnvelope event = new EventEnvelope().setTo("hello.world")
+                .setBody(numberThree).setHeader("hello", "world");
+        EventEnvelope result = po.eRequest(event, timeout, securityHeaders, endpoint, true).get();
+        assertEquals(200, result.getStatus());
+        assertInstanceOf(Map.class, result.getBody());
+        MultiLevelMap map = new MultiLevelMap((Map<String, Object>) result.getBody());
+        assertEquals("world", map.getElement("headers.hello"));
+        // session information from the authentication service of "/api/event" is propagated
+        assertEquals("demo", map.getElement("headers.user"));
+        assertEquals(numberThree, map.getElement("body"));
+        // concurrent requests are multiplexed over the same connection
+        int n = 50;
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(n);
+        for (int i=0; i < n; i++) {
+            po.asyncRequest(new EventEnvelope().setTo("hello.world").setBody(i), timeout,
+                    securityHeaders, endpoint, true).onSuccess(bench::add);
+        }
+        for (int i=0; i < n; i++) {
+            EventEnvelope response = bench.poll(timeout, TimeUnit.MILLISECONDS);
+            assertNotNull(response);
+            assertEquals(200, response.getStatus());
+        }
+        // drop-n-forget is acknowledged with status 202
+        EventEnvelope ack = po.eRequest(event, timeout, securityHeaders, endpoint, false).get();
+        assertEquals(202, ack.getStatus());
+        // the channel enforces the same authentication as "/api/event"
+        Map<String, String> invalidHeaders = new HashMap<>();
+        invalidHeaders.put("Authorization", "anyone");
+        invalidHeaders.put("x-event-transport", "websocket");
+        EventEnvelope rejected = po.eRequest(event, timeout, invalidHeaders, endpoint, true).get();
+        assertEquals(401, rejected.getStatus());
+        assertEquals("Unauthorized", rejected.getBody());
+    }
+
+    @Test
+    void eventStreamPropagatesTraceAndFallsBackToHttpWhenClosed() throws InterruptedException {
+        final BlockingQueue<Map<String, String>> captured = new ArrayBlockingQueue<>(2);
+        final String captureRoute = "event.stream.trace.capture";
+        TypedLambdaFunction<EventEnvelope, Object> capture = (headers, event, instance) -> {
+            PostOffice po = new PostOffice(headers, instance);
+            Map<String, String> seen = new HashMap<>();
+            seen.put("trace_id", po.getTraceId());
+            seen.put("trace_path", po.getTracePath());
+            TraceInfo trace = po.getTrace();
+            if (trace != null && trace.parentSpanId != null) {
+                seen.put("parent_span_id", trace.parentSpanId);
+            }
+            captured.add(seen);
+            return true;
+        };
+        Platform.getInstance().register(captureRoute, capture, 1);
+        try {
+            long timeout = 5000;
+            String endpoint = "http://127.0.0.1:" + port + "/api/event";
+            Map<String, String> securityHeaders = new HashMap<>();
+            securityHeaders.put("Authorization", "demo");
+            securityHeaders.put("x-event-transport", "websocket");
+            EventStreamClient stream = EventStreamClient.getInstance("http://127.0.0.1:" + port);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!stream.isConnected() && System.currentTimeMillis() < deadline) {
+                Utility.getInstance().sleep(100);
+            }
+            assertTrue(stream.isConnected());
+            String traceId = Utility.getInstance().getUuid();
+            PostOffice po = PostOffice.trackable("unit.test", traceId, "TEST /event/stream/trace");
+            final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(2);
+            EventEnvelope event = new EventEnvelope().setTo(captureRoute).setBody("ping");
+            po.asyncRequest(event, timeout, securityHeaders, endpoint, true).onSuccess(bench::add);
+            EventEnvelope result = bench.poll(timeout, TimeUnit.MILLISECONDS);
+            assertNotNull(result);
+            assertEquals(200, result.getStatus());
+            Map<String, String> seen = captured.poll(timeout, TimeUnit.MILLISECONDS);
+            assertNotNull(seen);
+            assertEquals(traceId, seen.get("trace_id"));
+            assertEquals("TEST /event/stream/trace", seen.get("trace_path"));
+            // the target parents onto the span of the event API edge
+            assertNotNull(seen.get("parent_span_id"));
+            // a released client no longer carries events, and the call goes over HTTP POST
+            stream.close();
+            assertFalse(stream.isConnected());
+            po.asyncRequest(event, timeout, securityHeaders, endpoint, true).onSuccess(bench::add);
+            result = bench.poll(timeout, TimeUnit.MILLISECONDS);
+            assertNotNull(result);
+            assertEquals(200, result.getStatus());
+            assertNotNull(captured.poll(timeout, TimeUnit.MILLISECONDS));
+        } finally {
+            Platform.getInstance().release(captureRoute);
+        }
+    }
+
     @Test
     void remoteTimeoutArrivesInBand() throws InterruptedException {
         // Regression: the HTTP client's wire-level read timeout must outlive the
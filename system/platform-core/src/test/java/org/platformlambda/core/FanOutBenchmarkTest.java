@@ -0,0 +1,94 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.platformlambda.core.models.EventEnvelope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pub/sub fan-out benchmark: measures the serialization cost of publishing one event to N local
+ * subscribers when the event is encoded once for all of them versus once per subscriber
+ * (the previous LocalPubSub relay path).
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/platform-core test -Dtest=FanOutBenchmarkTest -Dbench.run=true
+ */
+class FanOutBenchmarkTest {
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void publishCostBySubscriberCount() {
+        int iterations = Integer.getInteger("bench.iterations", 20000);
+        EventEnvelope event = new EventEnvelope().setTo("test.topic").setHeader("type", "demo").setBody(getBody());
+        System.out.printf("%n=============== Pub/sub fan-out serialization ===============%n");
+        System.out.printf("N=%,d (microseconds per publish)%n", iterations);
+        for (int subscribers : new int[] {1, 10, 50}) {
+            List<String> targets = new ArrayList<>();
+            for (int i=0; i < subscribers; i++) {
+                targets.add("subscriber." + i);
+            }
+            perTarget(event, targets, iterations / 10);
+            once(event, targets, iterations / 10);
+            System.out.printf("subscribers=%d  per target=%.1f  once=%.1f%n", subscribers,
+                    perTarget(event, targets, iterations), once(event, targets, iterations));
+        }
+    }
+
+    private double perTarget(EventEnvelope event, List<String> targets, int n) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i=0; i < n; i++) {
+            for (String target : targets) {
+                bytes += event.copy().setTo(target).toBytes().length;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(bytes > 0);
+        return (double) elapsed / n / 1000;
+    }
+
+    private double once(EventEnvelope event, List<String> targets, int n) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i=0; i < n; i++) {
+            for (byte[] b : event.copy().toBytes(targets)) {
+                bytes += b.length;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(bytes > 0);
+        return (double) elapsed / n / 1000;
+    }
+
+    private static Map<String, Object> getBody() {
+        // roughly 4 KB of payload
+        Map<String, Object> body = new HashMap<>();
+        for (int i=0; i < 64; i++) {
+            body.put("key_" + i, "value-" + i + "-" + "x".repeat(48));
+        }
+        return body;
+    }
+}
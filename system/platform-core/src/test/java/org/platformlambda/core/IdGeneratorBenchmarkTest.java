@@ -0,0 +1,97 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.platformlambda.core.util.IdGenerator;
+import org.platformlambda.core.util.TimeOrderedIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ID generator benchmark: compares the time-ordered default generator with the previous
+ * UUID.randomUUID().toString().replace("-", "") implementation, first on one thread and then on
+ * concurrent virtual threads where the shared SecureRandom of randomUUID() becomes a contention point.
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/platform-core test -Dtest=IdGeneratorBenchmarkTest -Dbench.run=true
+ */
+class IdGeneratorBenchmarkTest {
+
+    private static final IdGenerator RANDOM_UUID = () -> UUID.randomUUID().toString().replace("-", "");
+    private static final IdGenerator TIME_ORDERED = new TimeOrderedIdGenerator();
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void idGeneratorThroughput() throws Exception {
+        int warmup = Integer.getInteger("bench.warmup", 200000);
+        int iterations = Integer.getInteger("bench.iterations", 2000000);
+        int threads = Integer.getInteger("bench.threads", 8);
+        generate(RANDOM_UUID, warmup);
+        generate(TIME_ORDERED, warmup);
+
+        System.out.printf("%n=============== ID generator throughput ===============%n");
+        System.out.printf("single thread, N=%,d (nanoseconds per ID)%n", iterations);
+        System.out.printf("randomUUID=%.1f  timeOrdered=%.1f%n",
+                single(RANDOM_UUID, iterations), single(TIME_ORDERED, iterations));
+        System.out.printf("%d virtual threads, N=%,d each (million IDs per second)%n", threads, iterations);
+        System.out.printf("randomUUID=%.2f  timeOrdered=%.2f%n",
+                concurrent(RANDOM_UUID, threads, iterations), concurrent(TIME_ORDERED, threads, iterations));
+        System.out.println("=======================================================");
+    }
+
+    private static double single(IdGenerator generator, int n) {
+        long t0 = System.nanoTime();
+        int chars = generate(generator, n);
+        double perId = (double) (System.nanoTime() - t0) / n;
+        assertEquals(32L * n, chars);
+        return perId;
+    }
+
+    private static double concurrent(IdGenerator generator, int threads, int n) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> tasks = new ArrayList<>();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> generate(generator, n)));
+            }
+            for (Future<Integer> task : tasks) {
+                assertEquals(32 * n, task.get().intValue());
+            }
+            double elapsedSec = (System.nanoTime() - t0) / 1_000_000_000.0;
+            return (double) threads * n / elapsedSec / 1_000_000;
+        }
+    }
+
+    /** Generate n IDs and return the total length so that the JIT cannot drop the work. */
+    private static int generate(IdGenerator generator, int n) {
+        int chars = 0;
+        for (int i = 0; i < n; i++) {
+            chars += generator.next().length();
+        }
+        return chars;
+    }
+}
@@ -2,13 +2,17 @@ package org.platformlambda.core;
 
 import org.junit.jupiter.api.Test;
 import org.platformlambda.common.TestBase;
+import org.platformlambda.core.annotations.EventInterceptor;
+import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.LocalPubSub;
 import org.platformlambda.core.system.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
@@ -22,6 +26,7 @@ class LocalPubSubTest extends TestBase {
     private static final String TEST_TOPIC_ONE = "test.topic.one";
     private static final String SUBSCRIBER_ONE = "subscriber.one";
     private static final String SUBSCRIBER_TWO = "subscriber.two";
+    private static final String TEST_TOPIC_TWO = "test.topic.two";
 
     @Test
     void subscriptionTest() throws InterruptedException {
@@ -71,4 +76,46 @@ class LocalPubSubTest extends TestBase {
         List<String> topicsAgain = ps.getTopics();
         assertFalse(topicsAgain.contains(TEST_TOPIC_ONE));
     }
+
+    @Test
+    void fanOutTest() throws InterruptedException {
+        final int n = 5;
+        LocalPubSub ps = LocalPubSub.getInstance();
+        ps.createTopic(TEST_TOPIC_TWO);
+        final CountDownLatch completion = new CountDownLatch(n);
+        final ConcurrentMap<String, EventEnvelope> result = new ConcurrentHashMap<>();
+        Platform platform = Platform.getInstance();
+        List<String> subscribers = new ArrayList<>();
+        for (int i=0; i < n; i++) {
+            String route = "fan.out.subscriber." + i;
+            platform.registerPrivate(route, new FanOutSubscriber(route, result, completion), 1);
+            ps.subscribe(TEST_TOPIC_TWO, route);
+            subscribers.add(route);
+        }
+        final EventEmitter po = EventEmitter.getInstance();
+        po.send(new EventEnvelope().setTo(TEST_TOPIC_TWO).setHeader("x", "y").setBody(Map.of("hello", "world")));
+        assertTrue(completion.await(5, TimeUnit.SECONDS));
+        assertEquals(n, result.size());
+        for (String route: subscribers) {
+            EventEnvelope event = result.get(route);
+            assertNotNull(event);
+            // each subscriber receives the event addressed to itself
+            assertEquals(route, event.getTo());
+            assertEquals("y", event.getHeader("x"));
+            assertEquals(Map.of("hello", "world"), event.getBody());
+            platform.release(route);
+        }
+        ps.deleteTopic(TEST_TOPIC_TWO);
+    }
+
+    @EventInterceptor
+    private record FanOutSubscriber(String route, ConcurrentMap<String, EventEnvelope> result,
+                                    CountDownLatch completion) implements TypedLambdaFunction<EventEnvelope, Void> {
+        @Override
+        public Void handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
+            result.put(route, input);
+            completion.countDown();
+            return null;
+        }
+    }
 }
@@ -26,6 +26,8 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class ModelTest {
 
@@ -96,4 +98,23 @@ class ModelTest {
                 .setUploadTags(request.getUploadTags()).setMethod("GET");
         assertEquals("/api/hello/100?a%20x=b%200&hello=world#x=y%202", request.getFinalizedUrl());
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void jsonBodyIsParsedOnFirstAccess() {
+        var request = new AsyncHttpRequest();
+        request.setBody("{\"hello\": \"world\"}".getBytes());
+        assertInstanceOf(byte[].class, request.getBody());
+        Object parsed = request.getJsonBody();
+        assertInstanceOf(Map.class, parsed);
+        assertEquals("world", ((Map<String, Object>) parsed).get("hello"));
+        // parsed once and cached
+        assertSame(parsed, request.getJsonBody());
+        request.setBody("[1, 2]".getBytes());
+        assertEquals(List.of(1L, 2L), request.getJsonBody());
+        request.setBody("not json".getBytes());
+        assertEquals("not json", request.getJsonBody());
+        request.setBody(Map.of("a", "b"));
+        assertEquals(Map.of("a", "b"), request.getJsonBody());
+    }
 }
@@ -0,0 +1,105 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.serializers.SimpleObjectMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MsgPack encoding benchmark: measures EventEnvelope.toBytes for a flat PoJo body that is written directly
+ * into the packer, the same PoJo converted to a map through Gson on each call (the previous encoding path),
+ * and a plain map body.
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/platform-core test -Dtest=MsgPackBenchmarkTest -Dbench.run=true
+ */
+class MsgPackBenchmarkTest {
+
+    private static final SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void envelopeEncodingThroughput() {
+        int warmup = Integer.getInteger("bench.warmup", 100000);
+        int iterations = Integer.getInteger("bench.iterations", 1000000);
+        Supplier<EventEnvelope> direct = () -> new EventEnvelope().setTo("hello.world").setBody(getPoJo());
+        Supplier<EventEnvelope> legacy = () -> new EventEnvelope().setTo("hello.world")
+                                                    .setBody(mapper.readValue(getPoJo(), Map.class));
+        Supplier<EventEnvelope> map = () -> new EventEnvelope().setTo("hello.world").setBody(getMap());
+        encode(direct, warmup);
+        encode(legacy, warmup);
+        encode(map, warmup);
+
+        System.out.printf("%n=============== EventEnvelope.toBytes throughput ===============%n");
+        System.out.printf("N=%,d (nanoseconds per envelope)%n", iterations);
+        System.out.printf("PoJo via Gson=%.1f  PoJo direct=%.1f  Map=%.1f%n",
+                encode(legacy, iterations), encode(direct, iterations), encode(map, iterations));
+    }
+
+    private double encode(Supplier<EventEnvelope> supplier, int n) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i=0; i < n; i++) {
+            bytes += supplier.get().toBytes().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(bytes > 0);
+        return (double) elapsed / n;
+    }
+
+    private static Map<String, Object> getMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("user_name", "John Doe");
+        map.put("account", 1234567890123L);
+        map.put("balance", 1024.75);
+        map.put("active", true);
+        map.put("region", "us-east");
+        map.put("retries", 3);
+        return map;
+    }
+
+    private static Account getPoJo() {
+        Account account = new Account();
+        account.userName = "John Doe";
+        account.account = 1234567890123L;
+        account.balance = 1024.75;
+        account.active = true;
+        account.region = "us-east";
+        account.retries = 3;
+        return account;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Account {
+        String userName;
+        long account;
+        double balance;
+        boolean active;
+        String region;
+        int retries;
+    }
+}
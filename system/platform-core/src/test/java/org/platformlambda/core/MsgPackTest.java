@@ -351,4 +351,91 @@ class MsgPackTest {
         assertEquals(input.getName(), result.getName());
         assertEquals(input.getAddress(), result.getAddress());
     }
+
+    @Test
+    void directPoJoWriterMatchesGsonPath() throws IOException {
+        var mapper = SimpleMapper.getInstance().getMapper();
+        FlatPoJo input = new FlatPoJo();
+        input.userName = "hello";
+        input.count = 12;
+        input.total = 1234567890123L;
+        input.ratio = 0.25;
+        input.weight = 1.1f;
+        input.active = true;
+        input.level = 3;
+        input.region = "apac";
+        // the optional field is null
+        byte[] direct = msgPack.pack(Map.of("data", input));
+        byte[] legacy = msgPack.pack(Map.of("data", mapper.readValue(input, Map.class)));
+        assertArrayEquals(legacy, direct);
+        Map<String, Object> restored = getData(msgPack.unpack(direct));
+        assertEquals("hello", restored.get("user_name"));
+        assertEquals(12, restored.get("count"));
+        assertEquals(1234567890123L, restored.get("total"));
+        assertEquals(1.1, restored.get("weight"));
+        assertEquals("apac", restored.get("region"));
+        assertNull(restored.get("optional"));
+        FlatPoJo result = mapper.readValue(restored, FlatPoJo.class);
+        assertEquals(input.userName, result.userName);
+        assertEquals(input.total, result.total);
+        assertEquals(input.weight, result.weight);
+    }
+
+    @Test
+    void nonFinitePoJoFallsBackToGsonPath() throws IOException {
+        FlatPoJo input = new FlatPoJo();
+        input.userName = "hello";
+        input.ratio = Double.NaN;
+        // Gson rejects NaN so the legacy fallback packs the PoJo as a string
+        Map<String, Object> restored = getData(msgPack.unpack(msgPack.pack(Map.of("data", input))));
+        assertInstanceOf(String.class, restored.get("data"));
+    }
+
+    @Test
+    void unsupportedPoJoUsesGsonPath() throws IOException {
+        var mapper = SimpleMapper.getInstance().getMapper();
+        PoJo input = new PoJo();
+        input.setName("nested");
+        input.setNumber(100);
+        input.setDate(new Date());
+        byte[] direct = msgPack.pack(Map.of("data", input));
+        byte[] legacy = msgPack.pack(Map.of("data", mapper.readValue(input, Map.class)));
+        assertArrayEquals(legacy, direct);
+    }
+
+    @Test
+    void pooledBufferIsReusable() throws IOException {
+        Map<String, Object> large = new HashMap<>();
+        large.put("blob", new byte[300 * 1024]);
+        Map<String, Object> small = Map.of("hello", "world");
+        for (int i=0; i < 3; i++) {
+            assertEquals(300 * 1024, ((byte[]) getData(msgPack.unpack(msgPack.pack(large))).get("blob")).length);
+            assertEquals(small, msgPack.unpack(msgPack.pack(small)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getData(Object o) {
+        assertInstanceOf(Map.class, o);
+        Map<String, Object> map = (Map<String, Object>) o;
+        return map.get("data") instanceof Map? (Map<String, Object>) map.get("data") : map;
+    }
+
+    private static class BasePoJo {
+        String region;
+        String optional;
+    }
+
+    @SuppressWarnings("unused")
+    private static class FlatPoJo extends BasePoJo {
+        private static final String IGNORED = "static";
+        private transient String secret = "transient";
+        String userName;
+        int count;
+        Long total;
+        double ratio;
+        Float weight;
+        boolean active;
+        short level;
+    }
 }
@@ -20,6 +20,7 @@ package org.platformlambda.core;
 
 import io.vertx.core.Future;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -29,6 +30,8 @@ import org.platformlambda.core.models.SimplePoJo;
 import org.platformlambda.common.TestBase;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.exception.AppException;
+import org.platformlambda.core.mock.HelloFile;
+import org.platformlambda.core.mock.HelloForgedFile;
 import org.platformlambda.core.models.*;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.services.ActuatorServices;
@@ -42,7 +45,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -297,6 +302,102 @@ class PostOfficeTest extends TestBase {
         assertEquals(String.valueOf(hello.length()), response.getHeader("x-content-length"));
     }
 
+    @Test
+    void fileResponseIsServedWithRangeSupport(@TempDir Path tempDir) throws ExecutionException, InterruptedException {
+        final AppConfigReader config = AppConfigReader.getInstance();
+        String port = config.getProperty("server.port");
+        EventEmitter po = EventEmitter.getInstance();
+        File file = tempDir.resolve("hello-file-response.txt").toFile();
+        util.str2file(file, "[hello world 0123456789]");
+        HelloFile.setFile(file);
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setTargetHost("http://127.0.0.1:"+port).setHeader("X-Small-Payload-As-Bytes", "true")
+                .setUrl("/api/hello/file").setMethod("GET");
+        EventEnvelope response = po.eRequest(new EventEnvelope()
+                                    .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader("accept-ranges"));
+        assertInstanceOf(byte[].class, response.getBody());
+        // the function selected bytes 1 to 22 of the file
+        assertEquals("hello world 0123456789", util.getUTF((byte[]) response.getBody()));
+        // a range request is resolved within the selection
+        req.setHeader("Range", "bytes=6-10");
+        response = po.eRequest(new EventEnvelope()
+                        .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 6-10/22", response.getHeader("content-range"));
+        assertEquals("world", util.getUTF((byte[]) response.getBody()));
+        req.setHeader("Range", "bytes=-4");
+        response = po.eRequest(new EventEnvelope()
+                        .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(206, response.getStatus());
+        assertEquals("6789", util.getUTF((byte[]) response.getBody()));
+        req.setHeader("Range", "bytes=30-");
+        response = po.eRequest(new EventEnvelope()
+                        .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(416, response.getStatus());
+    }
+
+    @Test
+    void fileResponseFromMonoIsServed(@TempDir Path tempDir) throws ExecutionException, InterruptedException {
+        final AppConfigReader config = AppConfigReader.getInstance();
+        String port = config.getProperty("server.port");
+        EventEmitter po = EventEmitter.getInstance();
+        File file = tempDir.resolve("hello-mono-file-response.txt").toFile();
+        util.str2file(file, "[hello world 0123456789]");
+        HelloFile.setFile(file);
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setTargetHost("http://127.0.0.1:"+port).setHeader("X-Small-Payload-As-Bytes", "true")
+                .setUrl("/api/hello/file").setQueryParameter("reactive", "true").setMethod("GET");
+        EventEnvelope response = po.eRequest(new EventEnvelope()
+                                    .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader("accept-ranges"));
+        assertNull(response.getHeader("x-file-path"));
+        assertInstanceOf(byte[].class, response.getBody());
+        // the file is served instead of the serialized file reference
+        assertEquals("hello world 0123456789", util.getUTF((byte[]) response.getBody()));
+    }
+
+    @Test
+    void fileHeaderFromUpstreamDoesNotTriggerSendFile(@TempDir Path tempDir) throws Exception {
+        final AppConfigReader config = AppConfigReader.getInstance();
+        String port = config.getProperty("server.port");
+        EventEmitter po = EventEmitter.getInstance();
+        File secret = tempDir.resolve("forged-file-response.txt").toFile();
+        util.str2file(secret, "secret");
+        HelloForgedFile.setFile(secret);
+        // an upstream server that returns a file reference header
+        var upstream = Platform.getInstance().getVertx().createHttpServer()
+                .requestHandler(request -> request.response()
+                        .putHeader("x-file-path", "/etc/hosts").putHeader("Content-Type", "text/plain")
+                        .end("upstream body"))
+                .listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        try {
+            AsyncHttpRequest req = new AsyncHttpRequest();
+            req.setTargetHost("http://127.0.0.1:"+upstream.actualPort())
+                    .setHeader("X-Small-Payload-As-Bytes", "true").setUrl("/").setMethod("GET");
+            EventEnvelope response = po.eRequest(new EventEnvelope()
+                                        .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+            assertEquals(200, response.getStatus());
+            // the HTTP client does not relay the internal file response contract
+            assertNull(response.getHeader("x-file-path"));
+        } finally {
+            upstream.close();
+        }
+        // a function that relays the header on its own response does not make REST automation serve the file
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setTargetHost("http://127.0.0.1:"+port).setHeader("X-Small-Payload-As-Bytes", "true")
+                .setUrl("/api/hello/forged/file").setMethod("GET");
+        EventEnvelope response = po.eRequest(new EventEnvelope()
+                                    .setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req), 5000).get();
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("accept-ranges"));
+        assertNull(response.getHeader("x-file-path"));
+        assertInstanceOf(byte[].class, response.getBody());
+        assertEquals("not a file", util.getUTF((byte[]) response.getBody()));
+    }
+
     @Test
     void httpClientDetectStreamingContent() throws ExecutionException, InterruptedException {
         final String hello = "hello world 0123456789";
@@ -1282,6 +1383,70 @@ class PostOfficeTest extends TestBase {
         assertEquals(input, result.get("body"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void localReplyIsIsolatedFromResponder() throws ExecutionException, InterruptedException {
+        final String service = "local.reply.isolation";
+        final Map<String, Object> state = new HashMap<>(Map.of("count", 1));
+        final Platform platform = Platform.getInstance();
+        final EventEmitter po = EventEmitter.getInstance();
+        final LambdaFunction f = (headers, input, instance) -> state;
+        platform.registerPrivate(service, f, 5);
+        try {
+            // replies to a caller in the same process are delivered to its inbox directly
+            List<Future<EventEnvelope>> futures = new ArrayList<>();
+            for (int i=0; i < 20; i++) {
+                futures.add(po.asyncRequest(new EventEnvelope().setTo(service).setBody(i), 5000));
+            }
+            for (Future<EventEnvelope> future : futures) {
+                EventEnvelope response = future.toCompletionStage().toCompletableFuture().get();
+                assertEquals(200, response.getStatus());
+                Map<String, Object> result = (Map<String, Object>) response.getBody();
+                assertEquals(1, result.get("count"));
+                // the caller receives its own copy of the response body
+                result.put("count", 2);
+            }
+            EventEnvelope response = po.eRequest(new EventEnvelope().setTo(service), 5000).get();
+            assertEquals(Map.of("count", 1), response.getBody());
+            assertEquals(Map.of("count", 1), state);
+        } finally {
+            platform.release(service);
+        }
+    }
+
+    @Test
+    void localReplyContinuationDoesNotHoldResponder() throws InterruptedException {
+        final String service = "local.reply.continuation";
+        final Platform platform = Platform.getInstance();
+        final EventEmitter po = EventEmitter.getInstance();
+        final BlockingQueue<Thread> responders = new ArrayBlockingQueue<>(2);
+        final LambdaFunction f = (headers, input, instance) -> {
+            responders.add(Thread.currentThread());
+            return input;
+        };
+        // a single worker makes the second request wait if the first one has not released it
+        platform.registerPrivate(service, f, 1);
+        try {
+            final BlockingQueue<Thread> continuation = new ArrayBlockingQueue<>(1);
+            final BlockingQueue<Object> second = new ArrayBlockingQueue<>(1);
+            po.eRequest(new EventEnvelope().setTo(service).setBody(1), 5000).thenAccept(first -> {
+                continuation.add(Thread.currentThread());
+                try {
+                    second.add(po.eRequest(new EventEnvelope().setTo(service).setBody(2), 3000).get().getBody());
+                } catch (InterruptedException | ExecutionException e) {
+                    second.add(e);
+                }
+            });
+            Thread caller = continuation.poll(5, TimeUnit.SECONDS);
+            assertNotNull(caller);
+            // the caller's continuation must not run on the responder's worker thread
+            assertNotSame(responders.poll(5, TimeUnit.SECONDS), caller);
+            assertEquals(2, second.poll(5, TimeUnit.SECONDS));
+        } finally {
+            platform.release(service);
+        }
+    }
+
     @Test
     void asyncRequestTest() throws InterruptedException {
         final BlockingQueue<EventEnvelope> success = new ArrayBlockingQueue<>(1);
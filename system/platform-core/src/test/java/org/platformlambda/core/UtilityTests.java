@@ -525,6 +525,45 @@ class UtilityTests {
         assertEquals(12, parts.get(4).length());
     }
 
+    @Test
+    void timeOrderedIdTest() {
+        final Utility util = Utility.getInstance();
+        var id1 = util.getUuid();
+        util.sleep(2);
+        var id2 = util.getUuid();
+        assertEquals(32, id1.length());
+        assertTrue(id1.matches("[0-9a-f]{32}"));
+        // UUID version 7 layout: version nibble is 7 and the variant bits are binary 10
+        assertEquals('7', id1.charAt(12));
+        assertTrue("89ab".indexOf(id1.charAt(16)) >= 0);
+        // the first 48 bits are the creation time in milliseconds
+        assertTrue(id1.compareTo(id2) < 0);
+        long created = Long.parseLong(id1.substring(0, 12), 16);
+        assertTrue(Math.abs(System.currentTimeMillis() - created) < ONE_MINUTE);
+        var dated = util.getDateUuid();
+        assertEquals(40, dated.length());
+        assertEquals(util.getDateOnly(new Date()), dated.substring(0, 8));
+        Set<String> unique = new HashSet<>();
+        for (int i=0; i < 10000; i++) {
+            assertTrue(unique.add(util.getUuid()));
+        }
+    }
+
+    @Test
+    void pluggableIdGeneratorTest() {
+        final Utility util = Utility.getInstance();
+        var original = util.getIdGenerator();
+        try {
+            util.setIdGenerator(() -> UUID.randomUUID().toString().replace("-", ""));
+            assertEquals('4', util.getUuid().charAt(12));
+            assertThrows(IllegalArgumentException.class, () -> util.setIdGenerator(() -> "not-hex"));
+        } finally {
+            util.setIdGenerator(null);
+        }
+        assertInstanceOf(original.getClass(), util.getIdGenerator());
+        assertEquals('7', util.getUuid().charAt(12));
+    }
+
     @Test
     void uriEncodingTest() {
         final Utility util = Utility.getInstance();
@@ -0,0 +1,47 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.mock;
+
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.FileResponse;
+import org.platformlambda.core.models.TypedLambdaFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Serves the file prepared by the test. The "reactive" query parameter returns it through a Mono.
+ */
+@PreLoad(route="hello.file")
+public class HelloFile implements TypedLambdaFunction<AsyncHttpRequest, Object> {
+    private static volatile File file;
+
+    public static void setFile(File file) {
+        HelloFile.file = file;
+    }
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance) {
+        // serve the text without the enclosing brackets
+        var selected = new FileResponse(file.getPath()).setRange(1, 22).setContentType("text/plain");
+        return "true".equals(input.getQueryParameter("reactive"))? Mono.just(selected) : selected;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.mock;
+
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.TypedLambdaFunction;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Returns the file reference headers of a FileResponse on a plain EventEnvelope, as a function that relays
+ * the headers of an upstream response would. The REST automation layer must not serve the file.
+ */
+@PreLoad(route="hello.forged.file")
+public class HelloForgedFile implements TypedLambdaFunction<AsyncHttpRequest, EventEnvelope> {
+    private static volatile File file;
+
+    public static void setFile(File file) {
+        HelloForgedFile.file = file;
+    }
+
+    @Override
+    public EventEnvelope handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance) {
+        return new EventEnvelope().setHeader("x-file-path", file.getPath()).setHeader("x-file-length", 6)
+                    .setHeader("Content-Type", "text/plain").setBody("not a file");
+    }
+}
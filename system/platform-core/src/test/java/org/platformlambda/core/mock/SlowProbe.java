@@ -0,0 +1,44 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.mock;
+
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.TypedLambdaFunction;
+import org.platformlambda.core.util.Utility;
+
+import java.util.Map;
+
+/**
+ * Test probe for REST automation admission control and timeout: holds the request for the
+ * number of milliseconds given in the 'sleep' query parameter before responding.
+ */
+@PreLoad(route = "slow.probe", instances = 10)
+public class SlowProbe implements TypedLambdaFunction<AsyncHttpRequest, Object> {
+
+    @Override
+    public Object handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance)
+            throws InterruptedException {
+        long sleep = Utility.getInstance().str2long(input.getQueryParameter("sleep"));
+        if (sleep > 0) {
+            Thread.sleep(sleep);
+        }
+        return Map.of("sleep", sleep);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+package org.platformlambda.core.models;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Inbox timeout benchmark: compares one Vert.x timer per request (setTimer + cancelTimer, the previous
+ * approach) with the shared inbox timing wheel, while a probe measures how late a task posted to an
+ * event loop starts. A second test measures end-to-end RPC throughput with many requests in flight.
+ *
+ * Gated on -Dbench.run=true:
+ *   mvn -pl system/platform-core test -Dtest=InboxTimerBenchmarkTest -Dbench.run=true
+ */
+class InboxTimerBenchmarkTest {
+
+    private static final String ECHO = "inbox.bench.echo";
+    private static final long RPC_TIMEOUT = 30000;
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void timerSchedulingOverhead() throws Exception {
+        int threads = Integer.getInteger("bench.threads", 200);
+        int perThread = Integer.getInteger("bench.iterations", 5000);
+        Vertx vertx = Platform.getInstance().getVertx();
+        // warm up both paths
+        runTimers(threads, perThread / 10, () -> vertx.cancelTimer(vertx.setTimer(RPC_TIMEOUT, t -> { })));
+        runTimers(threads, perThread / 10, () -> InboxTimer.getInstance().cancel(InboxTimer.getInstance().schedule("bench", RPC_TIMEOUT)));
+
+        System.out.printf("%n============= RPC timeout scheduling, %d threads x %,d =============%n", threads, perThread);
+        report("vertx timer", threads, perThread,
+                () -> vertx.cancelTimer(vertx.setTimer(RPC_TIMEOUT, t -> { })));
+        report("timing wheel", threads, perThread,
+                () -> InboxTimer.getInstance().cancel(InboxTimer.getInstance().schedule("bench", RPC_TIMEOUT)));
+        System.out.println("====================================================================");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "bench.run", matches = "true")
+    void rpcThroughput() throws Exception {
+        int inFlight = Integer.getInteger("bench.threads", 2000);
+        int total = Integer.getInteger("bench.iterations", 200000);
+        Platform platform = Platform.getInstance();
+        if (!platform.hasRoute(ECHO)) {
+            LambdaFunction echo = (headers, input, instance) -> input;
+            platform.registerPrivate(ECHO, echo, 200);
+        }
+        EventEmitter po = EventEmitter.getInstance();
+        runRpc(po, inFlight, total / 10);
+        LagProbe probe = new LagProbe(Platform.getInstance().getVertx().getOrCreateContext());
+        long t0 = System.nanoTime();
+        runRpc(po, inFlight, total);
+        double elapsedSec = (System.nanoTime() - t0) / 1_000_000_000.0;
+        long[] lag = probe.stop();
+        System.out.printf("%n================ RPC throughput, %,d in flight ================%n", inFlight);
+        System.out.printf("requests=%,d  elapsed=%.2fs  throughput=%,.0f RPC/s%n", total, elapsedSec, total / elapsedSec);
+        printLag(lag);
+        System.out.println("================================================================");
+    }
+
+    private static void report(String label, int threads, int perThread, Runnable task) throws Exception {
+        LagProbe probe = new LagProbe(Platform.getInstance().getVertx().getOrCreateContext());
+        long t0 = System.nanoTime();
+        runTimers(threads, perThread, task);
+        double elapsedSec = (System.nanoTime() - t0) / 1_000_000_000.0;
+        long[] lag = probe.stop();
+        System.out.printf("[%s] %,.0f schedule+cancel/s%n", label, threads * (double) perThread / elapsedSec);
+        printLag(lag);
+    }
+
+    private static void runTimers(int threads, int perThread, Runnable task) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<java.util.concurrent.Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(executor.submit(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        task.run();
+                    }
+                }));
+            }
+            for (java.util.concurrent.Future<?> t : tasks) {
+                t.get();
+            }
+        }
+    }
+
+    /** Keep inFlight requests outstanding until total responses have been received. */
+    private static void runRpc(EventEmitter po, int inFlight, int total) throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<java.util.concurrent.Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < inFlight; i++) {
+                tasks.add(executor.submit(() -> {
+                    while (sent.getAndIncrement() < total) {
+                        Future<EventEnvelope> f = po.asyncRequest(new EventEnvelope().setTo(ECHO).setBody(1),
+                                                                    RPC_TIMEOUT);
+                        EventEnvelope response = f.toCompletionStage().toCompletableFuture().get();
+                        if (response.getStatus() == 200) {
+                            ok.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (java.util.concurrent.Future<?> t : tasks) {
+                t.get();
+            }
+        }
+        assertEquals(total, ok.get(), "every request should receive a response");
+    }
+
+    private static void printLag(long[] lag) {
+        if (lag.length == 0) {
+            return;
+        }
+        Arrays.sort(lag);
+        System.out.printf("event loop lag (microseconds): p50=%.1f  p99=%.1f  max=%.1f  samples=%,d%n",
+                lag[lag.length / 2] / 1000.0, lag[(int) (lag.length * 0.99)] / 1000.0,
+                lag[lag.length - 1] / 1000.0, lag.length);
+    }
+
+    /** Posts a task to one event loop every millisecond and records how long it waits to run. */
+    private static class LagProbe {
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final List<Long> samples = new ArrayList<>();
+        private final Thread thread;
+
+        LagProbe(Context context) {
+            thread = Thread.ofPlatform().daemon().start(() -> {
+                while (running.get()) {
+                    long posted = System.nanoTime();
+                    context.runOnContext(v -> {
+                        long lag = System.nanoTime() - posted;
+                        synchronized (samples) {
+                            samples.add(lag);
+                        }
+                    });
+                    LockSupport.parkNanos(1_000_000);
+                }
+            });
+        }
+
+        long[] stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+            synchronized (samples) {
+                return samples.stream().mapToLong(Long::longValue).toArray();
+            }
+        }
+    }
+}
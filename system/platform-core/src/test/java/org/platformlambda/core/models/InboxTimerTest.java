@@ -0,0 +1,82 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboxTimerTest {
+
+    @Test
+    void completedInboxIsRemovedFromWheel() throws InterruptedException {
+        InboxTimer timer = InboxTimer.getInstance();
+        int before = timer.size();
+        List<FutureInbox> inboxes = new ArrayList<>();
+        for (int i=0; i < 1000; i++) {
+            inboxes.add(new FutureInbox("inbox.timer.test", new EventEnvelope(), 60000, true));
+        }
+        inboxes.forEach(InboxBase::close);
+        // the deadlines of completed inboxes must not be kept until their timeout
+        assertTrue(waitFor(() -> timer.size() <= before));
+    }
+
+    @Test
+    void blockingContinuationDoesNotDelayOtherTimeouts() throws InterruptedException, ExecutionException {
+        CountDownLatch release = new CountDownLatch(1);
+        FutureInbox first = new FutureInbox("inbox.timer.test", new EventEnvelope(), 100, false);
+        // a continuation that blocks until the end of this test
+        first.getFuture().thenAccept(response -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        FutureInbox second = new FutureInbox("inbox.timer.test", new EventEnvelope(), 300, false);
+        try {
+            EventEnvelope response = second.getFuture().get(3, TimeUnit.SECONDS);
+            assertEquals(408, response.getStatus());
+            assertEquals("Timeout for 300 ms", response.getBody());
+        } catch (TimeoutException e) {
+            fail("Timeout of the second inbox is delayed by the continuation of the first one");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < end) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+}
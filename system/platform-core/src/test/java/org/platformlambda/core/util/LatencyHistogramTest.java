@@ -0,0 +1,72 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBoundsAreInclusive() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        double[] bounds = LatencyHistogram.getBounds();
+        // 1 ms is exactly the 4th bound, so it belongs to that bucket (le="0.001")
+        histogram.record(1.0);
+        // slightly above 1 ms goes to the next bucket
+        histogram.record(1.1);
+        // above 60 seconds goes to the overflow bucket
+        histogram.record(120000);
+        // negative elapsed time is treated as zero
+        histogram.record(-5);
+        long[] counts = histogram.getCounts();
+        assertEquals(bounds.length + 1, counts.length);
+        assertEquals(0.001, bounds[3]);
+        assertEquals(1, counts[0]);
+        assertEquals(1, counts[3]);
+        assertEquals(1, counts[4]);
+        assertEquals(1, counts[bounds.length]);
+        assertEquals(120.0021, histogram.getSum(), 0.000001);
+    }
+
+    @Test
+    void concurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int cycles = 10000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i=0; i < threads; i++) {
+                executor.submit(() -> {
+                    for (int j=0; j < cycles; j++) {
+                        histogram.record(j % 100);
+                    }
+                });
+            }
+        }
+        long total = 0;
+        for (long n : histogram.getCounts()) {
+            total += n;
+        }
+        assertEquals((long) threads * cycles, total);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+
+    Copyright 2018-2026 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void failingHandlerDoesNotStopTheSweeper() throws InterruptedException {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        TimingWheel<String> wheel = new TimingWheel<>("timing.wheel.test", item -> {
+            if ("bad".equals(item)) {
+                throw new IllegalStateException("rejected");
+            }
+            expired.add(item);
+            done.countDown();
+        });
+        wheel.schedule("bad", 10);
+        wheel.schedule("good", 50);
+        assertTrue(done.await(3, TimeUnit.SECONDS));
+        assertEquals(List.of("good"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void idleSweeperWakesUpForNewTimeout() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+        TimingWheel<String> wheel = new TimingWheel<>("timing.wheel.idle.test", item -> {
+            if ("first".equals(item)) {
+                first.countDown();
+            } else {
+                second.countDown();
+            }
+        });
+        wheel.schedule("first", 10);
+        assertTrue(first.await(3, TimeUnit.SECONDS));
+        // the wheel is now empty and its sweeper is parked
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        wheel.schedule("second", 20);
+        assertTrue(second.await(3, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed >= 20, "Timeout fired early after " + elapsed + " ms");
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotExpire() throws InterruptedException {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        TimingWheel<String> wheel = new TimingWheel<>("timing.wheel.cancel.test", item -> {
+            expired.add(item);
+            done.countDown();
+        });
+        wheel.cancel(wheel.schedule("cancelled", 20));
+        wheel.schedule("kept", 60);
+        assertTrue(done.await(3, TimeUnit.SECONDS));
+        assertEquals(List.of("kept"), expired);
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.platformlambda.twin.kafka;
 
-import org.platformlambda.core.annotations.KernelThreadRunner;
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.W3cTrace;
@@ -26,6 +25,8 @@ import org.platformlambda.mini.kafka.KafkaRequestPublisher;
 import org.platformlambda.mini.kafka.SimpleKafkaNotification;
 import org.platformlambda.mini.kafka.schema.SchemaCodec;
 
+import static org.platformlambda.core.util.common.PlatformConstants.ENV_INSTANCES_PREFIX;
+
 /**
  * The SECONDARY-cluster counterpart of {@code simple.kafka.notification}: identical routing, header
  * propagation, trace stamping, and optional subject-driven Confluent serialization - publishing to
@@ -38,12 +39,15 @@ import org.platformlambda.mini.kafka.schema.SchemaCodec;
  * {@code kafka.trace.id.header}, unset / {@code kafka.traceparent.header}, default
  * {@code traceparent}) when the two clusters follow different conventions.</p>
  *
- * <p>Same threading model as the base class: {@code @KernelThreadRunner} with a small single-flight
- * worker pool (see {@link SimpleKafkaNotification} for the full rationale).</p>
+ * <p>Same threading model as the base class: pipelined publishing on virtual threads, with the worker
+ * instances as the in-flight limit, tunable with {@code worker.instances.secondary.kafka.notification}
+ * (see {@link SimpleKafkaNotification} for the full rationale).</p>
  */
-@KernelThreadRunner
-@PreLoad(route = "secondary.kafka.notification", instances = 5)
+@PreLoad(route = SecondaryKafkaNotification.ROUTE, instances = 200,
+        envInstances = SecondaryKafkaNotification.ENV_INSTANCE_PROPERTY)
 public class SecondaryKafkaNotification extends SimpleKafkaNotification {
+    public static final String ROUTE = "secondary.kafka.notification";
+    public static final String ENV_INSTANCE_PROPERTY = ENV_INSTANCES_PREFIX + ROUTE;
 
     // Outbound header names for the secondary cluster: cluster-specific keys, falling back to the globals.
     private static final String CORRELATION_ID_HEADER =